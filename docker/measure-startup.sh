@@ -0,0 +1,56 @@
+#!/bin/bash
+
+# Startup Time Comparison for Bookcase Java Application
+# Builds the plain and the AOT cache images from the same jar and reports how long each takes to start.
+# Both run with their production profiles against a MySQL container started for the measurement.
+
+set -e
+
+RUNS=${RUNS:-5}
+JAR_IMAGE="bookcase-java:jar"
+CDS_IMAGE="bookcase-java:cds"
+NETWORK="bookcase-startup"
+DB_CONTAINER="bookcase-startup-db"
+DB_JDBC_URL="jdbc:mysql://spring:ThePassword@$DB_CONTAINER:3306/library?allowPublicKeyRetrieval=True&useSSL=false"
+
+./mvnw clean package -Pcds -DskipTests
+docker build -f docker/Dockerfile -t "$JAR_IMAGE" .
+docker build -f docker/Dockerfile.cds -t "$CDS_IMAGE" .
+
+cleanup() {
+    docker rm -f "$DB_CONTAINER" > /dev/null 2>&1 || true
+    docker network rm "$NETWORK" > /dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+docker network create "$NETWORK" > /dev/null
+docker run -d --name "$DB_CONTAINER" --network "$NETWORK" \
+    -e MYSQL_DATABASE=library -e MYSQL_USER=spring -e MYSQL_PASSWORD=ThePassword \
+    -e MYSQL_ROOT_PASSWORD=ThisIsClassified mysql:8.4 > /dev/null
+until docker exec "$DB_CONTAINER" mysqladmin ping -h 127.0.0.1 -uroot -pThisIsClassified --protocol=tcp --silent \
+    > /dev/null 2>&1; do
+    sleep 1
+done
+
+# Prints the "Started Application in X seconds" time of one container start
+startup_time() {
+    local image=$1
+    local container
+    container=$(docker run -d --network "$NETWORK" -e DB_JDBC_URL="$DB_JDBC_URL" "$image")
+    until docker logs "$container" 2>&1 | grep -q "Started Application in"; do
+        sleep 0.2
+    done
+    docker logs "$container" 2>&1 | grep -o "Started Application in [0-9.]* seconds" | grep -o "[0-9.]*"
+    docker rm -f "$container" > /dev/null
+}
+
+# An untimed start applies the migrations, so every timed start finds the same schema
+startup_time "$JAR_IMAGE" > /dev/null
+
+for image in "$JAR_IMAGE" "$CDS_IMAGE"; do
+    times=()
+    for _ in $(seq "$RUNS"); do
+        times+=("$(startup_time "$image")")
+    done
+    echo "$image: ${times[*]} seconds"
+done
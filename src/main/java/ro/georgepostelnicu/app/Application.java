@@ -2,8 +2,27 @@ package ro.georgepostelnicu.app;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import ro.georgepostelnicu.app.config.NativeRuntimeHints;
+import ro.georgepostelnicu.app.dto.TagCountDto;
+import ro.georgepostelnicu.app.dto.TagCountsResponseDto;
+import ro.georgepostelnicu.app.dto.TagUpsertResponseDto;
+import ro.georgepostelnicu.app.dto.TagUpsertsResponseDto;
+import ro.georgepostelnicu.app.dto.author.AuthorResponseDto;
+import ro.georgepostelnicu.app.dto.book.BookResponseDto;
+import ro.georgepostelnicu.app.dto.book.BookSummaryDto;
+import ro.georgepostelnicu.app.dto.keyword.KeywordResponseDto;
+import ro.georgepostelnicu.app.dto.language.LanguageResponseDto;
+import ro.georgepostelnicu.app.event.BookChange;
+import ro.georgepostelnicu.app.model.BookRow;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
+// Serialized with ObjectWriters and to the change file rather than returned from controllers, so AOT does not see them
+@RegisterReflectionForBinding({BookResponseDto.class, BookSummaryDto.class, BookRow.class, BookChange.class,
+		AuthorResponseDto.class, KeywordResponseDto.class, LanguageResponseDto.class, TagCountDto.class,
+		TagCountsResponseDto.class, TagUpsertResponseDto.class, TagUpsertsResponseDto.class})
 public class Application {
 
 	public static void main(String[] args) {
@@ -0,0 +1,35 @@
+package ro.georgepostelnicu.app.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring's caches on Caffeine, configured by the {@code spring.cache} properties. Puts and evictions made in a
+ * transaction are applied once it commits, so a change never evicts before its rows are visible to other readers.
+ * A read outside a transaction puts at once, though: one that loaded the old rows just before the commit can put them
+ * after the eviction, and that entry is served until {@code expireAfterWrite} drops it, ten minutes by default.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfiguration {
+    public static final String BOOK_FACETS = "bookFacets";
+    // Rendered JSON of single books, by id
+    public static final String BOOK_DOCUMENTS = "bookDocuments";
+    // Hibernate query cache region of the author, keyword and language lookups by name key
+    public static final String TAG_NAME_KEYS = "tagNameKeys";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,19 @@
+package ro.georgepostelnicu.app.config;
+
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ro.georgepostelnicu.app.migration.V008__Backfill_Name_Keys;
+
+/**
+ * The Java migrations, handed to Flyway as beans. Flyway would otherwise find them by listing the class files of their
+ * package, which a native image has no directory for.
+ */
+@Configuration
+public class MigrationConfiguration {
+
+    @Bean
+    public JavaMigration backfillNameKeys() {
+        return new V008__Backfill_Name_Keys();
+    }
+}
@@ -0,0 +1,41 @@
+package ro.georgepostelnicu.app.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import ro.georgepostelnicu.app.model.Author;
+import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.BookSearchEntry;
+import ro.georgepostelnicu.app.model.BookState;
+import ro.georgepostelnicu.app.model.BookSummary;
+import ro.georgepostelnicu.app.model.Keyword;
+import ro.georgepostelnicu.app.model.Language;
+import ro.georgepostelnicu.app.model.OutboxEntry;
+import ro.georgepostelnicu.app.model.SearchTag;
+import ro.georgepostelnicu.app.model.TagCount;
+
+import java.util.List;
+
+/**
+ * Reachability metadata a native image cannot infer on its own: entities and query results Hibernate builds
+ * reflectively, and the SQL migrations and cache configuration Flyway and Caffeine read from the classpath. Java
+ * migrations are beans of {@link MigrationConfiguration}, and the documents written outside controllers are
+ * registered for binding on the application class.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+    private static final List<Class<?>> ENTITIES = List.of(
+            Book.class, Author.class, Keyword.class, Language.class, OutboxEntry.class, BookSearchEntry.class,
+            SearchTag.class);
+    private static final List<Class<?>> QUERY_RESULTS = List.of(BookSummary.class, BookState.class, TagCount.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        ENTITIES.forEach(entity -> hints.reflection().registerType(entity,
+                MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS));
+        QUERY_RESULTS.forEach(result -> hints.reflection()
+                .registerType(result, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS));
+        hints.resources().registerPattern("flyway/mysql/*.sql");
+        hints.resources().registerPattern("application.conf");
+    }
+}
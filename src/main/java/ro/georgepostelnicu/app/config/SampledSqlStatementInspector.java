@@ -0,0 +1,51 @@
+package ro.georgepostelnicu.app.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs one in every {@code sampleRate} statements Hibernate prepares, with their bound parameters as placeholders and
+ * the application method that ran them. The caller is only looked up for sampled statements.
+ */
+public class SampledSqlStatementInspector implements StatementInspector {
+    private static final Logger log = LoggerFactory.getLogger(SampledSqlStatementInspector.class);
+    private static final String APP_PACKAGE = "ro.georgepostelnicu.app.";
+    private static final String UNKNOWN_CALLER = "unknown";
+    private final int sampleRate;
+    private final AtomicLong statements = new AtomicLong();
+
+    public SampledSqlStatementInspector(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (sampled()) {
+            log.info("Sampled statement from {}: {}", caller(), sql);
+        }
+        return sql;
+    }
+
+    boolean sampled() {
+        return sampleRate > 0 && statements.incrementAndGet() % sampleRate == 0;
+    }
+
+    // The innermost application frame, skipping the SQL loggers and the proxies Spring generates
+    static String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> isApplicationFrame(frame.getClassName()))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(APP_PACKAGE.length()) + "." + frame.getMethodName())
+                .orElse(UNKNOWN_CALLER));
+    }
+
+    static boolean isApplicationFrame(String className) {
+        return className.startsWith(APP_PACKAGE)
+                && !className.equals(SampledSqlStatementInspector.class.getName())
+                && !className.equals(SlowSqlStatementLogger.class.getName())
+                && !className.contains("$$");
+    }
+}
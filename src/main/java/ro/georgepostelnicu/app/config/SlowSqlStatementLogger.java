@@ -0,0 +1,78 @@
+package ro.georgepostelnicu.app.config;
+
+import org.hibernate.boot.registry.StandardServiceInitiator;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.resource.jdbc.spi.JdbcSessionContext;
+import org.hibernate.service.spi.ServiceContributor;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Statement;
+import java.util.Map;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Hibernate's statement logger, with the slow statement log replaced by one that also names the application method
+ * that ran the statement. Statements slower than {@code hibernate.log_slow_query} milliseconds are logged with their
+ * duration and caller. Hibernate finds the {@link Contributor} through {@code META-INF/services}.
+ */
+public class SlowSqlStatementLogger extends SqlStatementLogger {
+    private static final Logger log = LoggerFactory.getLogger(SlowSqlStatementLogger.class);
+
+    public SlowSqlStatementLogger(boolean logToStdout, boolean format, boolean highlight, long logSlowQuery) {
+        super(logToStdout, format, highlight, logSlowQuery);
+    }
+
+    @Override
+    public void logSlowQuery(Statement statement, long startTimeNanos, JdbcSessionContext context) {
+        logSlowQuery(statement.toString(), startTimeNanos, context);
+    }
+
+    @Override
+    public void logSlowQuery(String sql, long startTimeNanos, JdbcSessionContext context) {
+        // Hibernate takes no start time when slow statements are not logged
+        if (getLogSlowQuery() < 1) {
+            return;
+        }
+        long elapsedMillis = NANOSECONDS.toMillis(System.nanoTime() - startTimeNanos);
+        if (slow(elapsedMillis)) {
+            log.warn("Slow statement from {} took {} ms: {}",
+                    SampledSqlStatementInspector.caller(), elapsedMillis, sql);
+        }
+    }
+
+    boolean slow(long elapsedMillis) {
+        return elapsedMillis > getLogSlowQuery();
+    }
+
+    /**
+     * Replaces the statement logger Hibernate would build from the same settings.
+     */
+    public static class Contributor implements ServiceContributor, StandardServiceInitiator<SqlStatementLogger> {
+
+        @Override
+        public void contribute(StandardServiceRegistryBuilder serviceRegistryBuilder) {
+            serviceRegistryBuilder.addInitiator(this);
+        }
+
+        @Override
+        public Class<SqlStatementLogger> getServiceInitiated() {
+            return SqlStatementLogger.class;
+        }
+
+        @Override
+        public SqlStatementLogger initiateService(Map<String, Object> settings,
+                                                  ServiceRegistryImplementor registry) {
+            return new SlowSqlStatementLogger(
+                    ConfigurationHelper.getBoolean(AvailableSettings.SHOW_SQL, settings),
+                    ConfigurationHelper.getBoolean(AvailableSettings.FORMAT_SQL, settings),
+                    ConfigurationHelper.getBoolean(AvailableSettings.HIGHLIGHT_SQL, settings),
+                    ConfigurationHelper.getLong(AvailableSettings.LOG_SLOW_QUERY, settings, 0));
+        }
+    }
+}
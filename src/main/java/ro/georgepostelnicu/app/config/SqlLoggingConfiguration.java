@@ -0,0 +1,17 @@
+package ro.georgepostelnicu.app.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SqlLoggingConfiguration {
+
+    @Bean
+    HibernatePropertiesCustomizer sampledSqlLogging(@Value("${app.sql.sample-rate:0}") int sampleRate) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new SampledSqlStatementInspector(sampleRate));
+    }
+}
@@ -2,8 +2,14 @@ package ro.georgepostelnicu.app.controller;
 
 public interface ApiPrefix {
     String BULK = "/bulk";
+    String CHANGES = "/changes";
+    String STATUS = "/status";
+    String EXPORT = "/export";
+    String FACETS = "/facets";
+    String SEARCH = "/search";
     String AUTHORS = "/api/authors";
     String BOOKS = "/api/books";
     String KEYWORDS = "/api/keywords";
     String LANGUAGES = "/api/languages";
+    String SUGGEST = "/api/suggest";
 }
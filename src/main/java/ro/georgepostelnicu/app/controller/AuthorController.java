@@ -1,9 +1,15 @@
 package ro.georgepostelnicu.app.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ro.georgepostelnicu.app.dto.TagCountDto;
+import ro.georgepostelnicu.app.dto.TagCountsResponseDto;
+import ro.georgepostelnicu.app.dto.TagUpsertsResponseDto;
 import ro.georgepostelnicu.app.dto.author.AuthorDto;
 import ro.georgepostelnicu.app.dto.author.AuthorResponseDto;
 import ro.georgepostelnicu.app.dto.author.AuthorsDto;
@@ -20,15 +26,18 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.web.util.UriComponentsBuilder.fromPath;
 import static ro.georgepostelnicu.app.controller.ApiPrefix.AUTHORS;
 import static ro.georgepostelnicu.app.controller.ApiPrefix.BULK;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.SEARCH;
 
 @RestController
 @RequestMapping(AUTHORS)
 @Validated
 public class AuthorController {
     private final AuthorService service;
+    private final LibraryMapper mapper;
 
-    public AuthorController(AuthorService service) {
+    public AuthorController(AuthorService service, LibraryMapper mapper) {
         this.service = service;
+        this.mapper = mapper;
     }
 
     @PostMapping(value = BULK,
@@ -37,26 +46,56 @@ public class AuthorController {
     public ResponseEntity<AuthorsResponseDto> createBulk(@Valid @RequestBody AuthorsDto authorsDto) {
         List<Author> authors = service.createBulk(authorsDto);
         List<AuthorResponseDto> responseDtos = authors.stream()
-                .map(LibraryMapper.INSTANCE::toAuthorResponseDto)
+                .map(mapper::toAuthorResponseDto)
                 .collect(Collectors.toList());
         return ResponseEntity.ok().body(AuthorsResponseDto.of(responseDtos));
     }
 
+    @PostMapping(value = BULK,
+            params = "mode=upsert",
+            produces = APPLICATION_JSON_VALUE,
+            consumes = APPLICATION_JSON_VALUE)
+    public ResponseEntity<TagUpsertsResponseDto> upsertBulk(@Valid @RequestBody AuthorsDto authorsDto) {
+        return ResponseEntity.ok().body(TagUpsertsResponseDto.of(service.upsertBulk(authorsDto)));
+    }
+
     @PostMapping(produces = APPLICATION_JSON_VALUE,
             consumes = APPLICATION_JSON_VALUE)
     public ResponseEntity<AuthorResponseDto> create(@Valid @RequestBody AuthorDto authorDto) {
         Author author = service.create(authorDto);
         URI location = fromPath("/authors").pathSegment("{id}")
                 .buildAndExpand(author.getId()).toUri();
-        AuthorResponseDto responseDto = LibraryMapper.INSTANCE.toAuthorResponseDto(author);
+        AuthorResponseDto responseDto = mapper.toAuthorResponseDto(author);
 
         return ResponseEntity.created(location).body(responseDto);
     }
 
+    @GetMapping(value = SEARCH, produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<AuthorsResponseDto> search(
+            @RequestParam(name = "prefix") @NotBlank String prefix,
+            @RequestParam(name = "fuzzy", defaultValue = "false") boolean fuzzy) {
+        List<Author> authors = fuzzy ? service.searchSimilar(prefix) : service.searchByPrefix(prefix);
+        List<AuthorResponseDto> responseDtos = authors.stream()
+                .map(mapper::toAuthorResponseDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok().body(AuthorsResponseDto.of(responseDtos));
+    }
+
+    @GetMapping(produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<TagCountsResponseDto> list(
+            @RequestParam(name = "after", defaultValue = "0") @Min(0) Long after,
+            @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size,
+            @RequestParam(name = "min_books", defaultValue = "0") @Min(0) Long minBooks) {
+        List<TagCountDto> responseDtos = service.listBookCounts(after, minBooks, size).stream()
+                .map(mapper::toTagCountDto)
+                .toList();
+        return ResponseEntity.ok().body(TagCountsResponseDto.of(responseDtos, size));
+    }
+
     @GetMapping(value = "/{id}", produces = APPLICATION_JSON_VALUE)
     public ResponseEntity<AuthorResponseDto> read(@PathVariable Long id) {
         Author author = service.read(id);
-        AuthorResponseDto responseDto = LibraryMapper.INSTANCE.toAuthorResponseDto(author);
+        AuthorResponseDto responseDto = mapper.toAuthorResponseDto(author);
 
         return ResponseEntity.ok().body(responseDto);
     }
@@ -67,7 +106,7 @@ public class AuthorController {
     public ResponseEntity<AuthorResponseDto> update(@PathVariable Long id,
                                                     @Valid @RequestBody AuthorDto authorDto) {
         Author author = service.update(id, authorDto);
-        AuthorResponseDto responseDto = LibraryMapper.INSTANCE.toAuthorResponseDto(author);
+        AuthorResponseDto responseDto = mapper.toAuthorResponseDto(author);
         return ResponseEntity.ok().body(responseDto);
     }
 
@@ -1,26 +1,52 @@
 package ro.georgepostelnicu.app.controller;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ro.georgepostelnicu.app.dto.book.BookChangeDto;
+import ro.georgepostelnicu.app.dto.book.BookChangesResponseDto;
 import ro.georgepostelnicu.app.dto.book.BookDto;
+import ro.georgepostelnicu.app.dto.book.BookFacetsDto;
 import ro.georgepostelnicu.app.dto.book.BookResponseDto;
+import ro.georgepostelnicu.app.dto.book.BookStatusesDto;
+import ro.georgepostelnicu.app.dto.book.BookStatusesResponseDto;
 import ro.georgepostelnicu.app.mapper.BookMapper;
 import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.BookFeedPage;
 import ro.georgepostelnicu.app.model.BookSearchCriteria;
+import ro.georgepostelnicu.app.model.BookView;
 import ro.georgepostelnicu.app.model.CoverType;
+import ro.georgepostelnicu.app.model.ExportFormat;
+import ro.georgepostelnicu.app.service.BookChangeFeedService;
+import ro.georgepostelnicu.app.service.BookDocumentService;
+import ro.georgepostelnicu.app.service.BookExportService;
 import ro.georgepostelnicu.app.service.BookSearchService;
 import ro.georgepostelnicu.app.service.BookService;
+import ro.georgepostelnicu.app.service.FuzzySearchService;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Set;
 
+import static org.springframework.http.HttpHeaders.CONTENT_DISPOSITION;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.web.util.UriComponentsBuilder.fromPath;
 import static ro.georgepostelnicu.app.controller.ApiPrefix.BOOKS;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.BULK;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.CHANGES;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.EXPORT;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.FACETS;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.STATUS;
 
 @RestController
 @RequestMapping(BOOKS)
@@ -28,15 +54,26 @@ import static ro.georgepostelnicu.app.controller.ApiPrefix.BOOKS;
 public class BookController {
     private final BookService service;
     private final BookSearchService searchService;
+    private final BookExportService exportService;
+    private final FuzzySearchService fuzzySearchService;
+    private final BookChangeFeedService changeFeedService;
+    private final BookDocumentService documentService;
+    private final BookMapper mapper;
 
-    public BookController(BookService service, BookSearchService searchService) {
+    public BookController(BookService service, BookSearchService searchService, BookExportService exportService,
+                          FuzzySearchService fuzzySearchService, BookChangeFeedService changeFeedService,
+                          BookDocumentService documentService, BookMapper mapper) {
         this.service = service;
         this.searchService = searchService;
+        this.exportService = exportService;
+        this.fuzzySearchService = fuzzySearchService;
+        this.changeFeedService = changeFeedService;
+        this.documentService = documentService;
+        this.mapper = mapper;
     }
 
     @GetMapping()
-    @Transactional(readOnly = true)
-    ResponseEntity<Page<BookResponseDto>> searchBooks(
+    ResponseEntity<StreamingResponseBody> searchBooks(
             @RequestParam(name = "page", defaultValue = "0") Integer page,
             @RequestParam(name = "size", defaultValue = "20") Integer size,
             @RequestParam(name = "name", required = false) String name,
@@ -52,15 +89,56 @@ public class BookController {
             @RequestParam(name = "min_year", required = false) Integer minYear,
             @RequestParam(name = "max_year", required = false) Integer maxYear,
             @RequestParam(name = "min_pages", required = false) Integer minPages,
-            @RequestParam(name = "max_pages", required = false) Integer maxPages
+            @RequestParam(name = "max_pages", required = false) Integer maxPages,
+            @RequestParam(name = "view", defaultValue = "full") String view,
+            @RequestParam(name = "fuzzy", defaultValue = "false") boolean fuzzy
     ) {
+        BookView bookView = BookView.from(view)
+                .orElseThrow(() -> new ResponseStatusException(BAD_REQUEST, "Unsupported view " + view));
         BookSearchCriteria searchCriteria = new BookSearchCriteria(name, fullTitle, description,
                 isbn, barcode, authors, keywords, languages,
                 publisher, coverType, minYear, maxYear, minPages, maxPages);
-        Page<BookResponseDto> bookResponseDtos = searchService.search(searchCriteria,
-                        PageRequest.of(page, size))
-                .map(BookMapper.INSTANCE::toBookResponseDto);
-        return ResponseEntity.ok(bookResponseDtos);
+        if (fuzzy) {
+            searchCriteria = fuzzySearchService.resolve(searchCriteria);
+        }
+        Page<?> results = searchService.searchPage(searchCriteria, PageRequest.of(page, size), bookView);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> searchService.writePage(results, out));
+    }
+
+    @GetMapping(FACETS)
+    ResponseEntity<BookFacetsDto> facets(
+            BookSearchCriteria searchCriteria,
+            @RequestParam(name = "limit", defaultValue = "10") @Min(1) @Max(100) Integer limit) {
+        BookFacetsDto facets = mapper.toBookFacetsDto(searchService.facets(searchCriteria, limit));
+        return ResponseEntity.ok(facets);
+    }
+
+    @GetMapping(EXPORT)
+    ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format)
+                .orElseThrow(() -> new ResponseStatusException(BAD_REQUEST, "Unsupported export format " + format));
+        ContentDisposition attachment = ContentDisposition.attachment()
+                .filename("books." + exportFormat.getExtension())
+                .build();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(CONTENT_DISPOSITION, attachment.toString())
+                .body(out -> exportService.export(exportFormat, out));
+    }
+
+    @GetMapping(value = CHANGES, produces = APPLICATION_JSON_VALUE)
+    ResponseEntity<BookChangesResponseDto> changes(
+            @RequestParam(name = "since", defaultValue = "0") @Min(0) Long since,
+            @RequestParam(name = "limit", defaultValue = "100") @Min(1) @Max(500) Integer limit) {
+        BookFeedPage page = changeFeedService.changesSince(since, limit);
+        List<BookChangeDto> changes = page.entries().stream()
+                .map(mapper::toBookChangeDto)
+                .toList();
+        return ResponseEntity.ok(BookChangesResponseDto.of(changes, page.next()));
     }
 
     @PostMapping(produces = APPLICATION_JSON_VALUE,
@@ -69,25 +147,30 @@ public class BookController {
         Book book = service.create(bookDto);
         URI location = fromPath(BOOKS).pathSegment("{id}")
                 .buildAndExpand(book.getId()).toUri();
-        BookResponseDto responseDto = BookMapper.INSTANCE.toBookResponseDto(book);
+        BookResponseDto responseDto = mapper.toBookResponseDto(book);
 
         return ResponseEntity.created(location).body(responseDto);
     }
 
-    @GetMapping("/{id}")
-    ResponseEntity<BookResponseDto> read(@PathVariable Long id) {
-        Book book = service.read(id);
-
-        BookResponseDto responseDto = BookMapper.INSTANCE.toBookResponseDto(book);
+    @PatchMapping(value = BULK + STATUS,
+            produces = APPLICATION_JSON_VALUE,
+            consumes = APPLICATION_JSON_VALUE)
+    ResponseEntity<BookStatusesResponseDto> updateStatus(@Valid @RequestBody BookStatusesDto statusesDto) {
+        return ResponseEntity.ok().body(BookStatusesResponseDto.of(service.updateStatus(statusesDto)));
+    }
 
-        return ResponseEntity.ok().body(responseDto);
+    @GetMapping("/{id}")
+    ResponseEntity<byte[]> read(@PathVariable Long id) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(documentService.read(id));
     }
 
     @PutMapping("/{id}")
     ResponseEntity<BookResponseDto> update(@RequestBody BookDto newBook, @PathVariable Long id) {
         Book updated = service.update(id, newBook);
 
-        BookResponseDto responseDto = BookMapper.INSTANCE.toBookResponseDto(updated);
+        BookResponseDto responseDto = mapper.toBookResponseDto(updated);
         return ResponseEntity.ok().body(responseDto);
     }
 
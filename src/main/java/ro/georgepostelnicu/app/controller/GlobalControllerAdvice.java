@@ -1,6 +1,7 @@
 package ro.georgepostelnicu.app.controller;
 
 import jakarta.annotation.Nullable;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,12 +14,22 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 import ro.georgepostelnicu.app.dto.ErrorDto;
 import ro.georgepostelnicu.app.exception.EntityAlreadyExistException;
+import ro.georgepostelnicu.app.exception.EntityAlreadyLinkedException;
 import ro.georgepostelnicu.app.exception.EntityNotFoundException;
+import ro.georgepostelnicu.app.exception.EntityValidationException;
+import ro.georgepostelnicu.app.exception.SyncTokenExpiredException;
+import ro.georgepostelnicu.app.util.LogThrottle;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static ro.georgepostelnicu.app.util.LogThrottle.SUPPRESSED;
 
 
 @ControllerAdvice
@@ -26,55 +37,74 @@ public class GlobalControllerAdvice extends ResponseEntityExceptionHandler {
     private static final Logger log = LoggerFactory.getLogger(GlobalControllerAdvice.class);
     public static final String BAD_REQUEST_ERROR_TYPE = "Bad Request";
     public static final String APPLICATION_ERROR_TYPE = "Application Error";
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    private static final Pattern REQUEST_ID = Pattern.compile("[\\w.-]{1,64}");
+    // Expected errors are routine for clients, each type is logged at most once per interval
+    private final LogThrottle expectedErrors = new LogThrottle(Duration.ofSeconds(10));
 
     @ResponseBody
     @ExceptionHandler(EntityAlreadyExistException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     ResponseEntity<Object> handleAlreadyExists(EntityAlreadyExistException ex, WebRequest request) {
-        log.error("handleAlreadyExists: ", ex);
-        return handleExceptionInternal(ex, new ErrorDto(
-                        UUID.randomUUID().toString(),
-                        BAD_REQUEST_ERROR_TYPE,
-                        ex.getMessage(),
-                        Collections.emptySet(),
-                        HttpStatus.resolve(HttpStatus.BAD_REQUEST.value())),
-                getProblemJsonHeader(),
-                HttpStatus.BAD_REQUEST,
-                request);
+        return handleExpected("handleAlreadyExists", ex, Collections.emptySet(), HttpStatus.BAD_REQUEST, request);
+    }
+
+    @ResponseBody
+    @ExceptionHandler(EntityAlreadyLinkedException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    ResponseEntity<Object> handleAlreadyLinked(EntityAlreadyLinkedException ex, WebRequest request) {
+        return handleExpected("handleAlreadyLinked", ex, Collections.emptySet(), HttpStatus.BAD_REQUEST, request);
+    }
+
+    @ResponseBody
+    @ExceptionHandler(EntityValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    ResponseEntity<Object> handleValidation(EntityValidationException ex, WebRequest request) {
+        return handleExpected("handleValidation", ex, Collections.emptySet(), HttpStatus.BAD_REQUEST, request);
     }
 
     @ResponseBody
     @ExceptionHandler(EntityNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     ResponseEntity<Object> handleNotFound(EntityNotFoundException ex, WebRequest request) {
-        log.error("handleNotFound: ", ex);
-        return handleExceptionInternal(ex, new ErrorDto(
-                        UUID.randomUUID().toString(),
-                        BAD_REQUEST_ERROR_TYPE,
-                        ex.getMessage(),
-                        Collections.emptySet(),
-                        HttpStatus.resolve(HttpStatus.NOT_FOUND.value())),
-                getProblemJsonHeader(),
-                HttpStatus.NOT_FOUND,
-                request);
+        return handleExpected("handleNotFound", ex, Collections.emptySet(), HttpStatus.NOT_FOUND, request);
+    }
+
+    @ResponseBody
+    @ExceptionHandler(SyncTokenExpiredException.class)
+    @ResponseStatus(HttpStatus.GONE)
+    ResponseEntity<Object> handleSyncTokenExpired(SyncTokenExpiredException ex, WebRequest request) {
+        return handleExpected("handleSyncTokenExpired", ex, Collections.emptySet(), HttpStatus.GONE, request);
+    }
+
+    // Raised by method validation of @Validated controllers, for request parameters outside their bounds
+    @ResponseBody
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    ResponseEntity<Object> handleConstraintViolation(ConstraintViolationException ex, WebRequest request) {
+        Set<String> violations = ex.getConstraintViolations().stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.toSet());
+        return handleExpected("handleConstraintViolation", ex, violations, HttpStatus.BAD_REQUEST, request);
     }
 
     @ResponseBody
     @ExceptionHandler({Exception.class})
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     protected ResponseEntity<Object> handleUncaughtException(Exception ex, WebRequest request) {
-        log.error("handleUncaughtException: ", ex);
+        String traceId = traceId(request);
+        log.error("handleUncaughtException [{}]: ", traceId, ex);
         HttpStatus status = INTERNAL_SERVER_ERROR;
 
         return handleExceptionInternal(
                 ex,
                 new ErrorDto(
-                        UUID.randomUUID().toString(),
+                        traceId,
                         APPLICATION_ERROR_TYPE,
                         ex.getMessage(),
                         Collections.emptySet(),
                         HttpStatus.resolve(status.value())),
-                getProblemJsonHeader(),
+                getProblemJsonHeader(traceId),
                 status,
                 request);
     }
@@ -91,9 +121,45 @@ public class GlobalControllerAdvice extends ResponseEntityExceptionHandler {
         return super.handleExceptionInternal(ex, body, writeableHeaders, status, request);
     }
 
-    private HttpHeaders getProblemJsonHeader() {
+    private ResponseEntity<Object> handleExpected(String handler, RuntimeException ex, Set<String> details,
+                                                  HttpStatus status, WebRequest request) {
+        String traceId = traceId(request);
+        logExpected(handler, ex, traceId);
+        return handleExceptionInternal(ex, new ErrorDto(
+                        traceId,
+                        BAD_REQUEST_ERROR_TYPE,
+                        ex.getMessage(),
+                        details,
+                        status),
+                getProblemJsonHeader(traceId),
+                status,
+                request);
+    }
+
+    private void logExpected(String handler, RuntimeException ex, String traceId) {
+        long suppressed = expectedErrors.acquire(ex.getClass());
+        if (suppressed != SUPPRESSED) {
+            log.warn("{} [{}]: {} ({} more since the last one logged)", handler, traceId, ex.getMessage(), suppressed);
+        }
+    }
+
+    /**
+     * The caller's request id when it sent a usable one, so its logs and ours can be joined, otherwise a random id.
+     * Error ids only correlate log lines, so they come from a fast non-cryptographic generator.
+     */
+    private static String traceId(WebRequest request) {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId != null && REQUEST_ID.matcher(requestId).matches()) {
+            return requestId;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    private HttpHeaders getProblemJsonHeader(String traceId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PROBLEM_JSON);
+        headers.set(REQUEST_ID_HEADER, traceId);
         return headers;
     }
 }
@@ -1,9 +1,15 @@
 package ro.georgepostelnicu.app.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ro.georgepostelnicu.app.dto.TagCountDto;
+import ro.georgepostelnicu.app.dto.TagCountsResponseDto;
+import ro.georgepostelnicu.app.dto.TagUpsertsResponseDto;
 import ro.georgepostelnicu.app.dto.keyword.KeywordDto;
 import ro.georgepostelnicu.app.dto.keyword.KeywordResponseDto;
 import ro.georgepostelnicu.app.dto.keyword.KeywordsDto;
@@ -20,15 +26,18 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.web.util.UriComponentsBuilder.fromPath;
 import static ro.georgepostelnicu.app.controller.ApiPrefix.BULK;
 import static ro.georgepostelnicu.app.controller.ApiPrefix.KEYWORDS;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.SEARCH;
 
 @RestController
 @RequestMapping(KEYWORDS)
 @Validated
 public class KeywordController {
     private final KeywordService service;
+    private final LibraryMapper mapper;
 
-    public KeywordController(KeywordService service) {
+    public KeywordController(KeywordService service, LibraryMapper mapper) {
         this.service = service;
+        this.mapper = mapper;
     }
 
     @PostMapping(value = BULK,
@@ -37,26 +46,56 @@ public class KeywordController {
     public ResponseEntity<KeywordsResponseDto> createBulk(@Valid @RequestBody KeywordsDto keywordsDto) {
         List<Keyword> keywords = service.createBulk(keywordsDto);
         List<KeywordResponseDto> responseDtos = keywords.stream()
-                .map(LibraryMapper.INSTANCE::toKeywordResponseDto)
+                .map(mapper::toKeywordResponseDto)
                 .collect(Collectors.toList());
         return ResponseEntity.ok().body(KeywordsResponseDto.of(responseDtos));
     }
 
+    @PostMapping(value = BULK,
+            params = "mode=upsert",
+            produces = APPLICATION_JSON_VALUE,
+            consumes = APPLICATION_JSON_VALUE)
+    public ResponseEntity<TagUpsertsResponseDto> upsertBulk(@Valid @RequestBody KeywordsDto keywordsDto) {
+        return ResponseEntity.ok().body(TagUpsertsResponseDto.of(service.upsertBulk(keywordsDto)));
+    }
+
     @PostMapping(produces = APPLICATION_JSON_VALUE,
             consumes = APPLICATION_JSON_VALUE)
     public ResponseEntity<KeywordResponseDto> create(@Valid @RequestBody KeywordDto keywordDto) {
         Keyword keyword = service.create(keywordDto);
         URI location = fromPath(KEYWORDS).pathSegment("{id}")
                 .buildAndExpand(keyword.getId()).toUri();
-        KeywordResponseDto responseDto = LibraryMapper.INSTANCE.toKeywordResponseDto(keyword);
+        KeywordResponseDto responseDto = mapper.toKeywordResponseDto(keyword);
 
         return ResponseEntity.created(location).body(responseDto);
     }
 
+    @GetMapping(value = SEARCH, produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<KeywordsResponseDto> search(
+            @RequestParam(name = "prefix") @NotBlank String prefix,
+            @RequestParam(name = "fuzzy", defaultValue = "false") boolean fuzzy) {
+        List<Keyword> keywords = fuzzy ? service.searchSimilar(prefix) : service.searchByPrefix(prefix);
+        List<KeywordResponseDto> responseDtos = keywords.stream()
+                .map(mapper::toKeywordResponseDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok().body(KeywordsResponseDto.of(responseDtos));
+    }
+
+    @GetMapping(produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<TagCountsResponseDto> list(
+            @RequestParam(name = "after", defaultValue = "0") @Min(0) Long after,
+            @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size,
+            @RequestParam(name = "min_books", defaultValue = "0") @Min(0) Long minBooks) {
+        List<TagCountDto> responseDtos = service.listBookCounts(after, minBooks, size).stream()
+                .map(mapper::toTagCountDto)
+                .toList();
+        return ResponseEntity.ok().body(TagCountsResponseDto.of(responseDtos, size));
+    }
+
     @GetMapping(value = "/{id}", produces = APPLICATION_JSON_VALUE)
     public ResponseEntity<KeywordResponseDto> read(@PathVariable Long id) {
         Keyword keyword = service.read(id);
-        KeywordResponseDto responseDto = LibraryMapper.INSTANCE.toKeywordResponseDto(keyword);
+        KeywordResponseDto responseDto = mapper.toKeywordResponseDto(keyword);
 
         return ResponseEntity.ok().body(responseDto);
     }
@@ -67,7 +106,7 @@ public class KeywordController {
     public ResponseEntity<KeywordResponseDto> update(@PathVariable Long id,
                                                      @Valid @RequestBody KeywordDto keywordDto) {
         Keyword keyword = service.update(id, keywordDto);
-        KeywordResponseDto responseDto = LibraryMapper.INSTANCE.toKeywordResponseDto(keyword);
+        KeywordResponseDto responseDto = mapper.toKeywordResponseDto(keyword);
         return ResponseEntity.ok().body(responseDto);
     }
 
@@ -1,11 +1,16 @@
 package ro.georgepostelnicu.app.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ro.georgepostelnicu.app.dto.TagCountDto;
+import ro.georgepostelnicu.app.dto.TagCountsResponseDto;
+import ro.georgepostelnicu.app.dto.TagUpsertsResponseDto;
 import ro.georgepostelnicu.app.dto.language.LanguageDto;
 import ro.georgepostelnicu.app.dto.language.LanguageResponseDto;
 import ro.georgepostelnicu.app.dto.language.LanguagesDto;
@@ -27,10 +32,12 @@ import static ro.georgepostelnicu.app.controller.ApiPrefix.LANGUAGES;
 @Validated
 public class LanguageController {
     private final LanguageService service;
+    private final LibraryMapper mapper;
 
     @Autowired
-    public LanguageController(LanguageService service) {
+    public LanguageController(LanguageService service, LibraryMapper mapper) {
         this.service = service;
+        this.mapper = mapper;
     }
 
     @PostMapping(value = BULK,
@@ -39,26 +46,45 @@ public class LanguageController {
     ResponseEntity<LanguagesResponseDto> createBulk(@Valid @RequestBody LanguagesDto languagesDto) {
         List<Language> bulk = service.createBulk(languagesDto);
         List<LanguageResponseDto> responseDtos = bulk.stream()
-                .map(LibraryMapper.INSTANCE::toLanguageResponseDto)
+                .map(mapper::toLanguageResponseDto)
                 .toList();
         return ResponseEntity.ok().body(LanguagesResponseDto.of(responseDtos));
     }
 
+    @PostMapping(value = BULK,
+            params = "mode=upsert",
+            produces = APPLICATION_JSON_VALUE,
+            consumes = APPLICATION_JSON_VALUE)
+    public ResponseEntity<TagUpsertsResponseDto> upsertBulk(@Valid @RequestBody LanguagesDto languagesDto) {
+        return ResponseEntity.ok().body(TagUpsertsResponseDto.of(service.upsertBulk(languagesDto)));
+    }
+
     @PostMapping(produces = APPLICATION_JSON_VALUE,
             consumes = APPLICATION_JSON_VALUE)
     public ResponseEntity<LanguageResponseDto> create(@Valid @RequestBody LanguageDto languageDto) {
         Language language = service.create(languageDto);
         URI location = fromPath(LANGUAGES).pathSegment("{id}")
                 .buildAndExpand(language.getId()).toUri();
-        LanguageResponseDto responseDto = LibraryMapper.INSTANCE.toLanguageResponseDto(language);
+        LanguageResponseDto responseDto = mapper.toLanguageResponseDto(language);
 
         return ResponseEntity.created(location).body(responseDto);
     }
 
+    @GetMapping(produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<TagCountsResponseDto> list(
+            @RequestParam(name = "after", defaultValue = "0") @Min(0) Long after,
+            @RequestParam(name = "size", defaultValue = "20") @Min(1) @Max(100) Integer size,
+            @RequestParam(name = "min_books", defaultValue = "0") @Min(0) Long minBooks) {
+        List<TagCountDto> responseDtos = service.listBookCounts(after, minBooks, size).stream()
+                .map(mapper::toTagCountDto)
+                .toList();
+        return ResponseEntity.ok().body(TagCountsResponseDto.of(responseDtos, size));
+    }
+
     @GetMapping(value = "/{id}", produces = APPLICATION_JSON_VALUE)
     public ResponseEntity<LanguageResponseDto> read(@PathVariable Long id) {
         Language language = service.read(id);
-        LanguageResponseDto responseDto = LibraryMapper.INSTANCE.toLanguageResponseDto(language);
+        LanguageResponseDto responseDto = mapper.toLanguageResponseDto(language);
 
         return ResponseEntity.ok().body(responseDto);
     }
@@ -69,7 +95,7 @@ public class LanguageController {
     public ResponseEntity<LanguageResponseDto> update(@PathVariable Long id,
                                                       @Valid @RequestBody LanguageDto keywordDto) {
         Language language = service.update(id, keywordDto);
-        LanguageResponseDto responseDto = LibraryMapper.INSTANCE.toLanguageResponseDto(language);
+        LanguageResponseDto responseDto = mapper.toLanguageResponseDto(language);
         return ResponseEntity.ok().body(responseDto);
     }
 
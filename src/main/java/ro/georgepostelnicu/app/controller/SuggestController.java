@@ -0,0 +1,51 @@
+package ro.georgepostelnicu.app.controller;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import ro.georgepostelnicu.app.dto.suggest.SuggestionDto;
+import ro.georgepostelnicu.app.dto.suggest.SuggestionsResponseDto;
+import ro.georgepostelnicu.app.mapper.LibraryMapper;
+import ro.georgepostelnicu.app.model.SuggestType;
+import ro.georgepostelnicu.app.service.SuggestService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.SUGGEST;
+import static ro.georgepostelnicu.app.service.SuggestService.MAX_SUGGESTIONS;
+
+@RestController
+@RequestMapping(SUGGEST)
+@Validated
+public class SuggestController {
+    private final SuggestService service;
+    private final LibraryMapper mapper;
+
+    public SuggestController(SuggestService service, LibraryMapper mapper) {
+        this.service = service;
+        this.mapper = mapper;
+    }
+
+    @GetMapping(produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<SuggestionsResponseDto> suggest(
+            @RequestParam(name = "type") String type,
+            @RequestParam(name = "prefix") @NotBlank String prefix,
+            @RequestParam(name = "limit", defaultValue = "10") @Min(1) @Max(MAX_SUGGESTIONS) Integer limit) {
+        SuggestType suggestType = SuggestType.from(type)
+                .orElseThrow(() -> new ResponseStatusException(BAD_REQUEST, "Unsupported suggestion type " + type));
+        List<SuggestionDto> responseDtos = service.suggest(suggestType, prefix, limit).stream()
+                .map(mapper::toSuggestionDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok().body(SuggestionsResponseDto.of(responseDtos));
+    }
+}
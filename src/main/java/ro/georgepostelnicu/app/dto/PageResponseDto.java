@@ -0,0 +1,36 @@
+package ro.georgepostelnicu.app.dto;
+
+import java.util.List;
+
+/**
+ * One page of search results. {@code next} is the number of the following page, and is null on the last page.
+ */
+public class PageResponseDto<T> {
+    private List<T> content;
+    private Integer next;
+    private long total;
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public Integer getNext() {
+        return next;
+    }
+
+    public void setNext(Integer next) {
+        this.next = next;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+}
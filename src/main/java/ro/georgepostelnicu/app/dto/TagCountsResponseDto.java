@@ -0,0 +1,30 @@
+package ro.georgepostelnicu.app.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of tags. {@code next} is the {@code after} value that fetches the following page, and is absent
+ * on the last page.
+ */
+public class TagCountsResponseDto extends ListResultDto<TagCountDto> {
+    private Long next;
+
+    /**
+     * @param size the page size the elements were fetched with
+     */
+    public static TagCountsResponseDto of(List<TagCountDto> elements, int size) {
+        TagCountsResponseDto result = new TagCountsResponseDto();
+        result.setElements(elements);
+        // A full page may be followed by more tags, a shorter one is the last
+        result.setNext(elements.size() == size ? elements.getLast().getId() : null);
+        return result;
+    }
+
+    public Long getNext() {
+        return next;
+    }
+
+    public void setNext(Long next) {
+        this.next = next;
+    }
+}
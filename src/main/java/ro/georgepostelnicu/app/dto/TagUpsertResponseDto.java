@@ -0,0 +1,43 @@
+package ro.georgepostelnicu.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class TagUpsertResponseDto {
+    private String name;
+    private Long id;
+    private UpsertOutcome outcome;
+
+    @JsonCreator
+    public TagUpsertResponseDto(@JsonProperty("name") String name,
+                                @JsonProperty("id") Long id,
+                                @JsonProperty("outcome") UpsertOutcome outcome) {
+        this.name = name;
+        this.id = id;
+        this.outcome = outcome;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public UpsertOutcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(UpsertOutcome outcome) {
+        this.outcome = outcome;
+    }
+}
@@ -0,0 +1,12 @@
+package ro.georgepostelnicu.app.dto;
+
+import java.util.List;
+
+public class TagUpsertsResponseDto extends ListResultDto<TagUpsertResponseDto> {
+    public static TagUpsertsResponseDto of(List<TagUpsertResponseDto> elements) {
+        TagUpsertsResponseDto result = new TagUpsertsResponseDto();
+        result.setElements(elements);
+        return result;
+    }
+
+}
@@ -0,0 +1,5 @@
+package ro.georgepostelnicu.app.dto;
+
+public enum UpsertOutcome {
+    CREATED, EXISTING, FAILED
+}
@@ -1,13 +1,15 @@
 package ro.georgepostelnicu.app.dto.author;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import jakarta.validation.Valid;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 public class AuthorsDto {
     @Valid
-    private Set<String> authors = new HashSet<>();
+    @JsonDeserialize(as = LinkedHashSet.class)
+    private Set<String> authors = new LinkedHashSet<>();
 
     public Set<String> getAuthors() {
         return authors;
@@ -0,0 +1,33 @@
+package ro.georgepostelnicu.app.dto.book;
+
+import ro.georgepostelnicu.app.model.BookChangeType;
+
+public class BookChangeDto {
+    private Long id;
+    private BookChangeType type;
+    private BookSummaryDto book;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BookChangeType getType() {
+        return type;
+    }
+
+    public void setType(BookChangeType type) {
+        this.type = type;
+    }
+
+    public BookSummaryDto getBook() {
+        return book;
+    }
+
+    public void setBook(BookSummaryDto book) {
+        this.book = book;
+    }
+}
@@ -0,0 +1,28 @@
+package ro.georgepostelnicu.app.dto.book;
+
+import ro.georgepostelnicu.app.dto.ListResultDto;
+
+import java.util.List;
+
+/**
+ * Books changed since the requested sync token. {@code next} is the token for the following request, and equals the
+ * requested one when nothing changed.
+ */
+public class BookChangesResponseDto extends ListResultDto<BookChangeDto> {
+    private Long next;
+
+    public static BookChangesResponseDto of(List<BookChangeDto> elements, Long next) {
+        BookChangesResponseDto result = new BookChangesResponseDto();
+        result.setElements(elements);
+        result.setNext(next);
+        return result;
+    }
+
+    public Long getNext() {
+        return next;
+    }
+
+    public void setNext(Long next) {
+        this.next = next;
+    }
+}
@@ -0,0 +1,51 @@
+package ro.georgepostelnicu.app.dto.book;
+
+import java.util.List;
+
+public class BookFacetsDto {
+    private List<FacetCountDto> authors;
+    private List<FacetCountDto> keywords;
+    private List<FacetCountDto> languages;
+    private List<FacetCountDto> covers;
+    private List<FacetCountDto> decades;
+
+    public List<FacetCountDto> getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(List<FacetCountDto> authors) {
+        this.authors = authors;
+    }
+
+    public List<FacetCountDto> getKeywords() {
+        return keywords;
+    }
+
+    public void setKeywords(List<FacetCountDto> keywords) {
+        this.keywords = keywords;
+    }
+
+    public List<FacetCountDto> getLanguages() {
+        return languages;
+    }
+
+    public void setLanguages(List<FacetCountDto> languages) {
+        this.languages = languages;
+    }
+
+    public List<FacetCountDto> getCovers() {
+        return covers;
+    }
+
+    public void setCovers(List<FacetCountDto> covers) {
+        this.covers = covers;
+    }
+
+    public List<FacetCountDto> getDecades() {
+        return decades;
+    }
+
+    public void setDecades(List<FacetCountDto> decades) {
+        this.decades = decades;
+    }
+}
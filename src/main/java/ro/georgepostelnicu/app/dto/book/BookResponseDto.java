@@ -10,6 +10,7 @@ import java.util.Set;
 public class BookResponseDto extends BookBaseDto {
     @NotNull
     private Long id;
+    private Long version;
 
     private Set<AuthorResponseDto> authors;
     private Set<KeywordResponseDto> keywords;
@@ -23,6 +24,14 @@ public class BookResponseDto extends BookBaseDto {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Set<AuthorResponseDto> getAuthors() {
         return authors;
     }
@@ -0,0 +1,43 @@
+package ro.georgepostelnicu.app.dto.book;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class BookStatusResponseDto {
+    private Long id;
+    private Long version;
+    private StatusUpdateOutcome outcome;
+
+    @JsonCreator
+    public BookStatusResponseDto(@JsonProperty("id") Long id,
+                                 @JsonProperty("version") Long version,
+                                 @JsonProperty("outcome") StatusUpdateOutcome outcome) {
+        this.id = id;
+        this.version = version;
+        this.outcome = outcome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public StatusUpdateOutcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(StatusUpdateOutcome outcome) {
+        this.outcome = outcome;
+    }
+}
@@ -0,0 +1,45 @@
+package ro.georgepostelnicu.app.dto.book;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import ro.georgepostelnicu.app.model.BookSearchCriteria;
+import ro.georgepostelnicu.app.model.StatusType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Status transition applied to many books at once. Either {@code books} (IDs with the version the client last saw)
+ * or {@code criteria} selects the books; when both are given the explicit IDs win.
+ */
+public class BookStatusesDto {
+    @NotNull
+    private StatusType status;
+    @Valid
+    private List<BookVersionDto> books = new ArrayList<>();
+    private BookSearchCriteria criteria;
+
+    public StatusType getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusType status) {
+        this.status = status;
+    }
+
+    public List<BookVersionDto> getBooks() {
+        return books;
+    }
+
+    public void setBooks(List<BookVersionDto> books) {
+        this.books = books;
+    }
+
+    public BookSearchCriteria getCriteria() {
+        return criteria;
+    }
+
+    public void setCriteria(BookSearchCriteria criteria) {
+        this.criteria = criteria;
+    }
+}
@@ -0,0 +1,13 @@
+package ro.georgepostelnicu.app.dto.book;
+
+import ro.georgepostelnicu.app.dto.ListResultDto;
+
+import java.util.List;
+
+public class BookStatusesResponseDto extends ListResultDto<BookStatusResponseDto> {
+    public static BookStatusesResponseDto of(List<BookStatusResponseDto> elements) {
+        BookStatusesResponseDto result = new BookStatusesResponseDto();
+        result.setElements(elements);
+        return result;
+    }
+}
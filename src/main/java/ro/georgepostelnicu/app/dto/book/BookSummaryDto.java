@@ -0,0 +1,72 @@
+package ro.georgepostelnicu.app.dto.book;
+
+import ro.georgepostelnicu.app.model.CoverType;
+import ro.georgepostelnicu.app.model.StatusType;
+
+import java.util.List;
+
+public class BookSummaryDto {
+    private Long id;
+    private String name;
+    private String publisher;
+    private Integer publishYear;
+    private CoverType cover;
+    private StatusType status;
+    private List<String> authors;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getPublisher() {
+        return publisher;
+    }
+
+    public void setPublisher(String publisher) {
+        this.publisher = publisher;
+    }
+
+    public Integer getPublishYear() {
+        return publishYear;
+    }
+
+    public void setPublishYear(Integer publishYear) {
+        this.publishYear = publishYear;
+    }
+
+    public CoverType getCover() {
+        return cover;
+    }
+
+    public void setCover(CoverType cover) {
+        this.cover = cover;
+    }
+
+    public StatusType getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusType status) {
+        this.status = status;
+    }
+
+    public List<String> getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(List<String> authors) {
+        this.authors = authors;
+    }
+}
@@ -0,0 +1,34 @@
+package ro.georgepostelnicu.app.dto.book;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotNull;
+
+public class BookVersionDto {
+    @NotNull
+    private Long id;
+    private Long version;
+
+    @JsonCreator
+    public BookVersionDto(@JsonProperty("id") Long id,
+                          @JsonProperty("version") Long version) {
+        this.id = id;
+        this.version = version;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,22 @@
+package ro.georgepostelnicu.app.dto.book;
+
+public class FacetCountDto {
+    private String value;
+    private long count;
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
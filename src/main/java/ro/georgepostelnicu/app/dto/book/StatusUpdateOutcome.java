@@ -0,0 +1,5 @@
+package ro.georgepostelnicu.app.dto.book;
+
+public enum StatusUpdateOutcome {
+    UPDATED, UNCHANGED, NOT_FOUND, VERSION_CONFLICT
+}
@@ -1,13 +1,15 @@
 package ro.georgepostelnicu.app.dto.keyword;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import jakarta.validation.Valid;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 public class KeywordsDto {
     @Valid
-    private Set<String> keywords = new HashSet<>();
+    @JsonDeserialize(as = LinkedHashSet.class)
+    private Set<String> keywords = new LinkedHashSet<>();
 
     public Set<String> getKeywords() {
         return keywords;
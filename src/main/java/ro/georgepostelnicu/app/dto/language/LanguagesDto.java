@@ -1,13 +1,15 @@
 package ro.georgepostelnicu.app.dto.language;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import jakarta.validation.Valid;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 public class LanguagesDto {
     @Valid
-    private Set<String> languages = new HashSet<>();
+    @JsonDeserialize(as = LinkedHashSet.class)
+    private Set<String> languages = new LinkedHashSet<>();
 
     public Set<String> getLanguages() {
         return languages;
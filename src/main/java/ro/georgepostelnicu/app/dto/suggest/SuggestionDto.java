@@ -0,0 +1,22 @@
+package ro.georgepostelnicu.app.dto.suggest;
+
+public class SuggestionDto {
+    private String value;
+    private long weight;
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+
+    public void setWeight(long weight) {
+        this.weight = weight;
+    }
+}
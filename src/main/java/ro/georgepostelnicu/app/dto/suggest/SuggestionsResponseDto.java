@@ -0,0 +1,14 @@
+package ro.georgepostelnicu.app.dto.suggest;
+
+import ro.georgepostelnicu.app.dto.ListResultDto;
+
+import java.util.List;
+
+public class SuggestionsResponseDto extends ListResultDto<SuggestionDto> {
+    public static SuggestionsResponseDto of(List<SuggestionDto> elements) {
+        SuggestionsResponseDto result = new SuggestionsResponseDto();
+        result.setElements(elements);
+        return result;
+    }
+
+}
@@ -0,0 +1,17 @@
+package ro.georgepostelnicu.app.event;
+
+import ro.georgepostelnicu.app.model.BookChangeType;
+import ro.georgepostelnicu.app.model.OutboxEntry;
+
+import java.time.Instant;
+
+/**
+ * A published book change. Consumers read the book itself when they need more than its id, and may see the same
+ * change more than once, so {@code sequence} lets them skip what they already applied.
+ */
+public record BookChange(Long sequence, Long bookId, BookChangeType type, Instant createdAt) {
+
+    public static BookChange of(OutboxEntry entry) {
+        return new BookChange(entry.getSequence(), entry.getBookId(), entry.getChangeType(), entry.getCreatedAt());
+    }
+}
@@ -0,0 +1,11 @@
+package ro.georgepostelnicu.app.event;
+
+import java.util.List;
+
+/**
+ * Delivers batches of book changes outside the application. A sink that throws makes the batch be delivered again,
+ * so deliveries have to tolerate duplicates.
+ */
+public interface BookChangeSink {
+    void deliver(List<BookChange> changes);
+}
@@ -0,0 +1,8 @@
+package ro.georgepostelnicu.app.event;
+
+/**
+ * Published when a book is created, updated or deleted. {@code before} is null for a new book and {@code after}
+ * is null for a deleted one.
+ */
+public record BookChangedEvent(BookSnapshot before, BookSnapshot after) {
+}
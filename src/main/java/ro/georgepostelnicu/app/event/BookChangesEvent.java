@@ -0,0 +1,10 @@
+package ro.georgepostelnicu.app.event;
+
+import java.util.List;
+
+/**
+ * Published by the outbox poller with every batch of book changes, in the order they were recorded. A listener that
+ * throws makes the whole batch be published again.
+ */
+public record BookChangesEvent(List<BookChange> changes) {
+}
@@ -0,0 +1,23 @@
+package ro.georgepostelnicu.app.event;
+
+import ro.georgepostelnicu.app.model.Author;
+import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.Keyword;
+import ro.georgepostelnicu.app.model.Language;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The names a book is indexed under, copied out of the entity so they survive the persistence context.
+ */
+public record BookSnapshot(String name, String publisher, Set<String> authors, Set<String> keywords,
+                           Set<String> languages) {
+
+    public static BookSnapshot of(Book book) {
+        return new BookSnapshot(book.getName(), book.getPublisher(),
+                book.getAuthors().stream().map(Author::getName).collect(Collectors.toSet()),
+                book.getKeywords().stream().map(Keyword::getName).collect(Collectors.toSet()),
+                book.getLanguages().stream().map(Language::getName).collect(Collectors.toSet()));
+    }
+}
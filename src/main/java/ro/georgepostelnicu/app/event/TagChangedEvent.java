@@ -0,0 +1,10 @@
+package ro.georgepostelnicu.app.event;
+
+/**
+ * Published when an author, keyword or language is created, renamed or deleted. {@code oldName} is null for a
+ * new tag and {@code newName} is null for a deleted one.
+ *
+ * @param entityName one of the {@link ro.georgepostelnicu.app.model.EntityName} values
+ */
+public record TagChangedEvent(String entityName, String oldName, String newName) {
+}
@@ -0,0 +1,12 @@
+package ro.georgepostelnicu.app.exception;
+
+/**
+ * An expected outcome reported back to the client, such as a missing or duplicate entity. It does not capture a
+ * stack trace, which is most of what creating an exception costs, since the message alone describes it.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
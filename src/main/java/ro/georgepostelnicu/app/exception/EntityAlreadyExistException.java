@@ -2,7 +2,7 @@ package ro.georgepostelnicu.app.exception;
 
 import java.util.Set;
 
-public class EntityAlreadyExistException extends RuntimeException {
+public class EntityAlreadyExistException extends DomainException {
 
     public static final String ENTITY_ALREADY_HAS_A = "Entity [%s] already has [%s]";
     public static final String ENTITY_ALREADY_HAS_COLLECTION = "Entity [%s] already has %s";
@@ -1,6 +1,6 @@
 package ro.georgepostelnicu.app.exception;
 
-public class EntityAlreadyLinkedException extends RuntimeException {
+public class EntityAlreadyLinkedException extends DomainException {
 
     public static final String ENTITY_ALREADY_HAS_A_LINK = "Entity [%s] already has a link to [%s]";
 
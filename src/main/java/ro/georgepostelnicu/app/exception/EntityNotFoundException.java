@@ -1,6 +1,6 @@
 package ro.georgepostelnicu.app.exception;
 
-public class EntityNotFoundException extends RuntimeException {
+public class EntityNotFoundException extends DomainException {
 
     public static final String CANNOT_FIND_ENTITY_ID = "Cannot find [%s] with [%s]";
 
@@ -1,6 +1,6 @@
 package ro.georgepostelnicu.app.exception;
 
-public class EntityValidationException extends RuntimeException {
+public class EntityValidationException extends DomainException {
     public static final String ENTITY_VALIDATION_FAILURE = "Entity [%s] has this validation failure [%s]";
 
     public EntityValidationException(String entityName, String duplicate) {
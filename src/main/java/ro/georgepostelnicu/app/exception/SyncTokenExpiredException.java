@@ -0,0 +1,11 @@
+package ro.georgepostelnicu.app.exception;
+
+public class SyncTokenExpiredException extends DomainException {
+
+    public static final String CHANGES_PURGED = "Changes after [%s] were purged up to [%s], read the full catalogue " +
+            "and sync from [%s]";
+
+    public SyncTokenExpiredException(long since, long purgedThrough) {
+        super(String.format(CHANGES_PURGED, since, purgedThrough, purgedThrough));
+    }
+}
@@ -3,24 +3,37 @@ package ro.georgepostelnicu.app.mapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
-import org.mapstruct.factory.Mappers;
+import ro.georgepostelnicu.app.dto.book.BookChangeDto;
 import ro.georgepostelnicu.app.dto.book.BookDto;
+import ro.georgepostelnicu.app.dto.book.BookFacetsDto;
 import ro.georgepostelnicu.app.dto.book.BookResponseDto;
+import ro.georgepostelnicu.app.dto.book.BookSummaryDto;
 import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.BookFacets;
+import ro.georgepostelnicu.app.model.BookFeedEntry;
+import ro.georgepostelnicu.app.model.BookSummary;
 
-@Mapper(uses = BookRelationMapper.class)
+@Mapper(config = SpringMapperConfig.class, uses = BookRelationMapper.class)
 public interface BookMapper {
-    BookMapper INSTANCE = Mappers.getMapper(BookMapper.class);
-
     @Mapping(target = "authors", ignore = true)
     @Mapping(target = "keywords", ignore = true)
     @Mapping(target = "languages", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Book toBook(BookDto dto);
 
     BookResponseDto toBookResponseDto(Book book);
 
+    BookSummaryDto toBookSummaryDto(BookSummary summary);
+
+    BookFacetsDto toBookFacetsDto(BookFacets facets);
+
+    @Mapping(target = "id", source = "bookId")
+    @Mapping(target = "book", source = "summary")
+    BookChangeDto toBookChangeDto(BookFeedEntry entry);
+
     @Mapping(target = "authors", ignore = true)
     @Mapping(target = "keywords", ignore = true)
     @Mapping(target = "languages", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateBookFromDto(BookDto dto, @MappingTarget Book book);
 }
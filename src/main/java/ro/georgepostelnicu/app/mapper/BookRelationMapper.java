@@ -10,7 +10,7 @@ import ro.georgepostelnicu.app.model.Language;
 
 import java.util.Set;
 
-@Mapper
+@Mapper(config = SpringMapperConfig.class)
 public interface BookRelationMapper {
     Set<AuthorResponseDto> mapAuthors(Set<Author> authors);
 
@@ -0,0 +1,32 @@
+package ro.georgepostelnicu.app.mapper;
+
+import org.mapstruct.Mapper;
+import ro.georgepostelnicu.app.dto.author.AuthorResponseDto;
+import ro.georgepostelnicu.app.dto.book.BookResponseDto;
+import ro.georgepostelnicu.app.dto.keyword.KeywordResponseDto;
+import ro.georgepostelnicu.app.dto.language.LanguageResponseDto;
+import ro.georgepostelnicu.app.model.BookDocumentRow;
+import ro.georgepostelnicu.app.model.TagRef;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maps flat rows to responses. Nothing here reaches an entity, so no lazy collection is ever initialized.
+ */
+@Mapper(config = SpringMapperConfig.class)
+public interface BookRowMapper {
+    BookResponseDto toBookResponseDto(BookDocumentRow row);
+
+    Set<AuthorResponseDto> mapAuthors(List<TagRef> authors);
+
+    Set<KeywordResponseDto> mapKeywords(List<TagRef> keywords);
+
+    Set<LanguageResponseDto> mapLanguages(List<TagRef> languages);
+
+    AuthorResponseDto toAuthorResponseDto(TagRef author);
+
+    KeywordResponseDto toKeywordResponseDto(TagRef keyword);
+
+    LanguageResponseDto toLanguageResponseDto(TagRef language);
+}
@@ -4,22 +4,23 @@ import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
-import org.mapstruct.factory.Mappers;
+import ro.georgepostelnicu.app.dto.TagCountDto;
 import ro.georgepostelnicu.app.dto.author.AuthorDto;
 import ro.georgepostelnicu.app.dto.author.AuthorResponseDto;
 import ro.georgepostelnicu.app.dto.keyword.KeywordDto;
 import ro.georgepostelnicu.app.dto.keyword.KeywordResponseDto;
 import ro.georgepostelnicu.app.dto.language.LanguageDto;
 import ro.georgepostelnicu.app.dto.language.LanguageResponseDto;
+import ro.georgepostelnicu.app.dto.suggest.SuggestionDto;
 import ro.georgepostelnicu.app.model.Author;
 import ro.georgepostelnicu.app.model.Keyword;
 import ro.georgepostelnicu.app.model.Language;
+import ro.georgepostelnicu.app.model.Suggestion;
+import ro.georgepostelnicu.app.model.TagCount;
 import ro.georgepostelnicu.app.util.StringUtil;
 
-@Mapper
+@Mapper(config = SpringMapperConfig.class)
 public interface LibraryMapper {
-    LibraryMapper INSTANCE = Mappers.getMapper(LibraryMapper.class);
-
     @Mapping(target = "name", source = "name")
     Author toAuthor(AuthorDto dto);
 
@@ -57,4 +58,8 @@ public interface LibraryMapper {
 
     LanguageResponseDto toLanguageResponseDto(Language entity);
 
+    SuggestionDto toSuggestionDto(Suggestion suggestion);
+
+    TagCountDto toTagCountDto(TagCount tagCount);
+
 }
@@ -0,0 +1,13 @@
+package ro.georgepostelnicu.app.mapper;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+
+/**
+ * Generates every mapper as a Spring bean that receives the mappers it uses through its constructor.
+ */
+@MapperConfig(componentModel = MappingConstants.ComponentModel.SPRING,
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR)
+public interface SpringMapperConfig {
+}
@@ -0,0 +1,81 @@
+package ro.georgepostelnicu.app.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import ro.georgepostelnicu.app.util.NameNormalizer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills {@code name_key} for authors, keywords and languages. Rows whose names fold to the same key are duplicates:
+ * their book links move to the oldest row and they are deleted, so the unique constraint added next holds.
+ */
+public class V008__Backfill_Name_Keys extends BaseJavaMigration {
+    private static final List<String> TABLES = List.of("author", "keyword", "language");
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        for (String table : TABLES) {
+            backfill(connection, table);
+        }
+    }
+
+    private static void backfill(Connection connection, String table) throws SQLException {
+        Map<String, Long> keptIds = new HashMap<>();
+        Map<Long, Long> duplicates = new LinkedHashMap<>();
+        try (Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("select id, name from " + table + " order by id");
+             PreparedStatement update = connection.prepareStatement(
+                     "update " + table + " set name_key = ? where id = ?")) {
+            while (rows.next()) {
+                long id = rows.getLong(1);
+                String key = NameNormalizer.key(rows.getString(2));
+                Long keptId = keptIds.putIfAbsent(key, id);
+                if (keptId == null) {
+                    update.setString(1, key);
+                    update.setLong(2, id);
+                    update.addBatch();
+                } else {
+                    duplicates.put(id, keptId);
+                }
+            }
+            update.executeBatch();
+        }
+
+        for (Map.Entry<Long, Long> duplicate : duplicates.entrySet()) {
+            merge(connection, table, duplicate.getKey(), duplicate.getValue());
+        }
+    }
+
+    private static void merge(Connection connection, String table, long duplicateId, long keptId)
+            throws SQLException {
+        String links = "book_" + table;
+        String column = table + "_id";
+        // Books linked to both rows already have the kept link; the derived table lets MySQL read the table it
+        // deletes from
+        execute(connection, "delete from " + links + " where " + column + " = ? and book_id in " +
+                "(select book_id from (select book_id from " + links + " where " + column + " = ?) kept)",
+                duplicateId, keptId);
+        execute(connection, "update " + links + " set " + column + " = ? where " + column + " = ?",
+                keptId, duplicateId);
+        execute(connection, "delete from " + table + " where id = ?", duplicateId);
+    }
+
+    private static void execute(Connection connection, String sql, long... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setLong(i + 1, parameters[i]);
+            }
+            statement.executeUpdate();
+        }
+    }
+}
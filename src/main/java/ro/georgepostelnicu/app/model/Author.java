@@ -1,15 +1,22 @@
 package ro.georgepostelnicu.app.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.Generated;
+import ro.georgepostelnicu.app.util.NameNormalizer;
 
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
 import static jakarta.persistence.GenerationType.IDENTITY;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
+import static org.hibernate.generator.EventType.INSERT;
+import static org.hibernate.generator.EventType.UPDATE;
 
 @Entity
 @Table(name = "author")
+@Cache(usage = READ_WRITE, region = "author")
 public class Author {
     @Id
     @GeneratedValue(strategy = IDENTITY)
@@ -17,6 +24,17 @@ public class Author {
 
     @Column(unique = true)
     private String name;
+    // Folded form of the name that uniqueness checks and lookups go through, kept in step with the name
+    @Column(unique = true)
+    private String nameKey;
+    // Generated column maintained by the database, searched without wrapping it in lower()
+    @Generated(event = {INSERT, UPDATE})
+    @Column(insertable = false, updatable = false)
+    private String nameLower;
+    // Number of linked books, adjusted in the database as books are linked and unlinked. Read through queries
+    // only, since a cached entity would hold a stale value
+    @Column(insertable = false, updatable = false)
+    private long bookCount;
 
     @ManyToMany(mappedBy = "authors")
     private Set<Book> books = new HashSet<>();
@@ -37,6 +55,20 @@ public class Author {
         this.name = name;
     }
 
+    public String getNameLower() {
+        return nameLower;
+    }
+
+    public String getNameKey() {
+        return nameKey;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateNameKey() {
+        nameKey = NameNormalizer.key(name);
+    }
+
     public Set<Book> getBooks() {
         return books;
     }
@@ -1,12 +1,15 @@
 package ro.georgepostelnicu.app.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Generated;
 
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
 import static jakarta.persistence.GenerationType.IDENTITY;
+import static org.hibernate.generator.EventType.INSERT;
+import static org.hibernate.generator.EventType.UPDATE;
 
 @Entity
 @Table(name = "book")
@@ -55,6 +58,15 @@ public class Book {
     private String barcode;
     @Enumerated(EnumType.STRING)
     private StatusType status;
+    @Version
+    private Long version;
+    // Generated columns maintained by the database, searched without wrapping them in lower()
+    @Generated(event = {INSERT, UPDATE})
+    @Column(insertable = false, updatable = false)
+    private String nameLower;
+    @Generated(event = {INSERT, UPDATE})
+    @Column(insertable = false, updatable = false)
+    private String publisherLower;
 
     public void addAuthor(Author author) {
         authors.add(author);
@@ -198,6 +210,22 @@ public class Book {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getNameLower() {
+        return nameLower;
+    }
+
+    public String getPublisherLower() {
+        return publisherLower;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
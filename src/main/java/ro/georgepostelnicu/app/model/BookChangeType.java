@@ -0,0 +1,5 @@
+package ro.georgepostelnicu.app.model;
+
+public enum BookChangeType {
+    CREATED, UPDATED, DELETED
+}
@@ -0,0 +1,13 @@
+package ro.georgepostelnicu.app.model;
+
+import java.util.List;
+
+/**
+ * Flat, detached view of a book and its relations, as read for its JSON document. Unlike {@link BookRow} the
+ * relations keep their ids, so the row carries everything a {@code BookResponseDto} shows.
+ */
+public record BookDocumentRow(Long id, String name, String fullTitle, String description, String publisher,
+                              String isbn, String barcode, String cover, String status,
+                              Integer publishYear, Integer pages, Long version,
+                              List<TagRef> authors, List<TagRef> keywords, List<TagRef> languages) {
+}
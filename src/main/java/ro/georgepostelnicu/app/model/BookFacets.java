@@ -0,0 +1,10 @@
+package ro.georgepostelnicu.app.model;
+
+import java.util.List;
+
+/**
+ * Top values per filter for the books matching a {@link BookSearchCriteria}, most frequent first.
+ */
+public record BookFacets(List<FacetCount> authors, List<FacetCount> keywords, List<FacetCount> languages,
+                         List<FacetCount> covers, List<FacetCount> decades) {
+}
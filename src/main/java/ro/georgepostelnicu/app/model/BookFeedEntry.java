@@ -0,0 +1,8 @@
+package ro.georgepostelnicu.app.model;
+
+/**
+ * The latest change of one book in a change feed page. {@code summary} is null for a tombstone, a book that no
+ * longer exists.
+ */
+public record BookFeedEntry(Long sequence, Long bookId, BookChangeType type, BookSummary summary) {
+}
@@ -0,0 +1,9 @@
+package ro.georgepostelnicu.app.model;
+
+import java.util.List;
+
+/**
+ * Books changed after a sync token, and the token to ask with next time.
+ */
+public record BookFeedPage(List<BookFeedEntry> entries, long next) {
+}
@@ -0,0 +1,12 @@
+package ro.georgepostelnicu.app.model;
+
+import java.util.List;
+
+/**
+ * Flat, detached view of a book and the names of its relations, as read by the export cursor.
+ */
+public record BookRow(Long id, String name, String fullTitle, String description, String publisher,
+                      String isbn, String barcode, String cover, String status,
+                      Integer publishYear, Integer pages, Long version,
+                      List<String> authors, List<String> keywords, List<String> languages) {
+}
@@ -1,10 +1,14 @@
 package ro.georgepostelnicu.app.model;
 
 
+import org.springframework.web.bind.annotation.BindParam;
+
 import java.util.Set;
 
-public record BookSearchCriteria(String name, String fullTitle, String description, String isbn, String barcode,
+public record BookSearchCriteria(String name, @BindParam("full_title") String fullTitle, String description,
+                                 String isbn, String barcode,
                                  Set<String> authors, Set<String> keywords, Set<String> languages,
-                                 String publisher, CoverType coverType,
-                                 Integer minYear, Integer maxYear, Integer minPages, Integer maxPages) {
+                                 String publisher, @BindParam("cover_type") CoverType coverType,
+                                 @BindParam("min_year") Integer minYear, @BindParam("max_year") Integer maxYear,
+                                 @BindParam("min_pages") Integer minPages, @BindParam("max_pages") Integer maxPages) {
 }
@@ -0,0 +1,42 @@
+package ro.georgepostelnicu.app.model;
+
+import jakarta.persistence.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Read model of one book for search: the ISBN reduced to its digits and the linked tags as indexed
+ * {@code book_search_tag} rows, so tag filters are index lookups on one table instead of a join per tag table.
+ */
+@Entity
+@Table(name = "book_search")
+public class BookSearchEntry {
+    @Id
+    private Long bookId;
+    private String isbnDigits;
+    @ElementCollection
+    @CollectionTable(name = "book_search_tag", joinColumns = @JoinColumn(name = "book_id"))
+    private Set<SearchTag> tags = new HashSet<>();
+
+    protected BookSearchEntry() {
+    }
+
+    public BookSearchEntry(Long bookId, String isbnDigits, Set<SearchTag> tags) {
+        this.bookId = bookId;
+        this.isbnDigits = isbnDigits;
+        this.tags = tags;
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public String getIsbnDigits() {
+        return isbnDigits;
+    }
+
+    public Set<SearchTag> getTags() {
+        return tags;
+    }
+}
@@ -0,0 +1,4 @@
+package ro.georgepostelnicu.app.model;
+
+public record BookState(Long id, Long version, StatusType status) {
+}
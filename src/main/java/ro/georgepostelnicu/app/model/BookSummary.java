@@ -0,0 +1,19 @@
+package ro.georgepostelnicu.app.model;
+
+import java.util.List;
+
+/**
+ * Columns needed by list views. Selected through a constructor projection, so no {@link Book} is hydrated.
+ */
+public record BookSummary(Long id, String name, String publisher, Integer publishYear,
+                          CoverType cover, StatusType status, List<String> authors) {
+
+    public BookSummary(Long id, String name, String publisher, Integer publishYear,
+                       CoverType cover, StatusType status) {
+        this(id, name, publisher, publishYear, cover, status, List.of());
+    }
+
+    public BookSummary withAuthors(List<String> authors) {
+        return new BookSummary(id, name, publisher, publishYear, cover, status, authors);
+    }
+}
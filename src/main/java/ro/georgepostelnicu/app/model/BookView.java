@@ -0,0 +1,14 @@
+package ro.georgepostelnicu.app.model;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum BookView {
+    FULL, SUMMARY;
+
+    public static Optional<BookView> from(String view) {
+        return Arrays.stream(values())
+                .filter(bookView -> bookView.name().equalsIgnoreCase(view))
+                .findFirst();
+    }
+}
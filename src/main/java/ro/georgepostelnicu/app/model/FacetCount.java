@@ -0,0 +1,4 @@
+package ro.georgepostelnicu.app.model;
+
+public record FacetCount(String value, long count) {
+}
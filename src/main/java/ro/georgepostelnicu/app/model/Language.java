@@ -1,15 +1,19 @@
 package ro.georgepostelnicu.app.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import ro.georgepostelnicu.app.util.NameNormalizer;
 
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
 import static jakarta.persistence.GenerationType.IDENTITY;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 @Entity
 @Table(name = "language")
+@Cache(usage = READ_WRITE, region = "language")
 public class Language {
     @Id
     @GeneratedValue(strategy = IDENTITY)
@@ -17,6 +21,13 @@ public class Language {
 
     @Column(unique = true)
     private String name;
+    // Folded form of the name that uniqueness checks and lookups go through, kept in step with the name
+    @Column(unique = true)
+    private String nameKey;
+    // Number of linked books, adjusted in the database as books are linked and unlinked. Read through queries
+    // only, since a cached entity would hold a stale value
+    @Column(insertable = false, updatable = false)
+    private long bookCount;
 
     @ManyToMany(mappedBy = "languages")
     private Set<Book> books = new HashSet<>();
@@ -37,6 +48,16 @@ public class Language {
         this.name = name;
     }
 
+    public String getNameKey() {
+        return nameKey;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateNameKey() {
+        nameKey = NameNormalizer.key(name);
+    }
+
     public Set<Book> getBooks() {
         return books;
     }
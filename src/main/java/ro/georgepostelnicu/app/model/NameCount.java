@@ -0,0 +1,10 @@
+package ro.georgepostelnicu.app.model;
+
+/**
+ * Projection of a name and the number of books it is linked to.
+ */
+public interface NameCount {
+    String getName();
+
+    long getCount();
+}
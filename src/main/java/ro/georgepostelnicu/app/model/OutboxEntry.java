@@ -0,0 +1,62 @@
+package ro.georgepostelnicu.app.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+import static jakarta.persistence.GenerationType.IDENTITY;
+
+/**
+ * A book change recorded in the transaction that made it, waiting to be published. Ids are assigned at insert rather
+ * than at commit, so a transaction that commits late leaves a lower id behind higher ones that are already visible.
+ * {@code sequence} is taken from a counter the transaction keeps locked until it ends, so it follows commit order:
+ * once an entry is visible, every entry with a lower sequence is too. Entries are published and read by the change
+ * feed in sequence order.
+ */
+@Entity
+@Table(name = "outbox")
+public class OutboxEntry {
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    private Long id;
+    private Long sequence;
+    private Long bookId;
+    @Enumerated(EnumType.STRING)
+    private BookChangeType changeType;
+    private Instant createdAt;
+    private Instant publishedAt;
+
+    protected OutboxEntry() {
+    }
+
+    public OutboxEntry(Long sequence, Long bookId, BookChangeType changeType, Instant createdAt) {
+        this.sequence = sequence;
+        this.bookId = bookId;
+        this.changeType = changeType;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public BookChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+}
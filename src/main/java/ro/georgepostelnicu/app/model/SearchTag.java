@@ -0,0 +1,44 @@
+package ro.georgepostelnicu.app.model;
+
+import jakarta.persistence.Embeddable;
+
+import java.util.Objects;
+
+/**
+ * One tag linked to a {@link BookSearchEntry}. {@code tagType} is the {@link EntityName} of the tag, and rows are keyed
+ * on {@code (tag_type, tag_id, book_id)}, so a tag filter is an index range rather than a scan.
+ */
+@Embeddable
+public class SearchTag {
+    private String tagType;
+    private Long tagId;
+
+    protected SearchTag() {
+    }
+
+    public SearchTag(String tagType, Long tagId) {
+        this.tagType = tagType;
+        this.tagId = tagId;
+    }
+
+    public String getTagType() {
+        return tagType;
+    }
+
+    public Long getTagId() {
+        return tagId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SearchTag searchTag = (SearchTag) o;
+        return Objects.equals(tagType, searchTag.tagType) && Objects.equals(tagId, searchTag.tagId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tagType, tagId);
+    }
+}
@@ -0,0 +1,24 @@
+package ro.georgepostelnicu.app.model;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum SuggestType {
+    AUTHOR(EntityName.AUTHOR),
+    KEYWORD(EntityName.KEYWORD),
+    LANGUAGE(EntityName.LANGUAGE),
+    PUBLISHER("publisher"),
+    TITLE("title");
+
+    private final String type;
+
+    SuggestType(String type) {
+        this.type = type;
+    }
+
+    public static Optional<SuggestType> from(String type) {
+        return Arrays.stream(values())
+                .filter(suggestType -> suggestType.type.equalsIgnoreCase(type))
+                .findFirst();
+    }
+}
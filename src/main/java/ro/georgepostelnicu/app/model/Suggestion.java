@@ -0,0 +1,4 @@
+package ro.georgepostelnicu.app.model;
+
+public record Suggestion(String value, long weight) {
+}
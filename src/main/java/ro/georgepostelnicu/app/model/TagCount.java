@@ -0,0 +1,7 @@
+package ro.georgepostelnicu.app.model;
+
+/**
+ * An author, keyword or language with the number of books linked to it.
+ */
+public record TagCount(Long id, String name, Long bookCount) {
+}
@@ -0,0 +1,7 @@
+package ro.georgepostelnicu.app.model;
+
+/**
+ * An author, keyword or language reduced to the id and name a response shows.
+ */
+public record TagRef(Long id, String name) {
+}
@@ -0,0 +1,7 @@
+package ro.georgepostelnicu.app.model;
+
+/**
+ * An author, keyword or language row as read and written by the bulk statements. The id is null until stored.
+ */
+public record TagRow(Long id, String name, String nameKey) {
+}
@@ -1,18 +1,65 @@
 package ro.georgepostelnicu.app.repository;
 
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ro.georgepostelnicu.app.model.Author;
+import ro.georgepostelnicu.app.model.NameCount;
+import ro.georgepostelnicu.app.model.TagCount;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+import static ro.georgepostelnicu.app.config.CacheConfiguration.TAG_NAME_KEYS;
+
 @Repository
 public interface AuthorRepository extends JpaRepository<Author, Long> {
-    boolean existsByNameIgnoreCase(@NotBlank String name);
+    boolean existsByNameKey(@NotBlank String nameKey);
+
+    boolean existsByNameKeyAndIdIsNot(@NotBlank String nameKey, @NotNull long id);
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = TAG_NAME_KEYS)})
+    Optional<Author> findByNameKey(@NotBlank String nameKey);
+
+    List<Author> findFirst20ByNameLowerStartingWithOrderByNameLower(@NotBlank String prefix);
+
+    @Query("select a.name as name, a.bookCount as count from Author a")
+    List<NameCount> countBooksByName();
+
+    @Query("select a.name from Author a")
+    List<String> findAllNames();
+
+    List<Author> findByNameIn(Collection<String> names);
+
+    @Query("select new ro.georgepostelnicu.app.model.TagCount(a.id, a.name, a.bookCount) from Author a " +
+            "where a.id > :after and a.bookCount >= :minBooks order by a.id")
+    List<TagCount> findBookCounts(@Param("after") long after, @Param("minBooks") long minBooks, Pageable page);
+
+    @Query("select a.bookCount from Author a where a.id = :id")
+    long findBookCountById(@Param("id") long id);
 
-    boolean existsByNameIgnoreCaseAndIdIsNot(@NotBlank String name, @NotNull long id);
+    // Synchronized on the join table rather than author on purpose, so the cached author entities are not evicted on
+    // every book change. The author query space is never invalidated by these counts: a cacheable query reading
+    // book_count would serve stale values, so counts are only read through uncached queries
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "book_author"))
+    @Query(value = "update author set book_count = book_count + :delta where id in (:ids)", nativeQuery = true)
+    int adjustBookCounts(@Param("ids") Collection<Long> ids, @Param("delta") long delta);
 
-    Optional<Author> findByNameIgnoreCase(@NotBlank String name);
+    @Modifying
+    @Query(value = "update author a set book_count = (select count(*) from book_author b where b.author_id = a.id) " +
+            "where book_count <> (select count(*) from book_author b where b.author_id = a.id)", nativeQuery = true)
+    int reconcileBookCounts();
 }
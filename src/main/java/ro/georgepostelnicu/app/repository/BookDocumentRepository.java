@@ -0,0 +1,113 @@
+package ro.georgepostelnicu.app.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ro.georgepostelnicu.app.model.BookDocumentRow;
+import ro.georgepostelnicu.app.model.TagRef;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads one book and the ids and names of its relations in a single statement, without loading the entity or any of
+ * its lazy collections. The book row is followed by one row per author, keyword and language, each part keyed on the
+ * book id. Relations are gathered in Java rather than with {@code group_concat}, so no list is cut off at
+ * {@code group_concat_max_len}.
+ */
+@Repository
+public class BookDocumentRepository {
+    private static final int BOOK = 0;
+    private static final int AUTHOR = 1;
+    private static final int KEYWORD = 2;
+    private static final int LANGUAGE = 3;
+    private static final String SELECT_BOOK_DOCUMENT_ROWS = """
+            select %d as kind, b.id, b.name, b.full_title, b.description, b.publisher, b.isbn, b.barcode,
+                   b.cover, b.status, b.publish_year, b.pages, b.version, null as tag_id, null as tag_name
+            from book b
+            where b.id = :id
+            union all %s
+            union all %s
+            union all %s
+            order by kind, tag_name
+            """.formatted(BOOK,
+            tagRows("book_author", "author", "author_id", AUTHOR),
+            tagRows("book_keyword", "keyword", "keyword_id", KEYWORD),
+            tagRows("book_language", "language", "language_id", LANGUAGE));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BookDocumentRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<BookDocumentRow> findById(Long id) {
+        BookDocumentCollector collector = new BookDocumentCollector();
+        jdbcTemplate.query(SELECT_BOOK_DOCUMENT_ROWS, Map.of("id", id), collector);
+        return collector.document();
+    }
+
+    private static String tagRows(String linkTable, String tagTable, String tagColumn, int kind) {
+        return """
+                select %d, null, null, null, null, null, null, null, null, null, null, null, null, t.id, t.name
+                from %s l join %s t on t.id = l.%s
+                where l.book_id = :id
+                """.formatted(kind, linkTable, tagTable, tagColumn);
+    }
+
+    /**
+     * Assembles the {@link BookDocumentRow} from the book row and the relation rows of the statement.
+     */
+    private static final class BookDocumentCollector implements RowCallbackHandler {
+        private final List<TagRef> authors = new ArrayList<>();
+        private final List<TagRef> keywords = new ArrayList<>();
+        private final List<TagRef> languages = new ArrayList<>();
+        private BookDocumentRow book;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            switch (rs.getInt("kind")) {
+                case BOOK -> book = toRow(rs);
+                case AUTHOR -> authors.add(toTagRef(rs));
+                case KEYWORD -> keywords.add(toTagRef(rs));
+                default -> languages.add(toTagRef(rs));
+            }
+        }
+
+        Optional<BookDocumentRow> document() {
+            return Optional.ofNullable(book).map(row -> new BookDocumentRow(row.id(), row.name(), row.fullTitle(),
+                    row.description(), row.publisher(), row.isbn(), row.barcode(), row.cover(), row.status(),
+                    row.publishYear(), row.pages(), row.version(),
+                    List.copyOf(authors), List.copyOf(keywords), List.copyOf(languages)));
+        }
+    }
+
+    private static BookDocumentRow toRow(ResultSet rs) throws SQLException {
+        return new BookDocumentRow(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getString("full_title"),
+                rs.getString("description"),
+                rs.getString("publisher"),
+                rs.getString("isbn"),
+                rs.getString("barcode"),
+                rs.getString("cover"),
+                rs.getString("status"),
+                rs.getObject("publish_year", Integer.class),
+                rs.getObject("pages", Integer.class),
+                rs.getLong("version"),
+                List.of(),
+                List.of(),
+                List.of());
+    }
+
+    private static TagRef toTagRef(ResultSet rs) throws SQLException {
+        return new TagRef(rs.getLong("tag_id"), rs.getString("tag_name"));
+    }
+}
@@ -0,0 +1,124 @@
+package ro.georgepostelnicu.app.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import ro.georgepostelnicu.app.model.BookRow;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the whole catalogue through a forward-only cursor. Each book row is followed by one row per author, keyword
+ * and language name, and the book is handed to the consumer once all of its rows have been seen. Names are gathered
+ * in Java rather than with {@code group_concat}, so no list is cut off at {@code group_concat_max_len}, and nothing
+ * beyond the current book is kept. On MySQL the cursor only streams when the connection has
+ * {@code useCursorFetch=true}.
+ */
+@Repository
+public class BookExportRepository {
+    static final int FETCH_SIZE = 500;
+    private static final int BOOK = 0;
+    private static final int AUTHOR = 1;
+    private static final int KEYWORD = 2;
+    private static final int LANGUAGE = 3;
+    private static final String SELECT_BOOK_ROWS = """
+            select b.id as book_id, %d as kind, b.name, b.full_title, b.description, b.publisher, b.isbn, b.barcode,
+                   b.cover, b.status, b.publish_year, b.pages, b.version, null as tag_name
+            from book b
+            union all %s
+            union all %s
+            union all %s
+            order by book_id, kind, tag_name
+            """.formatted(BOOK,
+            tagRows("book_author", "author", "author_id", AUTHOR),
+            tagRows("book_keyword", "keyword", "keyword_id", KEYWORD),
+            tagRows("book_language", "language", "language_id", LANGUAGE));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BookExportRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    public void forEach(Consumer<BookRow> consumer) {
+        BookRowCollector collector = new BookRowCollector(consumer);
+        jdbcTemplate.query(SELECT_BOOK_ROWS, collector);
+        collector.flush();
+    }
+
+    private static String tagRows(String linkTable, String tagTable, String tagColumn, int kind) {
+        return """
+                select l.book_id, %d, null, null, null, null, null, null, null, null, null, null, null, t.name
+                from %s l join %s t on t.id = l.%s
+                """.formatted(kind, linkTable, tagTable, tagColumn);
+    }
+
+    /**
+     * Assembles one {@link BookRow} from the book row and the name rows that follow it.
+     */
+    private static final class BookRowCollector implements RowCallbackHandler {
+        private final Consumer<BookRow> consumer;
+        private final List<String> authors = new ArrayList<>();
+        private final List<String> keywords = new ArrayList<>();
+        private final List<String> languages = new ArrayList<>();
+        private BookRow book;
+
+        private BookRowCollector(Consumer<BookRow> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            switch (rs.getInt("kind")) {
+                case BOOK -> {
+                    flush();
+                    book = toBookRow(rs);
+                }
+                case AUTHOR -> authors.add(rs.getString("tag_name"));
+                case KEYWORD -> keywords.add(rs.getString("tag_name"));
+                default -> languages.add(rs.getString("tag_name"));
+            }
+        }
+
+        void flush() {
+            if (book == null) {
+                return;
+            }
+            consumer.accept(new BookRow(book.id(), book.name(), book.fullTitle(), book.description(),
+                    book.publisher(), book.isbn(), book.barcode(), book.cover(), book.status(),
+                    book.publishYear(), book.pages(), book.version(),
+                    List.copyOf(authors), List.copyOf(keywords), List.copyOf(languages)));
+            book = null;
+            authors.clear();
+            keywords.clear();
+            languages.clear();
+        }
+    }
+
+    private static BookRow toBookRow(ResultSet rs) throws SQLException {
+        return new BookRow(
+                rs.getLong("book_id"),
+                rs.getString("name"),
+                rs.getString("full_title"),
+                rs.getString("description"),
+                rs.getString("publisher"),
+                rs.getString("isbn"),
+                rs.getString("barcode"),
+                rs.getString("cover"),
+                rs.getString("status"),
+                rs.getObject("publish_year", Integer.class),
+                rs.getObject("pages", Integer.class),
+                rs.getLong("version"),
+                List.of(),
+                List.of(),
+                List.of());
+    }
+}
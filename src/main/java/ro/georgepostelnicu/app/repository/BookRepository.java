@@ -1,10 +1,21 @@
 package ro.georgepostelnicu.app.repository;
 
+import jakarta.persistence.LockModeType;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.BookState;
+import ro.georgepostelnicu.app.model.NameCount;
+import ro.georgepostelnicu.app.model.StatusType;
+
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
@@ -13,4 +24,25 @@ public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificat
     boolean existsByIsbnIgnoreCase(@NotBlank String isbn);
 
     boolean existsByBarcodeIgnoreCase(@NotBlank String barcode);
+
+    // A locking read, so the states are the current rows rather than the transaction's snapshot, and stay so until
+    // the status update that follows commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new ro.georgepostelnicu.app.model.BookState(b.id, b.version, b.status) " +
+            "from Book b where b.id in :ids")
+    List<BookState> findStatesForUpdateByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id in :ids and b.version = :version")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("version") Long version,
+                     @Param("status") StatusType status);
+
+    @Query("select b.publisher as name, count(b) as count from Book b " +
+            "where b.publisher is not null group by b.publisher")
+    List<NameCount> countBooksByPublisher();
+
+    @Query("select b.name from Book b")
+    List<String> findAllNames();
 }
@@ -0,0 +1,9 @@
+package ro.georgepostelnicu.app.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import ro.georgepostelnicu.app.model.BookSearchEntry;
+
+@Repository
+public interface BookSearchRepository extends JpaRepository<BookSearchEntry, Long> {
+}
@@ -1,49 +1,218 @@
 package ro.georgepostelnicu.app.repository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
+import ro.georgepostelnicu.app.model.Author;
 import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.BookFacets;
 import ro.georgepostelnicu.app.model.BookSearchCriteria;
+import ro.georgepostelnicu.app.model.BookSearchEntry;
+import ro.georgepostelnicu.app.model.BookSummary;
+import ro.georgepostelnicu.app.model.FacetCount;
+import ro.georgepostelnicu.app.model.Keyword;
+import ro.georgepostelnicu.app.model.Language;
+import ro.georgepostelnicu.app.model.SearchTag;
+import ro.georgepostelnicu.app.util.NameNormalizer;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.springframework.data.jpa.domain.Specification.allOf;
-import static ro.georgepostelnicu.app.specification.CollectionFieldSpecification.buildCollectionsSpecification;
-import static ro.georgepostelnicu.app.specification.NumericalFieldSpecification.buildNumericalSpecification;
+import static org.springframework.util.CollectionUtils.isEmpty;
+import static ro.georgepostelnicu.app.model.EntityName.AUTHOR;
+import static ro.georgepostelnicu.app.model.EntityName.KEYWORD;
+import static ro.georgepostelnicu.app.model.EntityName.LANGUAGE;
+import static ro.georgepostelnicu.app.specification.RangeFieldSpecification.buildRangeSpecification;
+import static ro.georgepostelnicu.app.specification.StringLikeFieldSpecification.buildLowerCaseSpecification;
 import static ro.georgepostelnicu.app.specification.StringLikeFieldSpecification.buildSpecification;
+import static ro.georgepostelnicu.app.util.StringUtil.WILDCARD;
+import static ro.georgepostelnicu.app.util.StringUtil.digits;
 
 @Repository
 public class BookSpecificationRepository {
+    private static final Comparator<FacetCount> MOST_FREQUENT_FIRST = Comparator
+            .comparingLong(FacetCount::count).reversed()
+            .thenComparing(FacetCount::value);
 
     private final BookRepository repository;
+    private final EntityManager entityManager;
 
     @Autowired
-    public BookSpecificationRepository(BookRepository repository) {
+    public BookSpecificationRepository(BookRepository repository, EntityManager entityManager) {
         this.repository = repository;
+        this.entityManager = entityManager;
     }
 
     public Page<Book> search(@NotNull @Valid BookSearchCriteria searchCriteria, @NotNull Pageable pageRequest) {
+        return repository.findAll(toSpecification(searchCriteria), pageRequest);
+    }
+
+    public List<Long> searchIds(@NotNull @Valid BookSearchCriteria searchCriteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(root.<Long>get("id"))
+                .distinct(true)
+                .where(toSpecification(searchCriteria).toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    public Page<BookSummary> searchSummaries(@NotNull @Valid BookSearchCriteria searchCriteria,
+                                             @NotNull Pageable pageRequest) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookSummary> query = cb.createQuery(BookSummary.class);
+        Root<Book> root = query.from(Book.class);
+        Specification<Book> specification = toSpecification(searchCriteria);
+        query.select(cb.construct(BookSummary.class, root.get("id"), root.get("name"), root.get("publisher"),
+                        root.get("publishYear"), root.get("cover"), root.get("status")))
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+
+        List<BookSummary> summaries = entityManager.createQuery(query)
+                .setFirstResult((int) pageRequest.getOffset())
+                .setMaxResults(pageRequest.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(withAuthorNames(summaries), pageRequest, () -> count(specification));
+    }
+
+    public List<BookSummary> findSummariesByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookSummary> query = cb.createQuery(BookSummary.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(cb.construct(BookSummary.class, root.get("id"), root.get("name"), root.get("publisher"),
+                        root.get("publishYear"), root.get("cover"), root.get("status")))
+                .where(root.get("id").in(ids));
+
+        return withAuthorNames(entityManager.createQuery(query).getResultList());
+    }
+
+    private List<BookSummary> withAuthorNames(List<BookSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return summaries;
+        }
+
+        List<Long> ids = summaries.stream().map(BookSummary::id).toList();
+        Map<Long, List<String>> authorNames = new HashMap<>();
+        entityManager.createQuery("""
+                        select b.id as id, a.name as name from Book b join b.authors a
+                        where b.id in :ids order by a.name""", Tuple.class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .forEach(tuple -> authorNames.computeIfAbsent(tuple.get("id", Long.class), id -> new ArrayList<>())
+                        .add(tuple.get("name", String.class)));
+
+        return summaries.stream()
+                .map(summary -> summary.withAuthors(authorNames.getOrDefault(summary.id(), List.of())))
+                .toList();
+    }
+
+    public BookFacets facets(@NotNull @Valid BookSearchCriteria searchCriteria, int limit) {
+        Specification<Book> specification = toSpecification(searchCriteria);
+        return new BookFacets(
+                facet(specification, root -> root.join("authors").get("name"), limit),
+                facet(specification, root -> root.join("keywords").get("name"), limit),
+                facet(specification, root -> root.join("languages").get("name"), limit),
+                facet(specification, root -> root.get("cover"), limit),
+                decades(specification, limit));
+    }
+
+    private List<FacetCount> facet(Specification<Book> specification, Function<Root<Book>, Expression<?>> field,
+                                   int limit) {
+        return countBy(specification, field)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(tuple -> new FacetCount(String.valueOf(tuple.get(0)), tuple.get(1, Long.class)))
+                .toList();
+    }
+
+    // Years are grouped in SQL and folded into decades here, there are only a handful of distinct years
+    private List<FacetCount> decades(Specification<Book> specification, int limit) {
+        Map<Integer, Long> counts = new HashMap<>();
+        for (Tuple tuple : countBy(specification, root -> root.get("publishYear")).getResultList()) {
+            int year = tuple.get(0, Integer.class);
+            counts.merge(year - year % 10, tuple.get(1, Long.class), Long::sum);
+        }
+
+        return counts.entrySet().stream()
+                .map(decade -> new FacetCount(String.valueOf(decade.getKey()), decade.getValue()))
+                .sorted(MOST_FREQUENT_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Counts matching books per value of one field in a single grouped query. The field gets its own join,
+     * independent of the joins the criteria add for filtering.
+     */
+    private TypedQuery<Tuple> countBy(Specification<Book> specification, Function<Root<Book>, Expression<?>> field) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> root = query.from(Book.class);
+        Expression<?> value = field.apply(root);
+        Expression<Long> count = cb.count(root);
+        query.multiselect(value, count)
+                .where(cb.isNotNull(value), specification.toPredicate(root, query, cb))
+                .groupBy(value)
+                .orderBy(cb.desc(count), cb.asc(value));
+
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Book> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(cb.count(root))
+                .where(specification.toPredicate(root, query, cb));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Specification<Book> toSpecification(BookSearchCriteria searchCriteria) {
         List<Specification<Book>> specifications = new ArrayList<>();
         specifications.add(buildNameFullTitleAndDescription(searchCriteria));
         specifications.add(buildIsbnAndBarcode(searchCriteria));
         specifications.add(buildPublisherAndCover(searchCriteria));
         specifications.add(buildPublishYear(searchCriteria));
         specifications.add(buildPages(searchCriteria));
-        specifications.add(buildAuthors(searchCriteria));
-        specifications.add(buildKeywords(searchCriteria));
-        specifications.add(buildLanguages(searchCriteria));
+        specifications.add(buildSearchEntry(searchCriteria));
 
-        return repository.findAll(allOf(specifications), pageRequest);
+        return allOf(specifications);
     }
 
     private static Specification<Book> buildNameFullTitleAndDescription(BookSearchCriteria searchCriteria) {
-        Specification<Book> name = buildSpecification(searchCriteria.name(), root -> root.get("name"));
+        Specification<Book> name = buildLowerCaseSpecification(searchCriteria.name(), root -> root.get("nameLower"));
         Specification<Book> fullTitle = buildSpecification(searchCriteria.fullTitle(), root -> root.get("fullTitle"));
         Specification<Book> description = buildSpecification(searchCriteria.description(), root -> root.get("description"));
 
@@ -51,39 +220,98 @@ public class BookSpecificationRepository {
     }
 
     private Specification<Book> buildIsbnAndBarcode(BookSearchCriteria searchCriteria) {
-        Specification<Book> isbn = buildSpecification(searchCriteria.isbn(), root -> root.get("isbn"));
+        // An ISBN matched on its digits is filtered with the search entry instead
+        String isbnValue = isbnDigits(searchCriteria.isbn()) == null ? searchCriteria.isbn() : null;
+        Specification<Book> isbn = buildSpecification(isbnValue, root -> root.get("isbn"));
         Specification<Book> fullTitle = buildSpecification(searchCriteria.barcode(), root -> root.get("barcode"));
 
         return allOf(isbn, fullTitle);
     }
 
     private static Specification<Book> buildPublisherAndCover(BookSearchCriteria searchCriteria) {
-        Specification<Book> publisherSpec = buildSpecification(searchCriteria.publisher(), root -> root.get("publisher"));
+        Specification<Book> publisherSpec = buildLowerCaseSpecification(searchCriteria.publisher(), root -> root.get("publisherLower"));
         Specification<Book> coverTypeSpec = buildSpecification(searchCriteria.coverType(), root -> root.get("cover"));
 
         return allOf(publisherSpec, coverTypeSpec);
     }
 
     private static Specification<Book> buildPublishYear(BookSearchCriteria searchCriteria) {
-        return buildNumericalSpecification(searchCriteria.minYear(), searchCriteria.maxYear(),
-                root -> root.get("publishYear"));
+        return buildRangeSpecification(searchCriteria.minYear(), searchCriteria.maxYear(),
+                root -> root.<Integer>get("publishYear"));
     }
 
     private static Specification<Book> buildPages(BookSearchCriteria searchCriteria) {
-        return buildNumericalSpecification(searchCriteria.minPages(), searchCriteria.maxPages(),
-                root -> root.get("pages"));
+        return buildRangeSpecification(searchCriteria.minPages(), searchCriteria.maxPages(),
+                root -> root.<Integer>get("pages"));
     }
 
-    private static Specification<Book> buildAuthors(BookSearchCriteria searchCriteria) {
-        return buildCollectionsSpecification(searchCriteria.authors(), root -> root.join("authors").get("name"));
+    /**
+     * Filters on the linked tags and on the ISBN digits with one subquery on {@link BookSearchEntry}, instead of a
+     * join per tag name. Names are resolved to ids by their key first; a name that matches no tag matches no book. The tag rows
+     * are keyed on {@code (tag_type, tag_id, book_id)}, so the subquery reads an index range per tag type and keeps
+     * the books that have a row for every requested tag.
+     */
+    private Specification<Book> buildSearchEntry(BookSearchCriteria searchCriteria) {
+        Map<String, List<Long>> tagIds = new LinkedHashMap<>();
+        tagIds.put(AUTHOR, tagIds(Author.class, searchCriteria.authors()));
+        tagIds.put(KEYWORD, tagIds(Keyword.class, searchCriteria.keywords()));
+        tagIds.put(LANGUAGE, tagIds(Language.class, searchCriteria.languages()));
+        if (tagIds.containsValue(null)) {
+            return (root, query, cb) -> cb.disjunction();
+        }
+        long tagCount = tagIds.values().stream().mapToLong(List::size).sum();
+        String isbnDigits = isbnDigits(searchCriteria.isbn());
+        if (tagCount == 0 && isbnDigits == null) {
+            return (root, query, cb) -> cb.conjunction();
+        }
+
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<BookSearchEntry> entry = subquery.from(BookSearchEntry.class);
+            List<Predicate> predicates = new ArrayList<>();
+            if (isbnDigits != null) {
+                predicates.add(cb.equal(entry.get("isbnDigits"), isbnDigits));
+            }
+            if (tagCount > 0) {
+                Join<BookSearchEntry, SearchTag> tag = entry.join("tags");
+                List<Predicate> tagPredicates = new ArrayList<>();
+                tagIds.forEach((tagType, ids) -> {
+                    if (!ids.isEmpty()) {
+                        tagPredicates.add(cb.and(cb.equal(tag.get("tagType"), tagType), tag.get("tagId").in(ids)));
+                    }
+                });
+                predicates.add(cb.or(tagPredicates.toArray(new Predicate[0])));
+                subquery.groupBy(entry.get("bookId")).having(cb.equal(cb.count(tag.get("tagId")), tagCount));
+            }
+            subquery.select(entry.get("bookId")).where(predicates.toArray(new Predicate[0]));
+            return root.get("id").in(subquery);
+        };
     }
 
-    private static Specification<Book> buildKeywords(BookSearchCriteria searchCriteria) {
-        return buildCollectionsSpecification(searchCriteria.keywords(), root -> root.join("keywords").get("name"));
+    /**
+     * Names that differ only in case, accents or spacing share a key, and so a tag, so they are compared as keys.
+     *
+     * @return the ids of the tags with these names, or {@code null} when one of the names matches no tag
+     */
+    private List<Long> tagIds(Class<?> tag, Collection<String> names) {
+        if (isEmpty(names)) {
+            return List.of();
+        }
+        Set<String> nameKeys = names.stream().map(NameNormalizer::key).collect(Collectors.toSet());
+        List<Long> ids = entityManager.createQuery(
+                        "select t.id from " + tag.getSimpleName() + " t where t.nameKey in :nameKeys", Long.class)
+                .setParameter("nameKeys", nameKeys)
+                .getResultList();
+        return ids.size() < nameKeys.size() ? null : ids;
     }
 
-    private static Specification<Book> buildLanguages(BookSearchCriteria searchCriteria) {
-        return buildCollectionsSpecification(searchCriteria.languages(), root -> root.join("languages").get("name"));
+    // An exact ISBN is matched on its digits, so any hyphenation or prefix finds the book
+    private static String isbnDigits(String isbn) {
+        if (isbn == null || isbn.contains(WILDCARD)) {
+            return null;
+        }
+        String digits = digits(isbn);
+        return digits.isEmpty() ? null : digits;
     }
 
 }
@@ -1,18 +1,65 @@
 package ro.georgepostelnicu.app.repository;
 
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ro.georgepostelnicu.app.model.Keyword;
+import ro.georgepostelnicu.app.model.NameCount;
+import ro.georgepostelnicu.app.model.TagCount;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+import static ro.georgepostelnicu.app.config.CacheConfiguration.TAG_NAME_KEYS;
+
 @Repository
 public interface KeywordRepository extends JpaRepository<Keyword, Long> {
-    boolean existsByNameIgnoreCase(@NotBlank String name);
+    boolean existsByNameKey(@NotBlank String nameKey);
+
+    boolean existsByNameKeyAndIdIsNot(@NotBlank String nameKey, @NotNull Long id);
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = TAG_NAME_KEYS)})
+    Optional<Keyword> findByNameKey(@NotBlank String nameKey);
+
+    List<Keyword> findFirst20ByNameLowerStartingWithOrderByNameLower(@NotBlank String prefix);
+
+    @Query("select k.name as name, k.bookCount as count from Keyword k")
+    List<NameCount> countBooksByName();
+
+    @Query("select k.name from Keyword k")
+    List<String> findAllNames();
+
+    List<Keyword> findByNameIn(Collection<String> names);
+
+    @Query("select new ro.georgepostelnicu.app.model.TagCount(k.id, k.name, k.bookCount) from Keyword k " +
+            "where k.id > :after and k.bookCount >= :minBooks order by k.id")
+    List<TagCount> findBookCounts(@Param("after") long after, @Param("minBooks") long minBooks, Pageable page);
+
+    @Query("select k.bookCount from Keyword k where k.id = :id")
+    long findBookCountById(@Param("id") long id);
 
-    boolean existsByNameIgnoreCaseAndIdIsNot(@NotBlank String name, @NotNull Long id);
+    // Synchronized on the join table rather than keyword on purpose, so the cached keyword entities are not evicted on
+    // every book change. The keyword query space is never invalidated by these counts: a cacheable query reading
+    // book_count would serve stale values, so counts are only read through uncached queries
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "book_keyword"))
+    @Query(value = "update keyword set book_count = book_count + :delta where id in (:ids)", nativeQuery = true)
+    int adjustBookCounts(@Param("ids") Collection<Long> ids, @Param("delta") long delta);
 
-    Optional<Keyword> findByNameIgnoreCase(@NotBlank String name);
+    @Modifying
+    @Query(value = "update keyword k set book_count = (select count(*) from book_keyword b where b.keyword_id = k.id) " +
+            "where book_count <> (select count(*) from book_keyword b where b.keyword_id = k.id)", nativeQuery = true)
+    int reconcileBookCounts();
 }
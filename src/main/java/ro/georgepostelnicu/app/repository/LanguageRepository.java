@@ -1,18 +1,61 @@
 package ro.georgepostelnicu.app.repository;
 
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ro.georgepostelnicu.app.model.Language;
+import ro.georgepostelnicu.app.model.NameCount;
+import ro.georgepostelnicu.app.model.TagCount;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+import static ro.georgepostelnicu.app.config.CacheConfiguration.TAG_NAME_KEYS;
+
 @Repository
 public interface LanguageRepository extends JpaRepository<Language, Long> {
-    boolean existsByNameIgnoreCase(@NotBlank String name);
+    boolean existsByNameKey(@NotBlank String nameKey);
+
+    boolean existsByNameKeyAndIdIsNot(@NotBlank String nameKey, @NotNull long id);
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = TAG_NAME_KEYS)})
+    Optional<Language> findByNameKey(@NotBlank String nameKey);
+
+    @Query("select l.name as name, l.bookCount as count from Language l")
+    List<NameCount> countBooksByName();
+
+    @Query("select l.name from Language l")
+    List<String> findAllNames();
+
+    @Query("select new ro.georgepostelnicu.app.model.TagCount(l.id, l.name, l.bookCount) from Language l " +
+            "where l.id > :after and l.bookCount >= :minBooks order by l.id")
+    List<TagCount> findBookCounts(@Param("after") long after, @Param("minBooks") long minBooks, Pageable page);
+
+    @Query("select l.bookCount from Language l where l.id = :id")
+    long findBookCountById(@Param("id") long id);
 
-    boolean existsByNameIgnoreCaseAndIdIsNot(@NotBlank String name, @NotNull long id);
+    // Synchronized on the join table rather than language on purpose, so the cached language entities are not evicted
+    // on every book change. The language query space is never invalidated by these counts: a cacheable query reading
+    // book_count would serve stale values, so counts are only read through uncached queries
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "book_language"))
+    @Query(value = "update language set book_count = book_count + :delta where id in (:ids)", nativeQuery = true)
+    int adjustBookCounts(@Param("ids") Collection<Long> ids, @Param("delta") long delta);
 
-    Optional<Language> findByNameIgnoreCase(@NotBlank String name);
+    @Modifying
+    @Query(value = "update language l set book_count = (select count(*) from book_language b where b.language_id = l.id) " +
+            "where book_count <> (select count(*) from book_language b where b.language_id = l.id)", nativeQuery = true)
+    int reconcileBookCounts();
 }
@@ -0,0 +1,60 @@
+package ro.georgepostelnicu.app.repository;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ro.georgepostelnicu.app.model.OutboxEntry;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEntry, Long> {
+    List<OutboxEntry> findByPublishedAtIsNullOrderBySequence(Pageable page);
+
+    List<OutboxEntry> findBySequenceGreaterThanOrderBySequence(long sequence, Pageable page);
+
+    @Modifying
+    @Query("update OutboxEntry o set o.publishedAt = :publishedAt where o.sequence in :sequences")
+    int markPublished(@Param("sequences") Collection<Long> sequences, @Param("publishedAt") Instant publishedAt);
+
+    @Query("select max(o.sequence) from OutboxEntry o where o.createdAt < :before")
+    Long findLastSequenceCreatedBefore(@Param("before") Instant before);
+
+    @Query("select min(o.sequence) from OutboxEntry o where o.publishedAt is null")
+    Long findFirstUnpublishedSequence();
+
+    @Modifying
+    @Query("delete from OutboxEntry o where o.sequence <= :sequence and o.publishedAt is not null")
+    int deletePublishedThrough(@Param("sequence") long sequence);
+
+    /**
+     * Moves the commit sequence on by {@code count}. The counter row stays locked until the calling transaction ends,
+     * so transactions that record changes take their sequences in the order they commit.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "outbox_state"))
+    @Query(value = "update outbox_state set last_sequence = last_sequence + :count where id = 1", nativeQuery = true)
+    int advanceSequence(@Param("count") int count);
+
+    @Query(value = "select last_sequence from outbox_state where id = 1", nativeQuery = true)
+    long findLastSequence();
+
+    // The last sequence of the changes deleted by the retention purge, so the change feed can reject older tokens
+    @Query(value = "select purged_through from outbox_state where id = 1", nativeQuery = true)
+    long findPurgedThrough();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "outbox_state"))
+    @Query(value = "update outbox_state set purged_through = :sequence where id = 1 and purged_through < :sequence",
+            nativeQuery = true)
+    int updatePurgedThrough(@Param("sequence") long sequence);
+}
@@ -0,0 +1,86 @@
+package ro.georgepostelnicu.app.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ro.georgepostelnicu.app.model.TagRow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.transaction.annotation.Isolation.READ_COMMITTED;
+import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
+import static ro.georgepostelnicu.app.config.CacheConfiguration.TAG_NAME_KEYS;
+
+/**
+ * Set-based reads and writes of authors, keywords and languages for bulk requests. The table is one of the
+ * {@link ro.georgepostelnicu.app.model.EntityName} values, which match the table names.
+ */
+@Repository
+public class TagBulkRepository {
+    // Keeps IN lists and their bind parameters at a size every driver handles
+    static final int IN_CHUNK_SIZE = 1000;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public TagBulkRepository(NamedParameterJdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public List<TagRow> findByNameKeys(String table, List<String> nameKeys) {
+        return query("select id, name, name_key from " + table + " where name_key in (:nameKeys)", nameKeys);
+    }
+
+    /**
+     * Reads the keys in a transaction of its own, so it sees rows other transactions committed after the snapshot of
+     * the calling one.
+     */
+    @Transactional(propagation = REQUIRES_NEW, isolation = READ_COMMITTED, readOnly = true)
+    public List<TagRow> findCommittedByNameKeys(String table, List<String> nameKeys) {
+        return findByNameKeys(table, nameKeys);
+    }
+
+    private List<TagRow> query(String sql, List<String> nameKeys) {
+        List<TagRow> rows = new ArrayList<>();
+        for (int from = 0; from < nameKeys.size(); from += IN_CHUNK_SIZE) {
+            List<String> chunk = nameKeys.subList(from, Math.min(from + IN_CHUNK_SIZE, nameKeys.size()));
+            rows.addAll(jdbcTemplate.query(sql, Map.of("nameKeys", chunk),
+                    (rs, rowNum) -> new TagRow(rs.getLong("id"), rs.getString("name"), rs.getString("name_key"))));
+        }
+        return rows;
+    }
+
+    /**
+     * Inserts the rows as one JDBC batch, skipping those whose key was stored in the meantime. The batch is rewritten
+     * into multi-row inserts, so the driver reports no update count per row and the caller has to read the rows back.
+     * Must run in a transaction.
+     * <p>
+     * Only a duplicate key is skipped, through a no-op update of the existing row. {@code insert ignore} would also
+     * turn an over-long name or a missing value into a warning and store a truncated or defaulted row.
+     */
+    public void insertIgnoringDuplicates(String table, List<TagRow> rows) {
+        List<Object[]> arguments = new ArrayList<>(rows.size());
+        for (TagRow row : rows) {
+            arguments.add(new Object[]{row.name(), row.nameKey()});
+        }
+        jdbcTemplate.getJdbcOperations()
+                .batchUpdate("insert into " + table + " (name, name_key) values (?, ?) on duplicate key update id = id",
+                        arguments);
+        // Hibernate does not see these inserts, so cached lookups that found no tag for a key would stay empty.
+        // Evicting before the commit would let a lookup in between cache the absence again
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegion(TAG_NAME_KEYS);
+            }
+        });
+    }
+}
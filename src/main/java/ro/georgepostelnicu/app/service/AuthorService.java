@@ -1,31 +1,58 @@
 package ro.georgepostelnicu.app.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ro.georgepostelnicu.app.dto.TagUpsertResponseDto;
 import ro.georgepostelnicu.app.dto.author.AuthorDto;
 import ro.georgepostelnicu.app.dto.author.AuthorsDto;
+import ro.georgepostelnicu.app.event.TagChangedEvent;
 import ro.georgepostelnicu.app.exception.EntityAlreadyExistException;
 import ro.georgepostelnicu.app.exception.EntityAlreadyLinkedException;
 import ro.georgepostelnicu.app.exception.EntityNotFoundException;
 import ro.georgepostelnicu.app.mapper.LibraryMapper;
 import ro.georgepostelnicu.app.model.Author;
+import ro.georgepostelnicu.app.model.TagCount;
 import ro.georgepostelnicu.app.repository.AuthorRepository;
+import ro.georgepostelnicu.app.util.NameNormalizer;
 import ro.georgepostelnicu.app.util.StringUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import static org.springframework.transaction.annotation.Isolation.REPEATABLE_READ;
+import static ro.georgepostelnicu.app.config.CacheConfiguration.BOOK_DOCUMENTS;
+import static ro.georgepostelnicu.app.config.CacheConfiguration.BOOK_FACETS;
 import static ro.georgepostelnicu.app.model.EntityName.AUTHOR;
 import static ro.georgepostelnicu.app.util.StringUtil.splitCapitalizeAndJoin;
 
 @Service
 public class AuthorService {
+    public static final int SEARCH_LIMIT = 20;
     private final AuthorRepository repository;
+    private final FuzzySearchService fuzzySearchService;
+    private final TagUpsertService tagUpsertService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LibraryMapper mapper;
 
     @Autowired
-    public AuthorService(AuthorRepository repository) {
+    public AuthorService(AuthorRepository repository, FuzzySearchService fuzzySearchService,
+                         TagUpsertService tagUpsertService, ApplicationEventPublisher eventPublisher,
+                         LibraryMapper mapper) {
         this.repository = repository;
+        this.fuzzySearchService = fuzzySearchService;
+        this.tagUpsertService = tagUpsertService;
+        this.eventPublisher = eventPublisher;
+        this.mapper = mapper;
     }
 
     @Transactional
@@ -37,20 +64,28 @@ public class AuthorService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(isolation = REPEATABLE_READ)
+    public List<TagUpsertResponseDto> upsertBulk(AuthorsDto request) {
+        return tagUpsertService.upsert(AUTHOR, request.getAuthors());
+    }
+
     @Transactional
     public Author create(AuthorDto authorDto) {
-        Author author = LibraryMapper.INSTANCE.toAuthor(authorDto);
+        Author author = mapper.toAuthor(authorDto);
 
-        if (repository.existsByNameIgnoreCase(authorDto.getName())) {
+        if (repository.existsByNameKey(NameNormalizer.key(authorDto.getName()))) {
             throw new EntityAlreadyExistException(AUTHOR, splitCapitalizeAndJoin(authorDto.getName()));
         }
 
-        return repository.save(author);
+        Author saved = repository.save(author);
+        eventPublisher.publishEvent(new TagChangedEvent(AUTHOR, null, saved.getName()));
+
+        return saved;
     }
 
     @Transactional
     public Author createIfNotExisting(AuthorDto authorDto) {
-        return repository.findByNameIgnoreCase(authorDto.getName())
+        return repository.findByNameKey(NameNormalizer.key(authorDto.getName()))
                 .orElseGet(() -> create(authorDto));
     }
 
@@ -60,18 +95,49 @@ public class AuthorService {
                 .orElseThrow(() -> new EntityNotFoundException(AUTHOR, id));
     }
 
+    @Transactional(readOnly = true)
+    public List<Author> searchByPrefix(String prefix) {
+        return repository.findFirst20ByNameLowerStartingWithOrderByNameLower(prefix.toLowerCase(Locale.ROOT));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Author> searchSimilar(String term) {
+        List<String> names = fuzzySearchService.search(AUTHOR, term, SEARCH_LIMIT);
+        List<Author> authors = new ArrayList<>(repository.findByNameIn(names));
+        Map<String, Integer> positions = StringUtil.positions(names);
+        authors.sort(Comparator.comparingInt(author -> positions.getOrDefault(author.getName(), names.size())));
+        return authors;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TagCount> listBookCounts(long after, long minBooks, int size) {
+        return repository.findBookCounts(after, minBooks, PageRequest.of(0, size));
+    }
+
+    @Transactional
+    public void adjustBookCounts(Collection<Long> ids, long delta) {
+        if (!ids.isEmpty()) {
+            repository.adjustBookCounts(ids, delta);
+        }
+    }
+
+    @Caching(evict = {@CacheEvict(cacheNames = BOOK_FACETS, allEntries = true),
+            @CacheEvict(cacheNames = BOOK_DOCUMENTS, allEntries = true)})
     @Transactional
     public Author update(Long id, AuthorDto authorDto) {
         Author author = repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(AUTHOR, id));
 
-        if (repository.existsByNameIgnoreCaseAndIdIsNot(authorDto.getName(), id)) {
+        if (repository.existsByNameKeyAndIdIsNot(NameNormalizer.key(authorDto.getName()), id)) {
             throw new EntityAlreadyExistException(AUTHOR, splitCapitalizeAndJoin(authorDto.getName()));
         }
 
-        LibraryMapper.INSTANCE.updateAuthorFromDto(authorDto, author);
+        String oldName = author.getName();
+        mapper.updateAuthorFromDto(authorDto, author);
+        Author saved = repository.save(author);
+        eventPublisher.publishEvent(new TagChangedEvent(AUTHOR, oldName, saved.getName()));
 
-        return repository.save(author);
+        return saved;
     }
 
     @Transactional
@@ -79,8 +145,9 @@ public class AuthorService {
         Author author = repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(AUTHOR, id));
 
-        if (author.getBooks().isEmpty()) {
+        if (repository.findBookCountById(id) == 0) {
             repository.delete(author);
+            eventPublisher.publishEvent(new TagChangedEvent(AUTHOR, author.getName(), null));
         } else {
             throw new EntityAlreadyLinkedException(AUTHOR, author.getName());
         }
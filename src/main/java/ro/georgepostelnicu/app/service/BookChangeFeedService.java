@@ -0,0 +1,82 @@
+package ro.georgepostelnicu.app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ro.georgepostelnicu.app.exception.SyncTokenExpiredException;
+import ro.georgepostelnicu.app.model.BookFeedEntry;
+import ro.georgepostelnicu.app.model.BookFeedPage;
+import ro.georgepostelnicu.app.model.BookSummary;
+import ro.georgepostelnicu.app.model.OutboxEntry;
+import ro.georgepostelnicu.app.repository.BookSpecificationRepository;
+import ro.georgepostelnicu.app.repository.OutboxRepository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static ro.georgepostelnicu.app.model.BookChangeType.DELETED;
+
+/**
+ * Incremental sync over the outbox. The sync token is the commit sequence of the last outbox entry a client has seen,
+ * so a client only downloads the books changed after it, each once in its latest form. A change that commits later
+ * always gets a higher sequence, so it cannot land behind a token already handed out.
+ */
+@Service
+public class BookChangeFeedService {
+    private final OutboxRepository outboxRepository;
+    private final BookSpecificationRepository bookRepository;
+
+    @Autowired
+    public BookChangeFeedService(OutboxRepository outboxRepository, BookSpecificationRepository bookRepository) {
+        this.outboxRepository = outboxRepository;
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Reads up to {@code limit} changes after {@code since}. Books changed more than once appear once, at their
+     * latest change.
+     *
+     * @throws SyncTokenExpiredException when changes after {@code since} were already purged from the outbox
+     */
+    @Transactional(readOnly = true)
+    public BookFeedPage changesSince(long since, int limit) {
+        long purgedThrough = outboxRepository.findPurgedThrough();
+        if (since < purgedThrough) {
+            throw new SyncTokenExpiredException(since, purgedThrough);
+        }
+        List<OutboxEntry> changes = outboxRepository.findBySequenceGreaterThanOrderBySequence(since,
+                PageRequest.of(0, limit));
+        if (changes.isEmpty()) {
+            return new BookFeedPage(List.of(), since);
+        }
+
+        Map<Long, OutboxEntry> latest = new LinkedHashMap<>();
+        for (OutboxEntry change : changes) {
+            // Re-inserting moves the book behind the changes that came before its latest one
+            latest.remove(change.getBookId());
+            latest.put(change.getBookId(), change);
+        }
+        Map<Long, BookSummary> summaries = bookRepository.findSummariesByIdIn(latest.values().stream()
+                        .filter(change -> change.getChangeType() != DELETED)
+                        .map(OutboxEntry::getBookId)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(BookSummary::id, Function.identity()));
+
+        List<BookFeedEntry> entries = latest.values().stream()
+                .map(change -> toEntry(change, summaries.get(change.getBookId())))
+                .toList();
+        return new BookFeedPage(entries, changes.getLast().getSequence());
+    }
+
+    private static BookFeedEntry toEntry(OutboxEntry change, BookSummary summary) {
+        // A book deleted by a change that is not on this page yet is already gone
+        return summary == null
+                ? new BookFeedEntry(change.getSequence(), change.getBookId(), DELETED, null)
+                : new BookFeedEntry(change.getSequence(), change.getBookId(), change.getChangeType(), summary);
+    }
+}
@@ -0,0 +1,42 @@
+package ro.georgepostelnicu.app.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ro.georgepostelnicu.app.repository.AuthorRepository;
+import ro.georgepostelnicu.app.repository.KeywordRepository;
+import ro.georgepostelnicu.app.repository.LanguageRepository;
+
+/**
+ * Recounts the books linked to every author, keyword and language and repairs the counters that drifted from the
+ * join tables, for example after links were changed outside {@link BookService}.
+ */
+@Service
+public class BookCountReconciler {
+    private static final Logger log = LoggerFactory.getLogger(BookCountReconciler.class);
+    private final AuthorRepository authorRepository;
+    private final KeywordRepository keywordRepository;
+    private final LanguageRepository languageRepository;
+
+    @Autowired
+    public BookCountReconciler(AuthorRepository authorRepository, KeywordRepository keywordRepository,
+                               LanguageRepository languageRepository) {
+        this.authorRepository = authorRepository;
+        this.keywordRepository = keywordRepository;
+        this.languageRepository = languageRepository;
+    }
+
+    @Scheduled(cron = "${app.book-counts.reconcile-cron}")
+    @Transactional
+    public int reconcile() {
+        int repaired = authorRepository.reconcileBookCounts() + keywordRepository.reconcileBookCounts()
+                + languageRepository.reconcileBookCounts();
+        if (repaired > 0) {
+            log.warn("Repaired {} drifted book counters", repaired);
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,50 @@
+package ro.georgepostelnicu.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import ro.georgepostelnicu.app.dto.book.BookResponseDto;
+import ro.georgepostelnicu.app.exception.EntityNotFoundException;
+import ro.georgepostelnicu.app.mapper.BookRowMapper;
+import ro.georgepostelnicu.app.repository.BookDocumentRepository;
+
+import java.io.UncheckedIOException;
+
+import static ro.georgepostelnicu.app.config.CacheConfiguration.BOOK_DOCUMENTS;
+import static ro.georgepostelnicu.app.model.EntityName.BOOK;
+
+/**
+ * Serves a book as its rendered JSON document. Documents are cached per book id, so a book that is read often is
+ * loaded, mapped and serialized once until a change to it, its tags or its status evicts it. A miss reads the book and
+ * its relations in one statement, a row per relation, rather than the entity and its collections. See
+ * {@link ro.georgepostelnicu.app.config.CacheConfiguration} for how long a read racing a change can keep the old
+ * document.
+ */
+@Service
+public class BookDocumentService {
+    private final BookDocumentRepository repository;
+    private final BookRowMapper mapper;
+    private final ObjectWriter documentWriter;
+
+    @Autowired
+    public BookDocumentService(BookDocumentRepository repository, BookRowMapper mapper, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.documentWriter = objectMapper.writerFor(BookResponseDto.class);
+    }
+
+    @Cacheable(cacheNames = BOOK_DOCUMENTS)
+    public byte[] read(Long id) {
+        BookResponseDto responseDto = repository.findById(id)
+                .map(mapper::toBookResponseDto)
+                .orElseThrow(() -> new EntityNotFoundException(BOOK, id));
+        try {
+            return documentWriter.writeValueAsBytes(responseDto);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
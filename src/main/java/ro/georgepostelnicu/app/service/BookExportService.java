@@ -0,0 +1,111 @@
+package ro.georgepostelnicu.app.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import ro.georgepostelnicu.app.model.BookRow;
+import ro.georgepostelnicu.app.model.ExportFormat;
+import ro.georgepostelnicu.app.repository.BookExportRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.databind.SerializationFeature.FLUSH_AFTER_WRITE_VALUE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static ro.georgepostelnicu.app.util.StringUtil.escapeCsv;
+
+@Service
+public class BookExportService {
+    static final String CSV_HEADER = "id,name,full_title,description,publisher,isbn,barcode,cover,status," +
+            "publish_year,pages,version,authors,keywords,languages";
+    private static final String LINE_SEPARATOR = "\n";
+    private static final String CSV_DELIMITER = ",";
+    private static final String CSV_LIST_DELIMITER = "|";
+
+    private final BookExportRepository repository;
+    private final ObjectWriter rowWriter;
+
+    @Autowired
+    public BookExportService(BookExportRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.rowWriter = objectMapper.writerFor(BookRow.class)
+                .without(FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator((String) null);
+    }
+
+    public void export(ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8));
+        try {
+            if (format == ExportFormat.CSV) {
+                writeCsv(writer);
+            } else {
+                writeNdjson(writer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Writer writer) throws IOException {
+        JsonGenerator generator = rowWriter.createGenerator(writer);
+        repository.forEach(row -> unchecked(() -> {
+            rowWriter.writeValue(generator, row);
+            generator.writeRaw(LINE_SEPARATOR);
+        }));
+        generator.flush();
+    }
+
+    private void writeCsv(Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write(LINE_SEPARATOR);
+        repository.forEach(row -> unchecked(() -> {
+            writer.write(toCsvLine(row));
+            writer.write(LINE_SEPARATOR);
+        }));
+    }
+
+    private static String toCsvLine(BookRow row) {
+        return String.join(CSV_DELIMITER,
+                Objects.toString(row.id()),
+                escapeCsv(row.name()),
+                escapeCsv(row.fullTitle()),
+                escapeCsv(row.description()),
+                escapeCsv(row.publisher()),
+                escapeCsv(row.isbn()),
+                escapeCsv(row.barcode()),
+                escapeCsv(row.cover()),
+                escapeCsv(row.status()),
+                Objects.toString(row.publishYear(), ""),
+                Objects.toString(row.pages(), ""),
+                Objects.toString(row.version()),
+                escapeCsv(join(row.authors())),
+                escapeCsv(join(row.keywords())),
+                escapeCsv(join(row.languages())));
+    }
+
+    private static String join(List<String> names) {
+        return String.join(CSV_LIST_DELIMITER, names);
+    }
+
+    private static void unchecked(IoAction action) {
+        try {
+            action.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
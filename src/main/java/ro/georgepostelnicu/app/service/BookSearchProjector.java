@@ -0,0 +1,46 @@
+package ro.georgepostelnicu.app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.BookSearchEntry;
+import ro.georgepostelnicu.app.model.SearchTag;
+import ro.georgepostelnicu.app.repository.BookSearchRepository;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.springframework.transaction.annotation.Propagation.MANDATORY;
+import static ro.georgepostelnicu.app.model.EntityName.AUTHOR;
+import static ro.georgepostelnicu.app.model.EntityName.KEYWORD;
+import static ro.georgepostelnicu.app.model.EntityName.LANGUAGE;
+import static ro.georgepostelnicu.app.util.StringUtil.digits;
+
+/**
+ * Keeps the {@code book_search} read model in step with the books. {@link BookService} calls it in the transaction
+ * that changes the book, so searches never see a projection that disagrees with a committed book.
+ */
+@Service
+public class BookSearchProjector {
+    private final BookSearchRepository repository;
+
+    @Autowired
+    public BookSearchProjector(BookSearchRepository repository) {
+        this.repository = repository;
+    }
+
+    @Transactional(propagation = MANDATORY)
+    public void project(Book book) {
+        Set<SearchTag> tags = new HashSet<>();
+        book.getAuthors().forEach(author -> tags.add(new SearchTag(AUTHOR, author.getId())));
+        book.getKeywords().forEach(keyword -> tags.add(new SearchTag(KEYWORD, keyword.getId())));
+        book.getLanguages().forEach(language -> tags.add(new SearchTag(LANGUAGE, language.getId())));
+        repository.save(new BookSearchEntry(book.getId(), digits(book.getIsbn()), tags));
+    }
+
+    @Transactional(propagation = MANDATORY)
+    public void remove(Long bookId) {
+        repository.deleteById(bookId);
+    }
+}
@@ -1,26 +1,47 @@
 package ro.georgepostelnicu.app.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ro.georgepostelnicu.app.dto.PageResponseDto;
+import ro.georgepostelnicu.app.mapper.BookMapper;
 import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.BookFacets;
 import ro.georgepostelnicu.app.model.BookSearchCriteria;
+import ro.georgepostelnicu.app.model.BookSummary;
+import ro.georgepostelnicu.app.model.BookView;
 import ro.georgepostelnicu.app.repository.BookSpecificationRepository;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static com.fasterxml.jackson.core.JsonGenerator.Feature.AUTO_CLOSE_TARGET;
+import static com.fasterxml.jackson.databind.SerializationFeature.FLUSH_AFTER_WRITE_VALUE;
 import static org.springframework.transaction.annotation.Propagation.REQUIRED;
+import static ro.georgepostelnicu.app.config.CacheConfiguration.BOOK_FACETS;
 
 @Service
 public class BookSearchService {
 
     private final BookSpecificationRepository repository;
+    private final ObjectWriter elementWriter;
+    private final BookMapper mapper;
 
     @Autowired
-    public BookSearchService(BookSpecificationRepository repository) {
+    public BookSearchService(BookSpecificationRepository repository, ObjectMapper objectMapper, BookMapper mapper) {
         this.repository = repository;
+        this.elementWriter = objectMapper.writer()
+                .without(FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator((String) null);
+        this.mapper = mapper;
     }
 
     @Transactional(propagation = REQUIRED, readOnly = true)
@@ -28,4 +49,51 @@ public class BookSearchService {
         return repository.search(searchCriteria, pageRequest);
     }
 
+    @Transactional(propagation = REQUIRED, readOnly = true)
+    public Page<BookSummary> searchSummaries(@NotNull @Valid BookSearchCriteria searchCriteria,
+                                             @NotNull Pageable pageRequest) {
+        return repository.searchSummaries(searchCriteria, pageRequest);
+    }
+
+    /**
+     * Loads one page of matching books and maps it to response DTOs for the view. Runs before the response is
+     * committed, so a failing query still answers with an error status rather than a truncated body.
+     */
+    @Transactional(propagation = REQUIRED, readOnly = true)
+    public Page<?> searchPage(@NotNull @Valid BookSearchCriteria searchCriteria, @NotNull Pageable pageRequest,
+                              @NotNull BookView view) {
+        if (view == BookView.SUMMARY) {
+            return repository.searchSummaries(searchCriteria, pageRequest).map(mapper::toBookSummaryDto);
+        }
+        return repository.search(searchCriteria, pageRequest).map(mapper::toBookResponseDto);
+    }
+
+    /**
+     * Writes a page from {@link #searchPage} as a {@link PageResponseDto}. Each element is serialized on its own,
+     * straight to the stream, so the body is never held in memory as a whole.
+     */
+    public void writePage(@NotNull Page<?> page, OutputStream out) throws IOException {
+        JsonGenerator generator = elementWriter.createGenerator(out).disable(AUTO_CLOSE_TARGET);
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("content");
+        for (Object element : page) {
+            elementWriter.writeValue(generator, element);
+        }
+        generator.writeEndArray();
+        if (page.hasNext()) {
+            generator.writeNumberField("next", page.getNumber() + 1);
+        } else {
+            generator.writeNullField("next");
+        }
+        generator.writeNumberField("total", page.getTotalElements());
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    @Cacheable(cacheNames = BOOK_FACETS)
+    @Transactional(propagation = REQUIRED, readOnly = true)
+    public BookFacets facets(@NotNull @Valid BookSearchCriteria searchCriteria, int limit) {
+        return repository.facets(searchCriteria, limit);
+    }
+
 }
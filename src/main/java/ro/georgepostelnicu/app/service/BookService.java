@@ -1,28 +1,51 @@
 package ro.georgepostelnicu.app.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ro.georgepostelnicu.app.dto.author.AuthorDto;
 import ro.georgepostelnicu.app.dto.book.BookDto;
+import ro.georgepostelnicu.app.dto.book.BookStatusResponseDto;
+import ro.georgepostelnicu.app.dto.book.BookStatusesDto;
+import ro.georgepostelnicu.app.dto.book.BookVersionDto;
 import ro.georgepostelnicu.app.dto.keyword.KeywordDto;
 import ro.georgepostelnicu.app.dto.language.LanguageDto;
+import ro.georgepostelnicu.app.event.BookChangedEvent;
+import ro.georgepostelnicu.app.event.BookSnapshot;
 import ro.georgepostelnicu.app.exception.EntityAlreadyExistException;
 import ro.georgepostelnicu.app.exception.EntityNotFoundException;
 import ro.georgepostelnicu.app.exception.EntityValidationException;
 import ro.georgepostelnicu.app.mapper.BookMapper;
 import ro.georgepostelnicu.app.model.Author;
 import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.BookChangeType;
+import ro.georgepostelnicu.app.model.BookState;
 import ro.georgepostelnicu.app.model.Keyword;
 import ro.georgepostelnicu.app.model.Language;
+import ro.georgepostelnicu.app.model.StatusType;
 import ro.georgepostelnicu.app.repository.BookRepository;
+import ro.georgepostelnicu.app.repository.BookSpecificationRepository;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.springframework.transaction.annotation.Propagation.REQUIRED;
+import static org.springframework.util.CollectionUtils.isEmpty;
+import static ro.georgepostelnicu.app.config.CacheConfiguration.BOOK_DOCUMENTS;
+import static ro.georgepostelnicu.app.config.CacheConfiguration.BOOK_FACETS;
+import static ro.georgepostelnicu.app.dto.book.StatusUpdateOutcome.*;
 import static ro.georgepostelnicu.app.model.EntityName.BOOK;
 
 @Service
@@ -30,25 +53,40 @@ public class BookService {
     public static final String NAME_IS_NOT_INCLUDED_IN_FULL_TITLE = "Name is not included in full title!";
     public static final String NAME_IS_REQUIRED = "Name is required!";
     private final BookRepository repository;
+    private final BookSpecificationRepository specificationRepository;
     private final IsbnService isbnService;
     private final AuthorService authorService;
     private final KeywordService keywordService;
     private final LanguageService languageService;
+    private final OutboxService outboxService;
+    private final BookSearchProjector searchProjector;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookMapper mapper;
+    private final CacheManager cacheManager;
 
     @Autowired
-    public BookService(BookRepository repository, IsbnService isbnService,
-                       AuthorService authorService, KeywordService keywordService,
-                       LanguageService languageService) {
+    public BookService(BookRepository repository, BookSpecificationRepository specificationRepository,
+                       IsbnService isbnService, AuthorService authorService, KeywordService keywordService,
+                       LanguageService languageService, OutboxService outboxService,
+                       BookSearchProjector searchProjector, ApplicationEventPublisher eventPublisher,
+                       BookMapper mapper, CacheManager cacheManager) {
         this.repository = repository;
+        this.specificationRepository = specificationRepository;
         this.isbnService = isbnService;
         this.authorService = authorService;
         this.keywordService = keywordService;
         this.languageService = languageService;
+        this.outboxService = outboxService;
+        this.searchProjector = searchProjector;
+        this.eventPublisher = eventPublisher;
+        this.mapper = mapper;
+        this.cacheManager = cacheManager;
     }
 
+    @CacheEvict(cacheNames = BOOK_FACETS, allEntries = true)
     @Transactional(propagation = REQUIRED)
     public Book create(BookDto bookDto) {
-        Book book = BookMapper.INSTANCE.toBook(bookDto);
+        Book book = mapper.toBook(bookDto);
         if (repository.existsByNameIgnoreCase(book.getName())) {
             throw new EntityAlreadyExistException(BOOK, book.getName());
         }
@@ -65,7 +103,13 @@ public class BookService {
         saveKeywords(bookDto.getKeywords(), book);
         saveLanguages(bookDto.getLanguages(), book);
 
-        return repository.save(book);
+        Book saved = repository.save(book);
+        adjustBookCounts(LinkedTags.NONE, LinkedTags.of(saved));
+        searchProjector.project(saved);
+        outboxService.record(BookChangeType.CREATED, List.of(saved.getId()));
+        eventPublisher.publishEvent(new BookChangedEvent(null, BookSnapshot.of(saved)));
+
+        return saved;
     }
 
     @Transactional(readOnly = true, propagation = REQUIRED)
@@ -74,6 +118,8 @@ public class BookService {
                 .orElseThrow(() -> new EntityNotFoundException(BOOK, id));
     }
 
+    @Caching(evict = {@CacheEvict(cacheNames = BOOK_FACETS, allEntries = true),
+            @CacheEvict(cacheNames = BOOK_DOCUMENTS, key = "#id")})
     @Transactional(propagation = REQUIRED)
     public Book update(Long id, BookDto updatedDto) {
         Book existingBook = read(id);
@@ -98,7 +144,9 @@ public class BookService {
         }
         validateNameIsContainedInFullTitle(updatedDto.getName(), updatedDto.getFullTitle());
         isbnService.isValid(updatedDto.getIsbn());
-        BookMapper.INSTANCE.updateBookFromDto(updatedDto, existingBook);
+        BookSnapshot before = BookSnapshot.of(existingBook);
+        LinkedTags linkedBefore = LinkedTags.of(existingBook);
+        mapper.updateBookFromDto(updatedDto, existingBook);
 
         removeAuthors(updatedDto.getAuthors(), existingBook);
         saveAuthors(updatedDto.getAuthors(), existingBook);
@@ -109,17 +157,114 @@ public class BookService {
         removeLanguages(updatedDto.getLanguages(), existingBook);
         saveLanguages(updatedDto.getLanguages(), existingBook);
 
-        return repository.save(existingBook);
+        Book saved = repository.save(existingBook);
+        adjustBookCounts(linkedBefore, LinkedTags.of(saved));
+        searchProjector.project(saved);
+        outboxService.record(BookChangeType.UPDATED, List.of(saved.getId()));
+        eventPublisher.publishEvent(new BookChangedEvent(before, BookSnapshot.of(saved)));
+
+        return saved;
     }
 
+    @Caching(evict = {@CacheEvict(cacheNames = BOOK_FACETS, allEntries = true),
+            @CacheEvict(cacheNames = BOOK_DOCUMENTS, key = "#id")})
     @Transactional(propagation = REQUIRED)
     public void delete(Long id) {
         Book book = read(id);
+        BookSnapshot before = BookSnapshot.of(book);
+        adjustBookCounts(LinkedTags.of(book), LinkedTags.NONE);
 
         removeAllAuthors(book);
         removeAllKeywords(book);
         removeAllLanguages(book);
+        searchProjector.remove(id);
         repository.delete(book);
+        outboxService.record(BookChangeType.DELETED, List.of(id));
+        eventPublisher.publishEvent(new BookChangedEvent(before, null));
+    }
+
+    @Transactional(propagation = REQUIRED)
+    public List<BookStatusResponseDto> updateStatus(BookStatusesDto statusesDto) {
+        Map<Long, Long> expectedVersions = new LinkedHashMap<>();
+        if (!isEmpty(statusesDto.getBooks())) {
+            for (BookVersionDto book : statusesDto.getBooks()) {
+                expectedVersions.put(book.getId(), book.getVersion());
+            }
+        } else if (statusesDto.getCriteria() != null) {
+            for (Long id : specificationRepository.searchIds(statusesDto.getCriteria())) {
+                expectedVersions.put(id, null);
+            }
+        }
+        if (expectedVersions.isEmpty()) {
+            return List.of();
+        }
+
+        return applyStatus(expectedVersions, statusesDto.getStatus());
+    }
+
+    private List<BookStatusResponseDto> applyStatus(Map<Long, Long> expectedVersions, StatusType status) {
+        Map<Long, BookState> states = new HashMap<>();
+        for (BookState state : repository.findStatesForUpdateByIdIn(expectedVersions.keySet())) {
+            states.put(state.id(), state);
+        }
+
+        Map<Long, BookStatusResponseDto> outcomes = new LinkedHashMap<>();
+        // Books are updated in one statement per version they were read with, so the version check stays set-based
+        Map<Long, List<Long>> idsByVersion = new HashMap<>();
+        for (Map.Entry<Long, Long> expected : expectedVersions.entrySet()) {
+            Long id = expected.getKey();
+            BookState state = states.get(id);
+            if (state == null) {
+                outcomes.put(id, new BookStatusResponseDto(id, null, NOT_FOUND));
+            } else if (expected.getValue() != null && !expected.getValue().equals(state.version())) {
+                outcomes.put(id, new BookStatusResponseDto(id, state.version(), VERSION_CONFLICT));
+            } else if (state.status() == status) {
+                outcomes.put(id, new BookStatusResponseDto(id, state.version(), UNCHANGED));
+            } else {
+                outcomes.put(id, new BookStatusResponseDto(id, state.version() + 1, UPDATED));
+                idsByVersion.computeIfAbsent(state.version(), version -> new ArrayList<>()).add(id);
+            }
+        }
+        idsByVersion.forEach((version, ids) -> updateStatus(ids, version, status, outcomes));
+        List<Long> updatedIds = outcomes.values().stream()
+                .filter(outcome -> outcome.getOutcome() == UPDATED)
+                .map(BookStatusResponseDto::getId)
+                .toList();
+        outboxService.record(BookChangeType.UPDATED, updatedIds);
+        // Applied once the transaction commits, through the transaction aware cache manager
+        Cache documents = cacheManager.getCache(BOOK_DOCUMENTS);
+        updatedIds.forEach(documents::evict);
+
+        return new ArrayList<>(outcomes.values());
+    }
+
+    private void updateStatus(List<Long> ids, Long version, StatusType status,
+                              Map<Long, BookStatusResponseDto> outcomes) {
+        if (repository.updateStatus(ids, version, status) == ids.size()) {
+            return;
+        }
+        // The rows are locked since they were read, so this is a safety net: a book counts as updated only when its
+        // row now holds both the new status and the version this update gave it
+        for (BookState state : repository.findStatesForUpdateByIdIn(ids)) {
+            if (state.status() != status || state.version() != version + 1) {
+                outcomes.put(state.id(), new BookStatusResponseDto(state.id(), state.version(), VERSION_CONFLICT));
+            }
+        }
+    }
+
+    private void adjustBookCounts(LinkedTags before, LinkedTags after) {
+        authorService.adjustBookCounts(difference(after.authors(), before.authors()), 1);
+        authorService.adjustBookCounts(difference(before.authors(), after.authors()), -1);
+        keywordService.adjustBookCounts(difference(after.keywords(), before.keywords()), 1);
+        keywordService.adjustBookCounts(difference(before.keywords(), after.keywords()), -1);
+        languageService.adjustBookCounts(difference(after.languages(), before.languages()), 1);
+        languageService.adjustBookCounts(difference(before.languages(), after.languages()), -1);
+    }
+
+    private static Set<Long> difference(Set<Long> ids, Set<Long> excluded) {
+        Set<Long> result = new HashSet<>(ids);
+        result.removeAll(excluded);
+        return result;
     }
 
     private void removeAllAuthors(Book book) {
@@ -230,4 +375,16 @@ public class BookService {
         }
     }
 
+    // Ids of the tags a book links to, compared before and after a change to adjust the tags' book counters
+    private record LinkedTags(Set<Long> authors, Set<Long> keywords, Set<Long> languages) {
+        private static final LinkedTags NONE = new LinkedTags(Set.of(), Set.of(), Set.of());
+
+        private static LinkedTags of(Book book) {
+            return new LinkedTags(
+                    book.getAuthors().stream().map(Author::getId).collect(Collectors.toSet()),
+                    book.getKeywords().stream().map(Keyword::getId).collect(Collectors.toSet()),
+                    book.getLanguages().stream().map(Language::getId).collect(Collectors.toSet()));
+        }
+    }
+
 }
@@ -0,0 +1,159 @@
+package ro.georgepostelnicu.app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ro.georgepostelnicu.app.event.BookChangedEvent;
+import ro.georgepostelnicu.app.event.TagChangedEvent;
+import ro.georgepostelnicu.app.model.BookSearchCriteria;
+import ro.georgepostelnicu.app.repository.AuthorRepository;
+import ro.georgepostelnicu.app.repository.BookRepository;
+import ro.georgepostelnicu.app.repository.KeywordRepository;
+import ro.georgepostelnicu.app.repository.LanguageRepository;
+import ro.georgepostelnicu.app.util.TrigramIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.springframework.transaction.annotation.Propagation.REQUIRED;
+import static org.springframework.transaction.event.TransactionPhase.AFTER_COMMIT;
+import static ro.georgepostelnicu.app.model.EntityName.*;
+
+/**
+ * Finds book titles, authors, keywords and languages close to a misspelled term, using in-memory trigram indexes.
+ * The indexes are loaded once the application is ready and then kept current from committed book and tag changes.
+ * Changes that commit while the indexes are being rebuilt are applied to the current indexes and replayed onto the
+ * rebuilt ones.
+ */
+@Service
+public class FuzzySearchService {
+    private final AuthorRepository authorRepository;
+    private final KeywordRepository keywordRepository;
+    private final LanguageRepository languageRepository;
+    private final BookRepository bookRepository;
+    private final Object changeLock = new Object();
+    private volatile Map<String, TrigramIndex> indexes = emptyIndexes();
+    // Changes seen since a rebuild started, null when no rebuild is running. Guarded by changeLock
+    private List<Consumer<Map<String, TrigramIndex>>> pendingChanges;
+
+    @Autowired
+    public FuzzySearchService(AuthorRepository authorRepository, KeywordRepository keywordRepository,
+                              LanguageRepository languageRepository, BookRepository bookRepository) {
+        this.authorRepository = authorRepository;
+        this.keywordRepository = keywordRepository;
+        this.languageRepository = languageRepository;
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Reloads every index in one read-only transaction. A change committed in the short window between the start of
+     * the rebuild and the first read is counted twice, which only keeps a name findable after its last use is gone.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = REQUIRED, readOnly = true)
+    public synchronized void rebuild() {
+        synchronized (changeLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        Map<String, TrigramIndex> rebuilt = emptyIndexes();
+        authorRepository.findAllNames().forEach(rebuilt.get(AUTHOR)::add);
+        keywordRepository.findAllNames().forEach(rebuilt.get(KEYWORD)::add);
+        languageRepository.findAllNames().forEach(rebuilt.get(LANGUAGE)::add);
+        bookRepository.findAllNames().forEach(rebuilt.get(BOOK)::add);
+        synchronized (changeLock) {
+            pendingChanges.forEach(change -> change.accept(rebuilt));
+            pendingChanges = null;
+            indexes = rebuilt;
+        }
+    }
+
+    /**
+     * @param entityName one of the {@link ro.georgepostelnicu.app.model.EntityName} values
+     * @return the stored names most similar to the term
+     */
+    public List<String> search(String entityName, String term, int limit) {
+        return indexes.get(entityName).search(term, limit);
+    }
+
+    /**
+     * Replaces the book name and every author, keyword and language of the criteria with the closest stored name,
+     * so the regular exact search can run on them. Terms without a close enough match are kept as given.
+     */
+    public BookSearchCriteria resolve(BookSearchCriteria criteria) {
+        return new BookSearchCriteria(closest(BOOK, criteria.name()), criteria.fullTitle(), criteria.description(),
+                criteria.isbn(), criteria.barcode(),
+                closest(AUTHOR, criteria.authors()), closest(KEYWORD, criteria.keywords()),
+                closest(LANGUAGE, criteria.languages()),
+                criteria.publisher(), criteria.coverType(), criteria.minYear(), criteria.maxYear(),
+                criteria.minPages(), criteria.maxPages());
+    }
+
+    @TransactionalEventListener(phase = AFTER_COMMIT)
+    public void onBookChanged(BookChangedEvent event) {
+        apply(current -> {
+            TrigramIndex titles = current.get(BOOK);
+            if (event.before() != null) {
+                titles.remove(event.before().name());
+            }
+            if (event.after() != null) {
+                titles.add(event.after().name());
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = AFTER_COMMIT)
+    public void onTagChanged(TagChangedEvent event) {
+        apply(current -> {
+            TrigramIndex index = current.get(event.entityName());
+            if (event.oldName() == null) {
+                index.add(event.newName());
+            } else if (event.newName() == null) {
+                index.remove(event.oldName());
+            } else {
+                index.rename(event.oldName(), event.newName());
+            }
+        });
+    }
+
+    private void apply(Consumer<Map<String, TrigramIndex>> change) {
+        synchronized (changeLock) {
+            change.accept(indexes);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+    }
+
+    private String closest(String entityName, String term) {
+        if (term == null) {
+            return null;
+        }
+        return indexes.get(entityName).best(term).orElse(term);
+    }
+
+    private Set<String> closest(String entityName, Set<String> terms) {
+        if (terms == null) {
+            return null;
+        }
+        return terms.stream()
+                .map(term -> closest(entityName, term))
+                .collect(Collectors.toSet());
+    }
+
+    private static Map<String, TrigramIndex> emptyIndexes() {
+        Map<String, TrigramIndex> indexes = new HashMap<>();
+        indexes.put(AUTHOR, new TrigramIndex());
+        indexes.put(BOOK, new TrigramIndex());
+        indexes.put(KEYWORD, new TrigramIndex());
+        indexes.put(LANGUAGE, new TrigramIndex());
+        return indexes;
+    }
+}
@@ -1,32 +1,59 @@
 package ro.georgepostelnicu.app.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ro.georgepostelnicu.app.dto.TagUpsertResponseDto;
 import ro.georgepostelnicu.app.dto.keyword.KeywordDto;
 import ro.georgepostelnicu.app.dto.keyword.KeywordsDto;
+import ro.georgepostelnicu.app.event.TagChangedEvent;
 import ro.georgepostelnicu.app.exception.EntityAlreadyExistException;
 import ro.georgepostelnicu.app.exception.EntityAlreadyLinkedException;
 import ro.georgepostelnicu.app.exception.EntityNotFoundException;
 import ro.georgepostelnicu.app.mapper.LibraryMapper;
 import ro.georgepostelnicu.app.model.Keyword;
+import ro.georgepostelnicu.app.model.TagCount;
 import ro.georgepostelnicu.app.repository.KeywordRepository;
+import ro.georgepostelnicu.app.util.NameNormalizer;
 import ro.georgepostelnicu.app.util.StringUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import static org.springframework.transaction.annotation.Isolation.REPEATABLE_READ;
 import static org.springframework.transaction.annotation.Propagation.REQUIRED;
+import static ro.georgepostelnicu.app.config.CacheConfiguration.BOOK_DOCUMENTS;
+import static ro.georgepostelnicu.app.config.CacheConfiguration.BOOK_FACETS;
 import static ro.georgepostelnicu.app.model.EntityName.KEYWORD;
 import static ro.georgepostelnicu.app.util.StringUtil.splitCapitalizeAndJoin;
 
 @Service
 public class KeywordService {
+    public static final int SEARCH_LIMIT = 20;
     private final KeywordRepository repository;
+    private final FuzzySearchService fuzzySearchService;
+    private final TagUpsertService tagUpsertService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LibraryMapper mapper;
 
     @Autowired
-    public KeywordService(KeywordRepository repository) {
+    public KeywordService(KeywordRepository repository, FuzzySearchService fuzzySearchService,
+                          TagUpsertService tagUpsertService, ApplicationEventPublisher eventPublisher,
+                          LibraryMapper mapper) {
         this.repository = repository;
+        this.fuzzySearchService = fuzzySearchService;
+        this.tagUpsertService = tagUpsertService;
+        this.eventPublisher = eventPublisher;
+        this.mapper = mapper;
     }
 
     @Transactional
@@ -38,20 +65,28 @@ public class KeywordService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(isolation = REPEATABLE_READ)
+    public List<TagUpsertResponseDto> upsertBulk(KeywordsDto request) {
+        return tagUpsertService.upsert(KEYWORD, request.getKeywords());
+    }
+
     @Transactional
     public Keyword create(KeywordDto keywordDto) {
-        Keyword keyword = LibraryMapper.INSTANCE.toKeyword(keywordDto);
+        Keyword keyword = mapper.toKeyword(keywordDto);
 
-        if (repository.existsByNameIgnoreCase(keywordDto.getName())) {
+        if (repository.existsByNameKey(NameNormalizer.key(keywordDto.getName()))) {
             throw new EntityAlreadyExistException(KEYWORD, splitCapitalizeAndJoin(keywordDto.getName()));
         }
 
-        return repository.save(keyword);
+        Keyword saved = repository.save(keyword);
+        eventPublisher.publishEvent(new TagChangedEvent(KEYWORD, null, saved.getName()));
+
+        return saved;
     }
 
     @Transactional
     public Keyword createIfNotExisting(KeywordDto keywordDto) {
-        return repository.findByNameIgnoreCase(keywordDto.getName())
+        return repository.findByNameKey(NameNormalizer.key(keywordDto.getName()))
                 .orElseGet(() -> create(keywordDto));
     }
 
@@ -61,25 +96,57 @@ public class KeywordService {
                 .orElseThrow(() -> new EntityNotFoundException(KEYWORD, id));
     }
 
+    @Transactional(readOnly = true)
+    public List<Keyword> searchByPrefix(String prefix) {
+        return repository.findFirst20ByNameLowerStartingWithOrderByNameLower(prefix.toLowerCase(Locale.ROOT));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Keyword> searchSimilar(String term) {
+        List<String> names = fuzzySearchService.search(KEYWORD, term, SEARCH_LIMIT);
+        List<Keyword> keywords = new ArrayList<>(repository.findByNameIn(names));
+        Map<String, Integer> positions = StringUtil.positions(names);
+        keywords.sort(Comparator.comparingInt(keyword -> positions.getOrDefault(keyword.getName(), names.size())));
+        return keywords;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TagCount> listBookCounts(long after, long minBooks, int size) {
+        return repository.findBookCounts(after, minBooks, PageRequest.of(0, size));
+    }
+
+    @Transactional
+    public void adjustBookCounts(Collection<Long> ids, long delta) {
+        if (!ids.isEmpty()) {
+            repository.adjustBookCounts(ids, delta);
+        }
+    }
+
+    @Caching(evict = {@CacheEvict(cacheNames = BOOK_FACETS, allEntries = true),
+            @CacheEvict(cacheNames = BOOK_DOCUMENTS, allEntries = true)})
     @Transactional
     public Keyword update(Long id, KeywordDto keywordDto) {
         Keyword keyword = read(id);
 
-        if (repository.existsByNameIgnoreCaseAndIdIsNot(keywordDto.getName(), id)) {
+        if (repository.existsByNameKeyAndIdIsNot(NameNormalizer.key(keywordDto.getName()), id)) {
             throw new EntityAlreadyExistException(KEYWORD, splitCapitalizeAndJoin(keywordDto.getName()));
         }
 
-        LibraryMapper.INSTANCE.updateKeywordFromDto(keywordDto, keyword);
+        String oldName = keyword.getName();
+        mapper.updateKeywordFromDto(keywordDto, keyword);
+        Keyword saved = repository.save(keyword);
+        eventPublisher.publishEvent(new TagChangedEvent(KEYWORD, oldName, saved.getName()));
 
-        return repository.save(keyword);
+        return saved;
     }
 
     @Transactional
     public void delete(Long id) {
         Keyword keyword = read(id);
 
-        if (keyword.getBooks().isEmpty()) {
+        if (repository.findBookCountById(id) == 0) {
             repository.delete(keyword);
+            eventPublisher.publishEvent(new TagChangedEvent(KEYWORD, keyword.getName(), null));
         } else {
             throw new EntityAlreadyLinkedException(KEYWORD, keyword.getName());
         }
@@ -1,32 +1,51 @@
 package ro.georgepostelnicu.app.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ro.georgepostelnicu.app.dto.TagUpsertResponseDto;
 import ro.georgepostelnicu.app.dto.language.LanguageDto;
 import ro.georgepostelnicu.app.dto.language.LanguagesDto;
+import ro.georgepostelnicu.app.event.TagChangedEvent;
 import ro.georgepostelnicu.app.exception.EntityAlreadyExistException;
 import ro.georgepostelnicu.app.exception.EntityAlreadyLinkedException;
 import ro.georgepostelnicu.app.exception.EntityNotFoundException;
 import ro.georgepostelnicu.app.mapper.LibraryMapper;
 import ro.georgepostelnicu.app.model.Language;
+import ro.georgepostelnicu.app.model.TagCount;
 import ro.georgepostelnicu.app.repository.LanguageRepository;
+import ro.georgepostelnicu.app.util.NameNormalizer;
 import ro.georgepostelnicu.app.util.StringUtil;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static org.springframework.transaction.annotation.Isolation.REPEATABLE_READ;
 import static org.springframework.transaction.annotation.Propagation.REQUIRED;
+import static ro.georgepostelnicu.app.config.CacheConfiguration.BOOK_DOCUMENTS;
+import static ro.georgepostelnicu.app.config.CacheConfiguration.BOOK_FACETS;
 import static ro.georgepostelnicu.app.model.EntityName.LANGUAGE;
 import static ro.georgepostelnicu.app.util.StringUtil.splitCapitalizeAndJoin;
 
 @Service
 public class LanguageService {
     private final LanguageRepository repository;
+    private final TagUpsertService tagUpsertService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LibraryMapper mapper;
 
     @Autowired
-    public LanguageService(LanguageRepository repository) {
+    public LanguageService(LanguageRepository repository, TagUpsertService tagUpsertService,
+                           ApplicationEventPublisher eventPublisher, LibraryMapper mapper) {
         this.repository = repository;
+        this.tagUpsertService = tagUpsertService;
+        this.eventPublisher = eventPublisher;
+        this.mapper = mapper;
     }
 
     @Transactional
@@ -38,20 +57,28 @@ public class LanguageService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(isolation = REPEATABLE_READ)
+    public List<TagUpsertResponseDto> upsertBulk(LanguagesDto request) {
+        return tagUpsertService.upsert(LANGUAGE, request.getLanguages());
+    }
+
     @Transactional
     public Language create(LanguageDto languageDto) {
-        Language language = LibraryMapper.INSTANCE.toLanguage(languageDto);
+        Language language = mapper.toLanguage(languageDto);
 
-        if (repository.existsByNameIgnoreCase(languageDto.getName())) {
+        if (repository.existsByNameKey(NameNormalizer.key(languageDto.getName()))) {
             throw new EntityAlreadyExistException(LANGUAGE, splitCapitalizeAndJoin(languageDto.getName()));
         }
 
-        return repository.save(language);
+        Language saved = repository.save(language);
+        eventPublisher.publishEvent(new TagChangedEvent(LANGUAGE, null, saved.getName()));
+
+        return saved;
     }
 
     @Transactional
     public Language createIfNotExisting(LanguageDto languageDto) {
-        return repository.findByNameIgnoreCase(languageDto.getName())
+        return repository.findByNameKey(NameNormalizer.key(languageDto.getName()))
                 .orElseGet(() -> create(languageDto));
     }
 
@@ -61,18 +88,35 @@ public class LanguageService {
                 .orElseThrow(() -> new EntityNotFoundException(LANGUAGE, id));
     }
 
+    @Transactional(readOnly = true)
+    public List<TagCount> listBookCounts(long after, long minBooks, int size) {
+        return repository.findBookCounts(after, minBooks, PageRequest.of(0, size));
+    }
+
+    @Transactional
+    public void adjustBookCounts(Collection<Long> ids, long delta) {
+        if (!ids.isEmpty()) {
+            repository.adjustBookCounts(ids, delta);
+        }
+    }
+
+    @Caching(evict = {@CacheEvict(cacheNames = BOOK_FACETS, allEntries = true),
+            @CacheEvict(cacheNames = BOOK_DOCUMENTS, allEntries = true)})
     @Transactional
     public Language update(Long id, LanguageDto languageDto) {
         Language language = repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(LANGUAGE, id));
 
-        if (repository.existsByNameIgnoreCaseAndIdIsNot(languageDto.getName(), id)) {
+        if (repository.existsByNameKeyAndIdIsNot(NameNormalizer.key(languageDto.getName()), id)) {
             throw new EntityAlreadyExistException(LANGUAGE, splitCapitalizeAndJoin(languageDto.getName()));
         }
 
-        LibraryMapper.INSTANCE.updateLanguageFromDto(languageDto, language);
+        String oldName = language.getName();
+        mapper.updateLanguageFromDto(languageDto, language);
+        Language saved = repository.save(language);
+        eventPublisher.publishEvent(new TagChangedEvent(LANGUAGE, oldName, saved.getName()));
 
-        return repository.save(language);
+        return saved;
     }
 
     @Transactional
@@ -80,8 +124,9 @@ public class LanguageService {
         Language language = repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(LANGUAGE, id));
 
-        if (language.getBooks().isEmpty()) {
+        if (repository.findBookCountById(id) == 0) {
             repository.delete(language);
+            eventPublisher.publishEvent(new TagChangedEvent(LANGUAGE, language.getName(), null));
         } else {
             throw new EntityAlreadyLinkedException(LANGUAGE, language.getName());
         }
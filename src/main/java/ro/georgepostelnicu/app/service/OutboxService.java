@@ -0,0 +1,106 @@
+package ro.georgepostelnicu.app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ro.georgepostelnicu.app.event.BookChange;
+import ro.georgepostelnicu.app.event.BookChangeSink;
+import ro.georgepostelnicu.app.event.BookChangesEvent;
+import ro.georgepostelnicu.app.model.BookChangeType;
+import ro.georgepostelnicu.app.model.OutboxEntry;
+import ro.georgepostelnicu.app.repository.OutboxRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.springframework.transaction.annotation.Propagation.MANDATORY;
+
+/**
+ * Transactional outbox of book changes. {@link BookService} records every change in its own transaction, and the
+ * scheduled poller publishes the recorded changes in batches, marking them published only once every listener and
+ * sink accepted the batch. Batches follow the commit sequence of the changes, see {@link OutboxEntry}. Published
+ * changes are kept for the retention period, for the change feed, and then purged.
+ */
+@Service
+public class OutboxService {
+    public static final int BATCH_SIZE = 100;
+    private final OutboxRepository repository;
+    private final List<BookChangeSink> sinks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration retention;
+
+    @Autowired
+    public OutboxService(OutboxRepository repository, List<BookChangeSink> sinks,
+                         ApplicationEventPublisher eventPublisher, @Value("${app.outbox.retention}") Duration retention) {
+        this.repository = repository;
+        this.sinks = sinks;
+        this.eventPublisher = eventPublisher;
+        this.retention = retention;
+    }
+
+    /**
+     * Records the changes with the next commit sequences. Book writes that record changes wait for each other from
+     * here until they commit, so this is the last step of a write.
+     */
+    @Transactional(propagation = MANDATORY)
+    public void record(BookChangeType type, Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        repository.advanceSequence(bookIds.size());
+        long sequence = repository.findLastSequence() - bookIds.size();
+        Instant now = Instant.now();
+        List<OutboxEntry> entries = new ArrayList<>(bookIds.size());
+        for (Long bookId : bookIds) {
+            entries.add(new OutboxEntry(++sequence, bookId, type, now));
+        }
+        repository.saveAll(entries);
+    }
+
+    /**
+     * Publishes the oldest batch of changes that were not published yet.
+     *
+     * @return the number of changes published
+     */
+    @Scheduled(cron = "${app.outbox.publish-cron}")
+    @Transactional
+    public int publishPending() {
+        List<BookChange> changes = repository.findByPublishedAtIsNullOrderBySequence(PageRequest.of(0, BATCH_SIZE)).stream()
+                .map(BookChange::of)
+                .toList();
+        if (changes.isEmpty()) {
+            return 0;
+        }
+        eventPublisher.publishEvent(new BookChangesEvent(changes));
+        sinks.forEach(sink -> sink.deliver(changes));
+        repository.markPublished(changes.stream().map(BookChange::sequence).toList(), Instant.now());
+        return changes.size();
+    }
+
+    /**
+     * Deletes the published changes recorded before the retention period. Only a run of sequences that were all
+     * published is deleted, and its last sequence is kept as the purge horizon, since a change feed token before it
+     * would skip the deleted changes.
+     *
+     * @return the number of changes deleted
+     */
+    @Scheduled(cron = "${app.outbox.purge-cron}")
+    @Transactional
+    public int purgePublished() {
+        Long lastExpired = repository.findLastSequenceCreatedBefore(Instant.now().minus(retention));
+        if (lastExpired == null) {
+            return 0;
+        }
+        Long firstPending = repository.findFirstUnpublishedSequence();
+        long horizon = firstPending == null ? lastExpired : Math.min(lastExpired, firstPending - 1);
+        repository.updatePurgedThrough(horizon);
+        return repository.deletePublishedThrough(horizon);
+    }
+}
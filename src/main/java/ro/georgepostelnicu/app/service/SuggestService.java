@@ -0,0 +1,149 @@
+package ro.georgepostelnicu.app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ro.georgepostelnicu.app.event.BookChangedEvent;
+import ro.georgepostelnicu.app.event.BookSnapshot;
+import ro.georgepostelnicu.app.event.TagChangedEvent;
+import ro.georgepostelnicu.app.model.NameCount;
+import ro.georgepostelnicu.app.model.SuggestType;
+import ro.georgepostelnicu.app.model.Suggestion;
+import ro.georgepostelnicu.app.repository.AuthorRepository;
+import ro.georgepostelnicu.app.repository.BookRepository;
+import ro.georgepostelnicu.app.repository.KeywordRepository;
+import ro.georgepostelnicu.app.repository.LanguageRepository;
+import ro.georgepostelnicu.app.util.PrefixTrie;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.springframework.transaction.annotation.Propagation.REQUIRED;
+import static org.springframework.transaction.event.TransactionPhase.AFTER_COMMIT;
+import static ro.georgepostelnicu.app.model.SuggestType.*;
+
+/**
+ * Serves autocomplete suggestions from in-memory tries, weighted by how many books use each name. The tries are
+ * loaded once the application is ready and then kept current from committed book and tag changes. Changes that
+ * commit while the tries are being rebuilt are applied to the current tries and replayed onto the rebuilt ones.
+ */
+@Service
+public class SuggestService {
+    public static final int MAX_SUGGESTIONS = 50;
+
+    private final AuthorRepository authorRepository;
+    private final KeywordRepository keywordRepository;
+    private final LanguageRepository languageRepository;
+    private final BookRepository bookRepository;
+    private final Object changeLock = new Object();
+    private volatile Map<SuggestType, PrefixTrie> tries = emptyTries();
+    // Changes seen since a rebuild started, null when no rebuild is running. Guarded by changeLock
+    private List<Consumer<Map<SuggestType, PrefixTrie>>> pendingChanges;
+
+    @Autowired
+    public SuggestService(AuthorRepository authorRepository, KeywordRepository keywordRepository,
+                          LanguageRepository languageRepository, BookRepository bookRepository) {
+        this.authorRepository = authorRepository;
+        this.keywordRepository = keywordRepository;
+        this.languageRepository = languageRepository;
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Reloads every trie in one read-only transaction. A change committed in the short window between the start of
+     * the rebuild and the first read is counted twice, which only nudges a weight.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = REQUIRED, readOnly = true)
+    public synchronized void rebuild() {
+        synchronized (changeLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        Map<SuggestType, PrefixTrie> rebuilt = emptyTries();
+        rebuilt.get(AUTHOR).addAll(weights(authorRepository.countBooksByName()));
+        rebuilt.get(KEYWORD).addAll(weights(keywordRepository.countBooksByName()));
+        rebuilt.get(LANGUAGE).addAll(weights(languageRepository.countBooksByName()));
+        rebuilt.get(PUBLISHER).addAll(weights(bookRepository.countBooksByPublisher()));
+        rebuilt.get(TITLE).addAll(bookRepository.findAllNames().stream()
+                .map(name -> new Suggestion(name, 1))
+                .toList());
+        synchronized (changeLock) {
+            pendingChanges.forEach(change -> change.accept(rebuilt));
+            pendingChanges = null;
+            tries = rebuilt;
+        }
+    }
+
+    public List<Suggestion> suggest(SuggestType type, String prefix, int limit) {
+        return tries.get(type).top(prefix, limit);
+    }
+
+    @TransactionalEventListener(phase = AFTER_COMMIT)
+    public void onBookChanged(BookChangedEvent event) {
+        apply(current -> {
+            if (event.before() != null) {
+                applyBook(current, event.before(), -1);
+            }
+            if (event.after() != null) {
+                applyBook(current, event.after(), 1);
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = AFTER_COMMIT)
+    public void onTagChanged(TagChangedEvent event) {
+        SuggestType type = SuggestType.from(event.entityName()).orElseThrow();
+        apply(current -> {
+            PrefixTrie trie = current.get(type);
+            if (event.oldName() == null) {
+                trie.add(event.newName(), 0);
+            } else if (event.newName() == null) {
+                trie.remove(event.oldName());
+            } else {
+                trie.rename(event.oldName(), event.newName());
+            }
+        });
+    }
+
+    private void apply(Consumer<Map<SuggestType, PrefixTrie>> change) {
+        synchronized (changeLock) {
+            change.accept(tries);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+    }
+
+    private static void applyBook(Map<SuggestType, PrefixTrie> current, BookSnapshot book, long delta) {
+        current.get(TITLE).add(book.name(), delta);
+        if (book.publisher() != null) {
+            current.get(PUBLISHER).add(book.publisher(), delta);
+        }
+        book.authors().forEach(author -> current.get(AUTHOR).add(author, delta));
+        book.keywords().forEach(keyword -> current.get(KEYWORD).add(keyword, delta));
+        book.languages().forEach(language -> current.get(LANGUAGE).add(language, delta));
+    }
+
+    private static List<Suggestion> weights(List<NameCount> counts) {
+        return counts.stream()
+                .map(count -> new Suggestion(count.getName(), count.getCount()))
+                .toList();
+    }
+
+    // Tags exist on their own and stay suggestible when unused; publishers and titles only exist through books
+    private static Map<SuggestType, PrefixTrie> emptyTries() {
+        Map<SuggestType, PrefixTrie> tries = new EnumMap<>(SuggestType.class);
+        tries.put(AUTHOR, new PrefixTrie(false, MAX_SUGGESTIONS));
+        tries.put(KEYWORD, new PrefixTrie(false, MAX_SUGGESTIONS));
+        tries.put(LANGUAGE, new PrefixTrie(false, MAX_SUGGESTIONS));
+        tries.put(PUBLISHER, new PrefixTrie(true, MAX_SUGGESTIONS));
+        tries.put(TITLE, new PrefixTrie(true, MAX_SUGGESTIONS));
+        return tries;
+    }
+}
@@ -0,0 +1,112 @@
+package ro.georgepostelnicu.app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ro.georgepostelnicu.app.dto.TagUpsertResponseDto;
+import ro.georgepostelnicu.app.event.TagChangedEvent;
+import ro.georgepostelnicu.app.model.TagRow;
+import ro.georgepostelnicu.app.repository.TagBulkRepository;
+import ro.georgepostelnicu.app.util.NameNormalizer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.transaction.annotation.Isolation.REPEATABLE_READ;
+import static org.springframework.transaction.annotation.Propagation.REQUIRED;
+import static ro.georgepostelnicu.app.dto.UpsertOutcome.*;
+import static ro.georgepostelnicu.app.util.StringUtil.splitCapitalizeAndJoin;
+
+/**
+ * Stores the tags of a bulk request that do not exist yet and reports, per name and in request order, whether it was
+ * created, already existed or could not be stored. The request costs two lookups and one batched insert whatever its
+ * size, plus one more lookup when another request stored some of the same names concurrently.
+ */
+@Service
+public class TagUpsertService {
+    static final int MAX_NAME_LENGTH = 255;
+    private final TagBulkRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public TagUpsertService(TagBulkRepository repository, ApplicationEventPublisher eventPublisher) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Runs in a repeatable read transaction: reading the missing keys back after the insert shows the rows this
+     * transaction stored, but not those another request committed after the first lookup, which the insert skipped.
+     *
+     * @param entityName one of the {@link ro.georgepostelnicu.app.model.EntityName} values
+     */
+    @Transactional(propagation = REQUIRED, isolation = REPEATABLE_READ)
+    public List<TagUpsertResponseDto> upsert(String entityName, Collection<String> names) {
+        List<TagUpsertResponseDto> outcomes = new ArrayList<>();
+        // Names folding to the same key are the same tag; the first spelling seen is the one stored
+        Map<String, String> namesByKey = new LinkedHashMap<>();
+        Map<String, Integer> positionsByKey = new HashMap<>();
+        for (String name : names) {
+            String key = NameNormalizer.key(name);
+            if (key == null || key.isEmpty() || name.length() > MAX_NAME_LENGTH) {
+                outcomes.add(new TagUpsertResponseDto(name, null, FAILED));
+            } else if (namesByKey.putIfAbsent(key, splitCapitalizeAndJoin(name)) == null) {
+                positionsByKey.put(key, outcomes.size());
+                outcomes.add(null);
+            }
+        }
+
+        Map<String, TagRow> existing = byKey(repository.findByNameKeys(entityName,
+                new ArrayList<>(namesByKey.keySet())));
+        List<TagRow> missing = new ArrayList<>();
+        namesByKey.forEach((key, name) -> {
+            TagRow row = existing.get(key);
+            if (row == null) {
+                missing.add(new TagRow(null, name, key));
+            } else {
+                outcomes.set(positionsByKey.get(key), new TagUpsertResponseDto(row.name(), row.id(), EXISTING));
+            }
+        });
+        repository.insertIgnoringDuplicates(entityName, missing);
+        Map<String, TagRow> created = byKey(repository.findByNameKeys(entityName, keys(missing)));
+
+        List<TagRow> skipped = missing.stream().filter(row -> !created.containsKey(row.nameKey())).toList();
+        // Stored by another request since the first lookup, so only a transaction started after it sees them
+        Map<String, TagRow> storedConcurrently = skipped.isEmpty()
+                ? Map.of() : byKey(repository.findCommittedByNameKeys(entityName, keys(skipped)));
+
+        for (TagRow candidate : missing) {
+            String key = candidate.nameKey();
+            TagUpsertResponseDto outcome;
+            if (created.containsKey(key)) {
+                TagRow row = created.get(key);
+                outcome = new TagUpsertResponseDto(row.name(), row.id(), CREATED);
+                eventPublisher.publishEvent(new TagChangedEvent(entityName, null, row.name()));
+            } else if (storedConcurrently.containsKey(key)) {
+                TagRow row = storedConcurrently.get(key);
+                outcome = new TagUpsertResponseDto(row.name(), row.id(), EXISTING);
+            } else {
+                outcome = new TagUpsertResponseDto(candidate.name(), null, FAILED);
+            }
+            outcomes.set(positionsByKey.get(key), outcome);
+        }
+        return outcomes;
+    }
+
+    private static List<String> keys(List<TagRow> rows) {
+        return rows.stream().map(TagRow::nameKey).toList();
+    }
+
+    private static Map<String, TagRow> byKey(List<TagRow> rows) {
+        Map<String, TagRow> rowsByKey = new HashMap<>();
+        for (TagRow row : rows) {
+            rowsByKey.put(row.nameKey(), row);
+        }
+        return rowsByKey;
+    }
+}
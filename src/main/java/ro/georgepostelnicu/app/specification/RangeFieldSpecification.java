@@ -7,14 +7,14 @@ import java.util.function.Function;
 
 import static java.util.Objects.nonNull;
 
-public class NumericalFieldSpecification<T> implements Specification<T> {
+public class RangeFieldSpecification<T, Y extends Comparable<? super Y>> implements Specification<T> {
 
-    private final Number min;
-    private final Number max;
-    private final Function<Root<T>, Expression<String>> fieldExpressionProvider;
+    private final Y min;
+    private final Y max;
+    private final Function<Root<T>, Expression<? extends Y>> fieldExpressionProvider;
 
-    private NumericalFieldSpecification(Number min, Number max,
-                                        Function<Root<T>, Expression<String>> fieldExpressionProvider) {
+    private RangeFieldSpecification(Y min, Y max,
+                                    Function<Root<T>, Expression<? extends Y>> fieldExpressionProvider) {
         this.min = min;
         this.max = max;
         this.fieldExpressionProvider = fieldExpressionProvider;
@@ -23,18 +23,18 @@ public class NumericalFieldSpecification<T> implements Specification<T> {
     @Override
     public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
         if (nonNull(min) && nonNull(max)) {
-            return criteriaBuilder.between(fieldExpressionProvider.apply(root), min.toString(), max.toString());
+            return criteriaBuilder.between(fieldExpressionProvider.apply(root), min, max);
         } else if (nonNull(min)) {
-            return criteriaBuilder.greaterThanOrEqualTo(fieldExpressionProvider.apply(root), min.toString());
+            return criteriaBuilder.greaterThanOrEqualTo(fieldExpressionProvider.apply(root), min);
         } else if (nonNull(max)) {
-            return criteriaBuilder.lessThanOrEqualTo(fieldExpressionProvider.apply(root), max.toString());
+            return criteriaBuilder.lessThanOrEqualTo(fieldExpressionProvider.apply(root), max);
         } else {
             return criteriaBuilder.conjunction();
         }
     }
 
-    public static <T> NumericalFieldSpecification<T> buildNumericalSpecification(Number min, Number max,
-                                                                                 Function<Root<T>, Expression<String>> fieldExpressionProvider) {
-        return new NumericalFieldSpecification<>(min, max, fieldExpressionProvider);
+    public static <T, Y extends Comparable<? super Y>> RangeFieldSpecification<T, Y> buildRangeSpecification(
+            Y min, Y max, Function<Root<T>, Expression<? extends Y>> fieldExpressionProvider) {
+        return new RangeFieldSpecification<>(min, max, fieldExpressionProvider);
     }
 }
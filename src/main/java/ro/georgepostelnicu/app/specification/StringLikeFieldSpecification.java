@@ -14,11 +14,14 @@ public class StringLikeFieldSpecification<T> implements Specification<T> {
 
     private final Object value;
     private final Function<Root<T>, Expression<String>> fieldExpressionProvider;
+    private final boolean lowerCaseField;
 
     private StringLikeFieldSpecification(Object value,
-                                         Function<Root<T>, Expression<String>> fieldExpressionProvider) {
+                                         Function<Root<T>, Expression<String>> fieldExpressionProvider,
+                                         boolean lowerCaseField) {
         this.value = value;
         this.fieldExpressionProvider = fieldExpressionProvider;
+        this.lowerCaseField = lowerCaseField;
     }
 
     @Override
@@ -27,18 +30,25 @@ public class StringLikeFieldSpecification<T> implements Specification<T> {
             return cb.conjunction();
         }
 
-        Expression<String> expression = fieldExpressionProvider.apply(root);
+        // A column that is already lower case is compared as is, so `name LIKE 'land%'` can use its index
+        Expression<String> field = fieldExpressionProvider.apply(root);
+        Expression<String> expression = lowerCaseField ? field : cb.lower(field);
         String v = getValueWithWildcards(value.toString());
         if (v.contains(LIKE)) {
-            return cb.like(cb.lower(expression), v);
+            return cb.like(expression, v);
         } else {
-            return cb.equal(cb.lower(expression), v);
+            return cb.equal(expression, v);
         }
     }
 
     public static <T> StringLikeFieldSpecification<T> buildSpecification(Object value,
                                                                          Function<Root<T>, Expression<String>> fieldExpressionProvider) {
-        return new StringLikeFieldSpecification<>(value, fieldExpressionProvider);
+        return new StringLikeFieldSpecification<>(value, fieldExpressionProvider, false);
+    }
+
+    public static <T> StringLikeFieldSpecification<T> buildLowerCaseSpecification(Object value,
+                                                                                  Function<Root<T>, Expression<String>> lowerCaseFieldProvider) {
+        return new StringLikeFieldSpecification<>(value, lowerCaseFieldProvider, true);
     }
 
     private String getValueWithWildcards(@NotNull String value) {
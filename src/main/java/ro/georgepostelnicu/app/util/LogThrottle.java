@@ -0,0 +1,54 @@
+package ro.georgepostelnicu.app.util;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets one event per key through every interval and counts the ones it holds back, so a burst of the same error is
+ * logged once together with how many occurrences were skipped.
+ */
+public class LogThrottle {
+    public static final long SUPPRESSED = -1;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final Map<Object, Window> windows = new ConcurrentHashMap<>();
+
+    public LogThrottle(Duration interval) {
+        this(interval, System::nanoTime);
+    }
+
+    LogThrottle(Duration interval, LongSupplier nanoClock) {
+        this.intervalNanos = interval.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return how many events of this key were suppressed since the last one let through, or {@link #SUPPRESSED}
+     * when this event should not be logged
+     */
+    public long acquire(Object key) {
+        long now = nanoClock.getAsLong();
+        Window window = windows.computeIfAbsent(key, k -> new Window(now - intervalNanos));
+        synchronized (window) {
+            if (now - window.lastLetThrough < intervalNanos) {
+                window.suppressed++;
+                return SUPPRESSED;
+            }
+            long suppressed = window.suppressed;
+            window.lastLetThrough = now;
+            window.suppressed = 0;
+            return suppressed;
+        }
+    }
+
+    private static final class Window {
+        private long lastLetThrough;
+        private long suppressed;
+
+        private Window(long lastLetThrough) {
+            this.lastLetThrough = lastLetThrough;
+        }
+    }
+}
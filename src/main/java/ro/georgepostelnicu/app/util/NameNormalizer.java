@@ -0,0 +1,82 @@
+package ro.georgepostelnicu.app.util;
+
+import java.text.Normalizer;
+
+/**
+ * Folds names to the key they are stored and looked up under, so that spellings differing only in case, accents,
+ * apostrophes, hyphens or spacing ("Linda Kalijündi", "linda  kalijundi") resolve to the same entity.
+ */
+public final class NameNormalizer {
+    private static final char DROP = '\0';
+    private static final char SPACE = ' ';
+    // Folding of every ASCII character, looked up instead of going through Character for the common case
+    private static final char[] ASCII_FOLD = new char[128];
+
+    static {
+        for (char c = 0; c < ASCII_FOLD.length; c++) {
+            ASCII_FOLD[c] = Character.toLowerCase(c);
+        }
+        for (char c : " \t\n\u000B\f\r-_".toCharArray()) {
+            ASCII_FOLD[c] = SPACE;
+        }
+        ASCII_FOLD['\''] = DROP;
+        ASCII_FOLD['`'] = DROP;
+        for (char c = 0; c < SPACE; c++) {
+            if (ASCII_FOLD[c] != SPACE) {
+                ASCII_FOLD[c] = DROP;
+            }
+        }
+    }
+
+    private NameNormalizer() {
+    }
+
+    public static String key(String name) {
+        if (name == null) {
+            return null;
+        }
+
+        // Decomposing splits accented letters into the letter and a combining mark, which is then dropped
+        String source = isAscii(name) ? name : Normalizer.normalize(name, Normalizer.Form.NFKD);
+        char[] key = new char[source.length()];
+        int length = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < source.length(); i++) {
+            char folded = fold(source.charAt(i));
+            if (folded == DROP) {
+                continue;
+            }
+            if (folded == SPACE) {
+                pendingSpace = length > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                key[length++] = SPACE;
+                pendingSpace = false;
+            }
+            key[length++] = folded;
+        }
+        return new String(key, 0, length);
+    }
+
+    private static boolean isAscii(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) >= ASCII_FOLD.length) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char fold(char c) {
+        if (c < ASCII_FOLD.length) {
+            return ASCII_FOLD[c];
+        }
+        return switch (Character.getType(c)) {
+            case Character.NON_SPACING_MARK, Character.FORMAT,
+                 Character.INITIAL_QUOTE_PUNCTUATION, Character.FINAL_QUOTE_PUNCTUATION -> DROP;
+            case Character.SPACE_SEPARATOR, Character.DASH_PUNCTUATION -> SPACE;
+            default -> Character.toLowerCase(c);
+        };
+    }
+}
@@ -0,0 +1,237 @@
+package ro.georgepostelnicu.app.util;
+
+import ro.georgepostelnicu.app.model.Suggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive prefix index over names, each carrying a popularity weight. Lookups return the heaviest names
+ * below a prefix. Every node keeps the best names of its subtree, refreshed along the changed path on each write, so
+ * a lookup costs the length of the prefix however many names sit below it. Safe for concurrent readers and writers.
+ */
+public class PrefixTrie {
+    private static final Comparator<Suggestion> BEST_FIRST = Comparator
+            .comparingLong(Suggestion::weight).reversed()
+            .thenComparing(Suggestion::value);
+
+    private final Node root = new Node();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final boolean pruneUnused;
+    private final int capacity;
+
+    /**
+     * @param pruneUnused whether a name is dropped once its weight reaches zero, for names that only exist
+     *                    through the books using them
+     * @param capacity    the most names a lookup can return
+     */
+    public PrefixTrie(boolean pruneUnused, int capacity) {
+        this.pruneUnused = pruneUnused;
+        this.capacity = capacity;
+    }
+
+    public void add(String value, long delta) {
+        lock.writeLock().lock();
+        try {
+            refresh(addUnlocked(value, delta));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds many weights at once and refreshes the best names of each node a single time, bottom-up, at the end.
+     */
+    public void addAll(Collection<Suggestion> entries) {
+        lock.writeLock().lock();
+        try {
+            entries.forEach(entry -> addUnlocked(entry.value(), entry.weight()));
+            refreshAll(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rename(String oldValue, String newValue) {
+        lock.writeLock().lock();
+        try {
+            String oldKey = key(oldValue);
+            Node[] oldPath = path(oldKey, false);
+            long weight = removeUnlocked(oldKey, oldPath);
+            refresh(addUnlocked(newValue, weight));
+            refresh(oldPath);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String value) {
+        lock.writeLock().lock();
+        try {
+            String key = key(value);
+            Node[] path = path(key, false);
+            removeUnlocked(key, path);
+            refresh(path);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Suggestion> top(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            String key = key(prefix);
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+
+            return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Node[] addUnlocked(String value, long delta) {
+        String key = key(value);
+        Node[] path = path(key, true);
+        Node node = path[key.length()];
+        node.value = value;
+        node.weight = Math.max(0, node.weight + delta);
+        if (pruneUnused && node.weight == 0) {
+            removeUnlocked(key, path);
+        }
+        return path;
+    }
+
+    private static long removeUnlocked(String key, Node[] path) {
+        if (path == null) {
+            return 0;
+        }
+
+        Node node = path[key.length()];
+        long weight = node.weight;
+        node.value = null;
+        node.weight = 0;
+        // Drop the nodes that no longer lead to any name, walking back up from the removed one
+        for (int i = key.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(key.charAt(i - 1));
+        }
+        return weight;
+    }
+
+    // The nodes from the root down to the key, or null when the key is not indexed and create is off
+    private Node[] path(String key, boolean create) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = create ? path[i].childOrCreate(key.charAt(i)) : path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return null;
+            }
+        }
+        return path;
+    }
+
+    // Pruned nodes are refreshed too, which is wasted but harmless since nothing reaches them any more
+    private void refresh(Node[] path) {
+        if (path == null) {
+            return;
+        }
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i].refreshTop(capacity);
+        }
+    }
+
+    private void refreshAll(Node node) {
+        for (Node child : node.children) {
+            refreshAll(child);
+        }
+        node.refreshTop(capacity);
+    }
+
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Children are kept in parallel arrays sorted by character and found by binary search, which avoids boxing the
+     * character and a hash entry per child.
+     */
+    private static class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] top = NO_SUGGESTIONS;
+        private String value;
+        private long weight;
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrCreate(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int at = -index - 1;
+            Node child = new Node();
+            char[] grownKeys = new char[keys.length + 1];
+            Node[] grownChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, grownKeys, 0, at);
+            System.arraycopy(children, 0, grownChildren, 0, at);
+            grownKeys[at] = c;
+            grownChildren[at] = child;
+            System.arraycopy(keys, at, grownKeys, at + 1, keys.length - at);
+            System.arraycopy(children, at, grownChildren, at + 1, children.length - at);
+            keys = grownKeys;
+            children = grownChildren;
+            return child;
+        }
+
+        // Only called for a child that exists, while pruning the path of a removed name
+        private void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            char[] shrunkKeys = new char[keys.length - 1];
+            Node[] shrunkChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, shrunkKeys, 0, index);
+            System.arraycopy(children, 0, shrunkChildren, 0, index);
+            System.arraycopy(keys, index + 1, shrunkKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, shrunkChildren, index, children.length - index - 1);
+            keys = shrunkKeys;
+            children = shrunkChildren;
+        }
+
+        // The best names below a node are among its own name and the best names of each child
+        private void refreshTop(int capacity) {
+            List<Suggestion> candidates = new ArrayList<>();
+            if (value != null) {
+                candidates.add(new Suggestion(value, weight));
+            }
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(BEST_FIRST);
+            top = candidates.subList(0, Math.min(capacity, candidates.size())).toArray(NO_SUGGESTIONS);
+        }
+
+        private boolean isEmpty() {
+            return value == null && keys.length == 0;
+        }
+    }
+}
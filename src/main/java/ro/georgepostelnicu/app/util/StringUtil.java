@@ -1,24 +1,89 @@
 package ro.georgepostelnicu.app.util;
 
-import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class StringUtil {
     public static final String WILDCARD = "*";
     public static final String LIKE = "%";
     public static final String SPACE = " ";
+    private static final char WORD_SEPARATOR = ' ';
+    private static final String CSV_QUOTE = "\"";
+    private static final char[] CSV_SPECIAL_CHARACTERS = {',', '"', '\n', '\r'};
 
     private StringUtil() {
     }
 
+    /**
+     * Upper-cases the first letter of every space separated word and lower-cases the rest. Casing is done per
+     * character, so the result does not depend on the default locale. A text that is already capitalised is
+     * returned as is, without copying.
+     */
     public static String splitCapitalizeAndJoin(String text) {
-        return Arrays.stream(text.split(SPACE, -1))
-                .map(s -> s.isEmpty() ? "" : capitalizeFirstLetter(s))
-                .collect(Collectors.joining(SPACE));
+        int length = text.length();
+        int index = 0;
+        while (index < length && text.charAt(index) == capitalized(text, index)) {
+            index++;
+        }
+        if (index == length) {
+            return text;
+        }
+
+        char[] chars = text.toCharArray();
+        for (; index < length; index++) {
+            chars[index] = capitalized(text, index);
+        }
+        return new String(chars);
+    }
+
+    public static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        for (char special : CSV_SPECIAL_CHARACTERS) {
+            if (value.indexOf(special) >= 0) {
+                return CSV_QUOTE + value.replace(CSV_QUOTE, CSV_QUOTE + CSV_QUOTE) + CSV_QUOTE;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Keeps only the digits of the value, for example the 13 digits of a formatted ISBN.
+     */
+    public static String digits(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    /**
+     * Position of every value in the list, the first one for a repeated value. Lets another list be sorted into
+     * this order with one lookup per element instead of a scan per comparison.
+     */
+    public static Map<String, Integer> positions(List<String> values) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = values.size() - 1; i >= 0; i--) {
+            positions.put(values.get(i), i);
+        }
+        return positions;
     }
 
-    private static String capitalizeFirstLetter(String text) {
-        return text.substring(0, 1).toUpperCase() + text.toLowerCase().substring(1);
+    private static char capitalized(String text, int index) {
+        char c = text.charAt(index);
+        if (index == 0 || text.charAt(index - 1) == WORD_SEPARATOR) {
+            return Character.toUpperCase(c);
+        }
+        return Character.toLowerCase(c);
     }
 
 }
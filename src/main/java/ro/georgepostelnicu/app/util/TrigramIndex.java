@@ -0,0 +1,144 @@
+package ro.georgepostelnicu.app.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from character trigrams to names, used to find names close to a misspelled term. Only names
+ * sharing at least one trigram with the term are looked at, so a lookup never walks the whole vocabulary. Names
+ * are counted, so a name added twice, like the title of two books, stays indexed until it is removed twice.
+ * Safe for concurrent readers and writers.
+ */
+public class TrigramIndex {
+    /**
+     * Share of the term's trigrams a name must contain to be considered a match.
+     */
+    public static final double MIN_SIMILARITY = 0.5;
+
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private final Map<String, String> values = new HashMap<>();
+    private final Map<String, Integer> counts = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(String value) {
+        lock.writeLock().lock();
+        try {
+            addUnlocked(value);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String value) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(key(value));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rename(String oldValue, String newValue) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(key(oldValue));
+            addUnlocked(newValue);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Names sharing at least {@link #MIN_SIMILARITY} of the term's trigrams, most similar first. Equally similar
+     * names are ordered by length, so the one with the fewest extra characters wins, then alphabetically.
+     */
+    public List<String> search(String term, int limit) {
+        Set<String> termTrigrams = trigrams(key(term));
+        Map<String, Integer> shared = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String trigram : termTrigrams) {
+                for (String key : postings.getOrDefault(trigram, Set.of())) {
+                    shared.merge(key, 1, Integer::sum);
+                }
+            }
+
+            int required = (int) Math.ceil(termTrigrams.size() * MIN_SIMILARITY);
+            List<String> matches = new ArrayList<>();
+            shared.forEach((key, count) -> {
+                if (count >= required) {
+                    matches.add(key);
+                }
+            });
+            matches.sort(Comparator.<String>comparingInt(shared::get).reversed()
+                    .thenComparingInt(String::length)
+                    .thenComparing(Comparator.naturalOrder()));
+
+            return matches.stream().limit(limit).map(values::get).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<String> best(String term) {
+        return search(term, 1).stream().findFirst();
+    }
+
+    private void addUnlocked(String value) {
+        String key = key(value);
+        values.put(key, value);
+        if (counts.merge(key, 1, Integer::sum) == 1) {
+            trigrams(key).forEach(trigram -> postings.computeIfAbsent(trigram, t -> new HashSet<>()).add(key));
+        }
+    }
+
+    private void removeUnlocked(String key) {
+        Integer count = counts.get(key);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            counts.put(key, count - 1);
+            return;
+        }
+        counts.remove(key);
+        values.remove(key);
+        for (String trigram : trigrams(key)) {
+            Set<String> keys = postings.get(trigram);
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    // Each word is padded with two leading blanks and one trailing blank, as pg_trgm does, so that word
+    // boundaries count towards the similarity
+    static Set<String> trigrams(String key) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : key.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,2 @@
+alter table book
+    add column version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+create index idx_book_publish_year_id on book (publish_year, id);
+create index idx_book_pages_id on book (pages, id);
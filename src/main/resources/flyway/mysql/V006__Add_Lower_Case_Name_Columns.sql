@@ -0,0 +1,13 @@
+alter table book
+    add column name_lower VARCHAR(255) GENERATED ALWAYS AS (LOWER(name));
+alter table book
+    add column publisher_lower VARCHAR(255) GENERATED ALWAYS AS (LOWER(publisher));
+alter table author
+    add column name_lower VARCHAR(255) GENERATED ALWAYS AS (LOWER(name));
+alter table keyword
+    add column name_lower VARCHAR(255) GENERATED ALWAYS AS (LOWER(name));
+
+create index idx_book_name_lower on book (name_lower);
+create index idx_book_publisher_lower on book (publisher_lower);
+create index idx_author_name_lower on author (name_lower);
+create index idx_keyword_name_lower on keyword (name_lower);
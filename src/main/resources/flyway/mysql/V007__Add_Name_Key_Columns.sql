@@ -0,0 +1,6 @@
+alter table author
+    add column name_key VARCHAR(255);
+alter table keyword
+    add column name_key VARCHAR(255);
+alter table language
+    add column name_key VARCHAR(255);
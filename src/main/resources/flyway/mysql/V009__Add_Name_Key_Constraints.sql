@@ -0,0 +1,6 @@
+alter table author
+    add constraint uk_author_name_key unique (name_key);
+alter table keyword
+    add constraint uk_keyword_name_key unique (name_key);
+alter table language
+    add constraint uk_language_name_key unique (name_key);
@@ -0,0 +1,13 @@
+alter table author
+    add column book_count BIGINT NOT NULL DEFAULT 0;
+alter table keyword
+    add column book_count BIGINT NOT NULL DEFAULT 0;
+alter table language
+    add column book_count BIGINT NOT NULL DEFAULT 0;
+
+update author a
+set book_count = (select count(*) from book_author ba where ba.author_id = a.id);
+update keyword k
+set book_count = (select count(*) from book_keyword bk where bk.keyword_id = k.id);
+update language l
+set book_count = (select count(*) from book_language bl where bl.language_id = l.id);
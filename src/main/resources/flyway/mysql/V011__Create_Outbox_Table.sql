@@ -0,0 +1,10 @@
+CREATE TABLE outbox
+(
+    id           BIGINT PRIMARY KEY AUTO_INCREMENT,
+    book_id      BIGINT       NOT NULL,
+    change_type  VARCHAR(16)  NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    published_at TIMESTAMP(6) NULL
+);
+
+create index idx_outbox_published_at on outbox (published_at, id);
@@ -0,0 +1,33 @@
+CREATE TABLE book_search
+(
+    book_id     BIGINT PRIMARY KEY,
+    isbn_digits VARCHAR(32),
+    FOREIGN KEY (book_id) REFERENCES book (id)
+);
+
+create index idx_book_search_isbn_digits on book_search (isbn_digits);
+
+CREATE TABLE book_search_tag
+(
+    tag_type VARCHAR(16) NOT NULL,
+    tag_id   BIGINT      NOT NULL,
+    book_id  BIGINT      NOT NULL,
+    PRIMARY KEY (tag_type, tag_id, book_id),
+    FOREIGN KEY (book_id) REFERENCES book_search (book_id)
+);
+
+create index idx_book_search_tag_book_id on book_search_tag (book_id);
+
+-- From here on BookSearchProjector keeps the rows current in the transaction that changes the book
+insert into book_search (book_id, isbn_digits)
+select id, regexp_replace(isbn, '[^0-9]', '')
+from book;
+insert into book_search_tag (tag_type, tag_id, book_id)
+select 'author', author_id, book_id
+from book_author;
+insert into book_search_tag (tag_type, tag_id, book_id)
+select 'keyword', keyword_id, book_id
+from book_keyword;
+insert into book_search_tag (tag_type, tag_id, book_id)
+select 'language', language_id, book_id
+from book_language;
@@ -0,0 +1,10 @@
+CREATE TABLE outbox_state
+(
+    id             INT PRIMARY KEY,
+    purged_through BIGINT NOT NULL
+);
+
+INSERT INTO outbox_state (id, purged_through)
+VALUES (1, 0);
+
+create index idx_outbox_created_at on outbox (created_at, id);
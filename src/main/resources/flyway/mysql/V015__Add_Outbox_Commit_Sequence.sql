@@ -0,0 +1,16 @@
+alter table outbox_state
+    add column last_sequence BIGINT NOT NULL DEFAULT 0;
+alter table outbox
+    add column sequence BIGINT NULL;
+
+-- Changes recorded so far keep their ids, which are the tokens clients already hold
+update outbox
+set sequence = id;
+update outbox_state
+set last_sequence = (select coalesce(max(id), 0) from outbox);
+
+alter table outbox
+    modify sequence BIGINT NOT NULL;
+create unique index idx_outbox_sequence on outbox (sequence);
+drop index idx_outbox_published_at on outbox;
+create index idx_outbox_published_at on outbox (published_at, sequence);
@@ -1,8 +1,17 @@
 package ro.georgepostelnicu.app;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.jdbc.Sql;
+import ro.georgepostelnicu.app.service.FuzzySearchService;
+import ro.georgepostelnicu.app.service.SuggestService;
+
+import static ro.georgepostelnicu.app.config.CacheConfiguration.TAG_NAME_KEYS;
 
 @SpringBootTest
 @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD, scripts = {
@@ -10,4 +19,28 @@ import org.springframework.test.context.jdbc.Sql;
 })
 @Import(ObjectMapperConfiguration.class)
 public abstract class AbstractIntegrationTest {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SuggestService suggestService;
+
+    @Autowired
+    private FuzzySearchService fuzzySearchService;
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        // The clean-up script deletes rows behind Hibernate's back. Named query regions are only evicted once this
+        // context used them, but their JCache caches are shared with the other test contexts
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictAllRegions();
+        cache.evictQueryRegion(TAG_NAME_KEYS);
+        suggestService.rebuild();
+        fuzzySearchService.rebuild();
+    }
 }
@@ -0,0 +1,90 @@
+package ro.georgepostelnicu.app.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ro.georgepostelnicu.app.util.StringUtil;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares {@link StringUtil#splitCapitalizeAndJoin} with the split/stream implementation it replaced, over a bulk
+ * import sized batch of tag names. Run {@link #main} after {@code mvn test-compile}; the GC profiler reports the
+ * bytes allocated per operation next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StringUtilBenchmark {
+    private static final String[] WORDS = {"estonian", "ART", "Architecture", "of", "the", "SOVIET", "era",
+            "kumu", "Museum", "20th", "century", "LANDSCAPES"};
+    private static final int NAMES = 20_000;
+
+    private String[] rawNames;
+    private String[] capitalizedNames;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        rawNames = new String[NAMES];
+        for (int i = 0; i < NAMES; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int word = 0, words = 1 + random.nextInt(3); word < words; word++) {
+                name.append(word == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            rawNames[i] = name.toString();
+        }
+        capitalizedNames = Arrays.stream(rawNames).map(StringUtil::splitCapitalizeAndJoin).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public void capitalizeRawNames(Blackhole blackhole) {
+        for (String name : rawNames) {
+            blackhole.consume(StringUtil.splitCapitalizeAndJoin(name));
+        }
+    }
+
+    @Benchmark
+    public void capitalizeCapitalizedNames(Blackhole blackhole) {
+        for (String name : capitalizedNames) {
+            blackhole.consume(StringUtil.splitCapitalizeAndJoin(name));
+        }
+    }
+
+    @Benchmark
+    public void splitAndStreamRawNames(Blackhole blackhole) {
+        for (String name : rawNames) {
+            blackhole.consume(splitAndStream(name));
+        }
+    }
+
+    @Benchmark
+    public void splitAndStreamCapitalizedNames(Blackhole blackhole) {
+        for (String name : capitalizedNames) {
+            blackhole.consume(splitAndStream(name));
+        }
+    }
+
+    // The previous implementation, kept here as the baseline
+    private static String splitAndStream(String text) {
+        return Arrays.stream(text.split(" ", -1))
+                .map(s -> s.isEmpty() ? "" : s.substring(0, 1).toUpperCase() + s.toLowerCase().substring(1))
+                .collect(Collectors.joining(" "));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StringUtilBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,31 @@
+package ro.georgepostelnicu.app.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ro.georgepostelnicu.app.AbstractIntegrationTest;
+import ro.georgepostelnicu.app.migration.V008__Backfill_Name_Keys;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MigrationConfigurationTest extends AbstractIntegrationTest {
+    private final Flyway flyway;
+
+    @Autowired
+    MigrationConfigurationTest(Flyway flyway) {
+        this.flyway = flyway;
+    }
+
+    @Test
+    void flyway_appliesTheJavaMigration_fromItsBean() {
+        List<String> applied = Arrays.stream(flyway.info().applied())
+                .map(MigrationInfo::getScript)
+                .toList();
+
+        assertTrue(applied.contains(V008__Backfill_Name_Keys.class.getName()));
+    }
+}
@@ -0,0 +1,45 @@
+package ro.georgepostelnicu.app.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.annotation.ReflectiveRuntimeHintsRegistrar;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import ro.georgepostelnicu.app.Application;
+import ro.georgepostelnicu.app.dto.TagCountsResponseDto;
+import ro.georgepostelnicu.app.dto.book.BookResponseDto;
+import ro.georgepostelnicu.app.event.BookChange;
+import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.TagCount;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeRuntimeHintsTest {
+
+    @Test
+    void registerHints_coversEntitiesMigrationsAndCacheConfiguration() {
+        RuntimeHints hints = new RuntimeHints();
+
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Book.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TagCount.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("flyway/mysql/V001__Create_Initialize_Tables.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("application.conf").test(hints));
+    }
+
+    @Test
+    void application_registersTheDocumentsWrittenOutsideControllers_forBinding() {
+        RuntimeHints hints = new RuntimeHints();
+
+        new ReflectiveRuntimeHintsRegistrar().registerRuntimeHints(hints, Application.class);
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(BookResponseDto.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(BookChange.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TagCountsResponseDto.class).test(hints));
+    }
+}
@@ -0,0 +1,52 @@
+package ro.georgepostelnicu.app.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SampledSqlStatementInspectorTest {
+    private static final String SQL = "select b1_0.id from book b1_0 where b1_0.id=?";
+
+    @Test
+    void inspect_returnsTheStatementUnchanged() {
+        SampledSqlStatementInspector inspector = new SampledSqlStatementInspector(1);
+
+        assertEquals(SQL, inspector.inspect(SQL));
+    }
+
+    @Test
+    void sampled_picksOneInEverySampleRateStatements() {
+        SampledSqlStatementInspector inspector = new SampledSqlStatementInspector(3);
+
+        assertEquals(2, IntStream.range(0, 6).filter(i -> inspector.sampled()).count());
+    }
+
+    @Test
+    void sampled_isFalse_whenSamplingIsOff() {
+        SampledSqlStatementInspector inspector = new SampledSqlStatementInspector(0);
+
+        assertEquals(0, IntStream.range(0, 6).filter(i -> inspector.sampled()).count());
+    }
+
+    @Test
+    void caller_isTheInnermostApplicationMethod() throws Exception {
+        assertEquals("config.SampledSqlStatementInspectorTest.caller_isTheInnermostApplicationMethod",
+                SampledSqlStatementInspector.caller());
+        assertEquals("unknown", CompletableFuture.supplyAsync(SampledSqlStatementInspector::caller).get());
+    }
+
+    @Test
+    void isApplicationFrame_skipsGeneratedProxies_andClassesOutsideTheApplication() {
+        assertTrue(SampledSqlStatementInspector.isApplicationFrame("ro.georgepostelnicu.app.service.BookService"));
+        assertFalse(SampledSqlStatementInspector.isApplicationFrame(
+                "ro.georgepostelnicu.app.service.BookService$$SpringCGLIB$$0"));
+        assertFalse(SampledSqlStatementInspector.isApplicationFrame(SampledSqlStatementInspector.class.getName()));
+        assertFalse(SampledSqlStatementInspector.isApplicationFrame(SlowSqlStatementLogger.class.getName()));
+        assertFalse(SampledSqlStatementInspector.isApplicationFrame("org.hibernate.engine.jdbc.internal.Foo"));
+    }
+}
@@ -0,0 +1,49 @@
+package ro.georgepostelnicu.app.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ro.georgepostelnicu.app.AbstractIntegrationTest;
+
+import java.sql.Statement;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class SlowSqlStatementLoggerTest extends AbstractIntegrationTest {
+    private static final String SQL = "select b1_0.id from book b1_0 where b1_0.id=?";
+
+    @Test
+    void hibernate_usesTheSlowSqlStatementLogger(@Autowired EntityManagerFactory entityManagerFactory) {
+        SqlStatementLogger logger = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(SqlStatementLogger.class);
+
+        assertInstanceOf(SlowSqlStatementLogger.class, logger);
+    }
+
+    @Test
+    void slow_isTrue_onlyAboveTheThreshold() {
+        SlowSqlStatementLogger logger = new SlowSqlStatementLogger(false, false, false, 200);
+
+        assertFalse(logger.slow(200));
+        assertTrue(logger.slow(201));
+    }
+
+    @Test
+    void logSlowQuery_logsStatementsOverTheThreshold_andIgnoresTheStartTime_whenOff() {
+        long startedLongAgo = System.nanoTime() - MILLISECONDS.toNanos(500);
+        SlowSqlStatementLogger logging = new SlowSqlStatementLogger(false, false, false, 200);
+        SlowSqlStatementLogger off = new SlowSqlStatementLogger(false, false, false, 0);
+
+        assertDoesNotThrow(() -> logging.logSlowQuery(SQL, startedLongAgo, null));
+        assertDoesNotThrow(() -> logging.logSlowQuery(mock(Statement.class), System.nanoTime(), null));
+        assertDoesNotThrow(() -> off.logSlowQuery(SQL, 0, null));
+    }
+}
@@ -9,24 +9,34 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ro.georgepostelnicu.app.AbstractIntegrationTest;
 import ro.georgepostelnicu.app.dto.ErrorDto;
+import ro.georgepostelnicu.app.dto.TagCountsResponseDto;
+import ro.georgepostelnicu.app.dto.TagUpsertsResponseDto;
 import ro.georgepostelnicu.app.dto.author.AuthorDto;
 import ro.georgepostelnicu.app.dto.author.AuthorResponseDto;
 import ro.georgepostelnicu.app.dto.author.AuthorsDto;
 import ro.georgepostelnicu.app.dto.author.AuthorsResponseDto;
 import ro.georgepostelnicu.app.model.Author;
+import ro.georgepostelnicu.app.service.BookService;
 import ro.georgepostelnicu.app.service.AuthorService;
 
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ro.georgepostelnicu.app.DataCommon.*;
 import static ro.georgepostelnicu.app.controller.ApiPrefix.AUTHORS;
 import static ro.georgepostelnicu.app.controller.ApiPrefix.BULK;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.SEARCH;
 import static ro.georgepostelnicu.app.controller.GlobalControllerAdvice.BAD_REQUEST_ERROR_TYPE;
+import static ro.georgepostelnicu.app.dto.UpsertOutcome.CREATED;
+import static ro.georgepostelnicu.app.dto.UpsertOutcome.EXISTING;
 import static ro.georgepostelnicu.app.exception.EntityAlreadyExistException.ENTITY_ALREADY_HAS_A;
 import static ro.georgepostelnicu.app.exception.EntityNotFoundException.CANNOT_FIND_ENTITY_ID;
 import static ro.georgepostelnicu.app.model.EntityName.AUTHOR;
@@ -35,13 +45,16 @@ class AuthorControllerTest extends AbstractIntegrationTest {
 
     private final AuthorController controller;
     private final AuthorService service;
+    private final BookService bookService;
     private final ObjectMapper objectMapper;
     private MockMvc mockMvc;
 
     @Autowired
-    AuthorControllerTest(AuthorController controller, AuthorService service, ObjectMapper objectMapper) {
+    AuthorControllerTest(AuthorController controller, AuthorService service, BookService bookService,
+            ObjectMapper objectMapper) {
         this.controller = controller;
         this.service = service;
+        this.bookService = bookService;
         this.objectMapper = objectMapper;
     }
 
@@ -74,7 +87,7 @@ class AuthorControllerTest extends AbstractIntegrationTest {
     @Test
     void createBulk_shouldThrowException_whenAnyOfTheAuthorsAlreadyExists() throws Exception {
         AuthorsDto dto = new AuthorsDto();
-        dto.setAuthors(Set.of(LINDA, BART));
+        dto.setAuthors(new LinkedHashSet<>(List.of(BART, LINDA)));
         service.createBulk(dto);
 
         String responseString = this.mockMvc.perform(
@@ -237,4 +250,104 @@ class AuthorControllerTest extends AbstractIntegrationTest {
         assertEquals(BAD_REQUEST_ERROR_TYPE, errorDto.getTitle());
         assertEquals(String.format(CANNOT_FIND_ENTITY_ID, AUTHOR, ID_NOT_FOUND), errorDto.getDetail());
     }
+
+    @Test
+    void search_shouldReturn200_andEntriesStartingWithPrefix() throws Exception {
+        AuthorsDto dto = new AuthorsDto();
+        dto.setAuthors(Set.of(LINDA, KADI, KAJA, BART));
+        service.createBulk(dto);
+
+        String responseString = this.mockMvc.perform(
+                        get(AUTHORS + SEARCH)
+                                .queryParam("prefix", "ka"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        AuthorsResponseDto responseDto = objectMapper.readValue(responseString, AuthorsResponseDto.class);
+
+        assertEquals(2, responseDto.getElements().size());
+        assertEquals(KADI, responseDto.getElements().getFirst().getName());
+    }
+
+    @Test
+    void search_shouldReturn200_andSimilarEntries_whenFuzzy() throws Exception {
+        AuthorsDto dto = new AuthorsDto();
+        dto.setAuthors(Set.of(LINDA, KADI, KAJA, BART));
+        service.createBulk(dto);
+
+        String responseString = this.mockMvc.perform(
+                        get(AUTHORS + SEARCH)
+                                .queryParam("prefix", "Poli")
+                                .queryParam("fuzzy", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        AuthorsResponseDto responseDto = objectMapper.readValue(responseString, AuthorsResponseDto.class);
+
+        assertEquals(1, responseDto.getElements().size());
+        assertEquals(KADI, responseDto.getElements().getFirst().getName());
+    }
+
+    @Test
+    void upsertBulk_shouldReturn200_andOutcomePerName() throws Exception {
+        service.create(new AuthorDto(LINDA));
+        AuthorsDto dto = new AuthorsDto();
+        dto.setAuthors(new LinkedHashSet<>(List.of("linda kalijündi", KADI)));
+
+        String responseString = this.mockMvc.perform(
+                        post(AUTHORS + BULK)
+                                .queryParam("mode", "upsert")
+                                .content(objectMapper.writeValueAsString(dto))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        TagUpsertsResponseDto responseDto = objectMapper.readValue(responseString, TagUpsertsResponseDto.class);
+
+        assertEquals(2, responseDto.getElements().size());
+        assertEquals(LINDA, responseDto.elementAt(0).getName());
+        assertEquals(EXISTING, responseDto.elementAt(0).getOutcome());
+        assertEquals(KADI, responseDto.elementAt(1).getName());
+        assertEquals(CREATED, responseDto.elementAt(1).getOutcome());
+    }
+
+    @Test
+    void list_shouldReturn200_withBookCountsAndNextCursor() throws Exception {
+        bookService.create(landscapesOfIdentity());
+        service.create(new AuthorDto("Unused Author"));
+
+        TagCountsResponseDto fullPage = list("0", "2", "0");
+        TagCountsResponseDto linkedOnly = list("0", "20", "1");
+
+        assertEquals(2, fullPage.getElements().size());
+        assertEquals(fullPage.elementAt(1).getId(), fullPage.getNext());
+        assertTrue(linkedOnly.getElements().stream().allMatch(dto -> dto.getBookCount() == 1));
+        assertNull(linkedOnly.getNext());
+    }
+
+    @Test
+    void list_shouldReturn400_whenSizeIsOutOfRange() throws Exception {
+        this.mockMvc.perform(get(AUTHORS).queryParam("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private TagCountsResponseDto list(String after, String size, String minBooks) throws Exception {
+        String responseString = this.mockMvc.perform(
+                        get(AUTHORS)
+                                .queryParam("after", after)
+                                .queryParam("size", size)
+                                .queryParam("min_books", minBooks))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(responseString, TagCountsResponseDto.class);
+    }
 }
@@ -0,0 +1,45 @@
+package ro.georgepostelnicu.app.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ro.georgepostelnicu.app.AbstractIntegrationTest;
+import ro.georgepostelnicu.app.repository.BookSpecificationRepository;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.BOOKS;
+
+/**
+ * Fails the search query to check that the error is answered before the response body starts streaming.
+ */
+class BookControllerSearchFailureTest extends AbstractIntegrationTest {
+    private final MockMvc mockMvc;
+
+    @MockitoSpyBean
+    private BookSpecificationRepository repository;
+
+    @Autowired
+    BookControllerSearchFailureTest(BookController controller) {
+        this.mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalControllerAdvice()).build();
+    }
+
+    @Test
+    void search_shouldReturn500_beforeStreaming_whenTheQueryFails() throws Exception {
+        doThrow(new QueryTimeoutException("Query timed out")).when(repository).search(any(), any());
+
+        mockMvc.perform(get(BOOKS))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+    }
+}
@@ -5,19 +5,23 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ro.georgepostelnicu.app.AbstractIntegrationTest;
+import ro.georgepostelnicu.app.dto.PageResponseDto;
 import ro.georgepostelnicu.app.dto.book.BookDto;
 import ro.georgepostelnicu.app.dto.book.BookResponseDto;
 import ro.georgepostelnicu.app.model.CoverType;
 import ro.georgepostelnicu.app.service.BookService;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ro.georgepostelnicu.app.DataCommon.*;
 import static ro.georgepostelnicu.app.controller.ApiPrefix.BOOKS;
@@ -50,33 +54,38 @@ class BookControllerSearchParamsTest extends AbstractIntegrationTest {
         BookDto other = oneHundredStepsThrough20thCenturyEstonianArchitecture();
         service.create(other);
 
-        String responseString = mockMvc.perform(
-                        get(BOOKS)
-                                .queryParam("page", "0")
-                                .queryParam("size", "10")
-                                .queryParam("name", "*AND*")
-                                .queryParam("full_title", "*Soviet Era*")
-                                .queryParam("description", "LOREM*")
-                                .queryParam("isbn", "ISBN 978-9949*")
-                                .queryParam("barcode", "9789949*")
-                                .queryParam("authors", KAJA)
-                                .queryParam("keywords", ART)
-                                .queryParam("languages", ENGLISH)
-                                .queryParam("publisher", ART_MUSEUM_OF_ESTONIA)
-                                .queryParam("cover_type", CoverType.SOFTCOVER_WITH_DUST_JACKET.name())
-                                .queryParam("min_year", String.valueOf(2021))
-                                .queryParam("max_year", String.valueOf(2023))
-                                .queryParam("min_pages", String.valueOf(ESTONIAN_ART_BOOKS_PAGE_NR))
-                                .queryParam("max_pages", String.valueOf(ESTONIAN_ART_BOOKS_PAGE_NR))
-                                .contentType(MediaType.APPLICATION_JSON))
+        String responseString = search(get(BOOKS)
+                .queryParam("page", "0")
+                .queryParam("size", "10")
+                .queryParam("name", "*AND*")
+                .queryParam("full_title", "*Soviet Era*")
+                .queryParam("description", "LOREM*")
+                .queryParam("isbn", "ISBN 978-9949*")
+                .queryParam("barcode", "9789949*")
+                .queryParam("authors", KAJA)
+                .queryParam("keywords", ART)
+                .queryParam("languages", ENGLISH)
+                .queryParam("publisher", ART_MUSEUM_OF_ESTONIA)
+                .queryParam("cover_type", CoverType.SOFTCOVER_WITH_DUST_JACKET.name())
+                .queryParam("min_year", String.valueOf(2021))
+                .queryParam("max_year", String.valueOf(2023))
+                .queryParam("min_pages", String.valueOf(ESTONIAN_ART_BOOKS_PAGE_NR))
+                .queryParam("max_pages", String.valueOf(ESTONIAN_ART_BOOKS_PAGE_NR)));
+
+        PageResponseDto<BookResponseDto> page = objectMapper.readValue(responseString, new TypeReference<>() {});
+        assertTrue(page.getTotal() >= 1);
+        assertTrue(page.getContent().stream().anyMatch(b -> b.getName().equals(CONFLICTS_AND_ADAPTATIONS)));
+    }
+
+    private String search(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult started = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andReturn()
                 .getResponse()
                 .getContentAsString();
-
-        Page<BookResponseDto> page = objectMapper.readValue(responseString, new TypeReference<>() {});
-        assertTrue(page.getTotalElements() >= 1);
-        assertTrue(page.getContent().stream().anyMatch(b -> b.getName().equals(CONFLICTS_AND_ADAPTATIONS)));
     }
 }
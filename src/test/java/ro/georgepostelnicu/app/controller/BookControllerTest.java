@@ -5,16 +5,26 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import ro.georgepostelnicu.app.AbstractIntegrationTest;
 import ro.georgepostelnicu.app.dto.ErrorDto;
+import ro.georgepostelnicu.app.dto.PageResponseDto;
 import ro.georgepostelnicu.app.dto.author.AuthorResponseDto;
+import ro.georgepostelnicu.app.dto.book.BookChangesResponseDto;
 import ro.georgepostelnicu.app.dto.book.BookDto;
+import ro.georgepostelnicu.app.dto.book.BookFacetsDto;
 import ro.georgepostelnicu.app.dto.book.BookResponseDto;
+import ro.georgepostelnicu.app.dto.book.BookStatusResponseDto;
+import ro.georgepostelnicu.app.dto.book.BookStatusesDto;
+import ro.georgepostelnicu.app.dto.book.BookStatusesResponseDto;
+import ro.georgepostelnicu.app.dto.book.BookSummaryDto;
+import ro.georgepostelnicu.app.dto.book.BookVersionDto;
 import ro.georgepostelnicu.app.dto.keyword.KeywordResponseDto;
 import ro.georgepostelnicu.app.dto.language.LanguageResponseDto;
 import ro.georgepostelnicu.app.exception.EntityNotFoundException;
@@ -28,13 +38,25 @@ import java.util.stream.Collectors;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ro.georgepostelnicu.app.DataCommon.*;
 import static ro.georgepostelnicu.app.controller.ApiPrefix.BOOKS;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.BULK;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.CHANGES;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.EXPORT;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.FACETS;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.STATUS;
 import static ro.georgepostelnicu.app.controller.GlobalControllerAdvice.BAD_REQUEST_ERROR_TYPE;
 import static ro.georgepostelnicu.app.exception.EntityAlreadyExistException.ENTITY_ALREADY_HAS_A;
 import static ro.georgepostelnicu.app.exception.EntityNotFoundException.CANNOT_FIND_ENTITY_ID;
+import static ro.georgepostelnicu.app.exception.SyncTokenExpiredException.CHANGES_PURGED;
+import static ro.georgepostelnicu.app.dto.book.StatusUpdateOutcome.UPDATED;
+import static ro.georgepostelnicu.app.model.BookChangeType.CREATED;
+import static ro.georgepostelnicu.app.model.BookChangeType.DELETED;
 import static ro.georgepostelnicu.app.model.EntityName.BOOK;
+import static ro.georgepostelnicu.app.model.StatusType.LENT;
 
 class BookControllerTest extends AbstractIntegrationTest {
 
@@ -236,31 +258,186 @@ class BookControllerTest extends AbstractIntegrationTest {
     }
 
     @Test
-    @Transactional
     void search_shouldReturn200_andListOfBooks() throws Exception {
         BookDto book1 = landscapesOfIdentity();
         BookDto book2 = conflictsAndAdaptations();
         service.create(book1);
         service.create(book2);
 
+        String responseString = search(get(BOOKS)
+                .queryParam("min_year", "2021")
+                .queryParam("languages", ENGLISH));
+
+        PageResponseDto<BookResponseDto> responseDtoList = objectMapper.readValue(responseString, new TypeReference<>() {});
+        List<BookResponseDto> responseBooks = responseDtoList.getContent();
+
+        assertNotNull(responseBooks);
+        assertEquals(2, responseBooks.size());
+        assertEquals(book1.getName(), responseBooks.get(0).getName());
+        assertEquals(book2.getName(), responseBooks.get(1).getName());
+        assertNull(responseDtoList.getNext());
+        assertEquals(2, responseDtoList.getTotal());
+    }
+
+    @Test
+    void search_shouldReturn200_andNextPage_whenMoreBooksMatch() throws Exception {
+        service.create(landscapesOfIdentity());
+        service.create(conflictsAndAdaptations());
+        service.create(oneHundredFiftyHouses());
+
+        String responseString = search(get(BOOKS)
+                .queryParam("page", "1")
+                .queryParam("size", "1"));
+
+        PageResponseDto<BookResponseDto> page = objectMapper.readValue(responseString, new TypeReference<>() {});
+
+        assertEquals(1, page.getContent().size());
+        assertEquals(CONFLICTS_AND_ADAPTATIONS, page.getContent().getFirst().getName());
+        assertEquals(2, page.getNext());
+        assertEquals(3, page.getTotal());
+    }
+
+    @Test
+    void updateStatus_shouldReturn200_andOutcomePerBook() throws Exception {
+        Book book = service.create(landscapesOfIdentity());
+        BookStatusesDto dto = new BookStatusesDto();
+        dto.setStatus(LENT);
+        dto.setBooks(List.of(new BookVersionDto(book.getId(), book.getVersion())));
+
         String responseString = mockMvc.perform(
-                        get(BOOKS)
+                        patch(BOOKS + BULK + STATUS)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        BookStatusesResponseDto responseDto = objectMapper.readValue(responseString, BookStatusesResponseDto.class);
+        BookStatusResponseDto outcome = responseDto.getElements().getFirst();
+
+        assertEquals(1, responseDto.getElements().size());
+        assertEquals(book.getId(), outcome.getId());
+        assertEquals(book.getVersion() + 1, outcome.getVersion());
+        assertEquals(UPDATED, outcome.getOutcome());
+        assertEquals(LENT, service.read(book.getId()).getStatus());
+    }
+
+    @Test
+    void search_shouldReturn200_andSummaries_whenViewIsSummary() throws Exception {
+        service.create(landscapesOfIdentity());
+        service.create(conflictsAndAdaptations());
+
+        String responseString = search(get(BOOKS)
+                .queryParam("view", "summary")
+                .queryParam("publisher", ART_MUSEUM_OF_ESTONIA));
+
+        PageResponseDto<BookSummaryDto> page = objectMapper.readValue(responseString, new TypeReference<>() {});
+        BookSummaryDto summary = page.getContent().getFirst();
+
+        assertEquals(2, page.getTotal());
+        assertEquals(LANDSCAPES_OF_IDENTITY, summary.getName());
+        assertEquals(List.of(BART, KADI, KAJA, LINDA), summary.getAuthors());
+        assertFalse(responseString.contains(LOREM_IPSUM));
+    }
+
+    @Test
+    void search_shouldReturn400_whenViewIsNotSupported() throws Exception {
+        mockMvc.perform(get(BOOKS).queryParam("view", "compact"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+    }
+
+    @Test
+    void search_shouldReturn200_andMatchMisspelledTerms_whenFuzzy() throws Exception {
+        service.create(landscapesOfIdentity());
+        service.create(conflictsAndAdaptations());
+
+        String responseString = search(get(BOOKS)
+                .queryParam("name", "Landscapes of Identiy")
+                .queryParam("authors", "Kadi Poli")
+                .queryParam("fuzzy", "true"));
+
+        PageResponseDto<BookResponseDto> page = objectMapper.readValue(responseString, new TypeReference<>() {});
+
+        assertEquals(1, page.getTotal());
+        assertEquals(LANDSCAPES_OF_IDENTITY, page.getContent().getFirst().getName());
+    }
+
+    @Test
+    void facets_shouldReturn200_andTopCountsForMatchingBooks() throws Exception {
+        service.create(landscapesOfIdentity());
+        service.create(conflictsAndAdaptations());
+        service.create(oneHundredFiftyHouses());
+
+        String responseString = mockMvc.perform(
+                        get(BOOKS + FACETS)
                                 .queryParam("min_year", "2021")
-                                .queryParam("languages", ENGLISH)
-                                .contentType(MediaType.APPLICATION_JSON))
+                                .queryParam("cover_type", "SOFTCOVER_WITH_DUST_JACKET")
+                                .queryParam("limit", "1"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andReturn()
                 .getResponse()
                 .getContentAsString();
 
-        Page<BookResponseDto> responseDtoList = objectMapper.readValue(responseString, new TypeReference<>() {});
-        List<BookResponseDto> responseBooks = responseDtoList.getContent();
+        BookFacetsDto facets = objectMapper.readValue(responseString, BookFacetsDto.class);
 
-        assertNotNull(responseBooks);
-        assertEquals(2, responseBooks.size());
-        assertEquals(book1.getName(), responseBooks.get(0).getName());
-        assertEquals(book2.getName(), responseBooks.get(1).getName());
+        assertEquals(1, facets.getAuthors().size());
+        assertEquals(KAJA, facets.getAuthors().getFirst().getValue());
+        assertEquals(2, facets.getAuthors().getFirst().getCount());
+        assertEquals("2020", facets.getDecades().getFirst().getValue());
+        assertEquals(2, facets.getDecades().getFirst().getCount());
+    }
+
+    @Test
+    void facets_shouldReturn400_whenLimitIsOutOfRange() throws Exception {
+        mockMvc.perform(get(BOOKS + FACETS).queryParam("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void export_shouldStreamNdjson_byDefault() throws Exception {
+        service.create(landscapesOfIdentity());
+        service.create(conflictsAndAdaptations());
+
+        MvcResult started = mockMvc.perform(get(BOOKS + EXPORT))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String responseString = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"books.ndjson\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(2, responseString.lines().count());
+    }
+
+    @Test
+    void export_shouldStreamCsv_whenFormatIsCsv() throws Exception {
+        service.create(landscapesOfIdentity());
+
+        MvcResult started = mockMvc.perform(get(BOOKS + EXPORT).queryParam("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String responseString = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(2, responseString.lines().count());
+    }
+
+    @Test
+    void export_shouldReturn400_whenFormatIsNotSupported() throws Exception {
+        mockMvc.perform(get(BOOKS + EXPORT).queryParam("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
     }
 
     private static Set<String> getAuthorNames(Set<AuthorResponseDto> authors) {
@@ -274,4 +451,66 @@ class BookControllerTest extends AbstractIntegrationTest {
     private static Set<String> getLanguageNames(Set<LanguageResponseDto> languages) {
         return languages.stream().map(LanguageResponseDto::getName).collect(Collectors.toSet());
     }
-}
\ No newline at end of file
+
+    @Test
+    void changes_shouldReturn200_withChangedBooksAndNextToken() throws Exception {
+        Book landscapes = service.create(landscapesOfIdentity());
+        Book conflicts = service.create(conflictsAndAdaptations());
+        service.delete(landscapes.getId());
+
+        BookChangesResponseDto responseDto = changes("0");
+
+        assertEquals(2, responseDto.size());
+        assertEquals(conflicts.getId(), responseDto.elementAt(0).getId());
+        assertEquals(CREATED, responseDto.elementAt(0).getType());
+        assertEquals(CONFLICTS_AND_ADAPTATIONS, responseDto.elementAt(0).getBook().getName());
+        assertEquals(landscapes.getId(), responseDto.elementAt(1).getId());
+        assertEquals(DELETED, responseDto.elementAt(1).getType());
+        assertNull(responseDto.elementAt(1).getBook());
+        assertEquals(0, changes(responseDto.getNext().toString()).size());
+    }
+
+    @Test
+    void changes_shouldReturn400_whenLimitIsOutOfRange() throws Exception {
+        this.mockMvc.perform(get(BOOKS + CHANGES).queryParam("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void changes_shouldReturn410_whenChangesAfterTheTokenWerePurged(@Autowired JdbcTemplate jdbcTemplate)
+            throws Exception {
+        jdbcTemplate.update("update outbox_state set purged_through = 7");
+
+        String responseString = this.mockMvc.perform(get(BOOKS + CHANGES).queryParam("since", "5"))
+                .andExpect(status().isGone())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(String.format(CHANGES_PURGED, 5, 7, 7),
+                objectMapper.readValue(responseString, ErrorDto.class).getDetail());
+    }
+
+    private BookChangesResponseDto changes(String since) throws Exception {
+        String responseString = this.mockMvc.perform(get(BOOKS + CHANGES).queryParam("since", since))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(responseString, BookChangesResponseDto.class);
+    }
+
+    private String search(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult started = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+}
@@ -7,15 +7,27 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ro.georgepostelnicu.app.dto.ErrorDto;
+import ro.georgepostelnicu.app.exception.EntityAlreadyLinkedException;
+import ro.georgepostelnicu.app.exception.EntityNotFoundException;
+import ro.georgepostelnicu.app.exception.EntityValidationException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ro.georgepostelnicu.app.DataCommon.ART;
 import static ro.georgepostelnicu.app.controller.GlobalControllerAdvice.APPLICATION_ERROR_TYPE;
+import static ro.georgepostelnicu.app.controller.GlobalControllerAdvice.BAD_REQUEST_ERROR_TYPE;
+import static ro.georgepostelnicu.app.controller.GlobalControllerAdvice.REQUEST_ID_HEADER;
+import static ro.georgepostelnicu.app.exception.EntityAlreadyLinkedException.ENTITY_ALREADY_HAS_A_LINK;
+import static ro.georgepostelnicu.app.exception.EntityValidationException.ENTITY_VALIDATION_FAILURE;
+import static ro.georgepostelnicu.app.model.EntityName.BOOK;
+import static ro.georgepostelnicu.app.service.BookService.NAME_IS_REQUIRED;
 
 /**
- * Covers the generic exception path in GlobalControllerAdvice (500 error).
+ * Covers the generic exception path in GlobalControllerAdvice (500 error), the 400 responses of domain exceptions no
+ * controller test reaches, and the request ids of error responses.
  */
 class GlobalControllerAdviceTest {
 
@@ -46,6 +58,62 @@ class GlobalControllerAdviceTest {
         assertEquals(500, dto.getStatus().value());
     }
 
+    @Test
+    void handleNotFound_reusesTheIncomingRequestId() throws Exception {
+        var mvcResult = mockMvc.perform(get("/api/test/missing").header(REQUEST_ID_HEADER, "req-42.a_b"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(REQUEST_ID_HEADER, "req-42.a_b"))
+                .andReturn();
+
+        ErrorDto dto = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), ErrorDto.class);
+
+        assertEquals("req-42.a_b", dto.getTraceId());
+    }
+
+    @Test
+    void handleNotFound_generatesRequestIds_whenTheIncomingOneIsMissingOrUnusable() throws Exception {
+        String generated = mockMvc.perform(get("/api/test/missing"))
+                .andExpect(status().isNotFound())
+                .andReturn()
+                .getResponse()
+                .getHeader(REQUEST_ID_HEADER);
+        String replaced = mockMvc.perform(get("/api/test/missing").header(REQUEST_ID_HEADER, "id\nforged log line"))
+                .andExpect(status().isNotFound())
+                .andReturn()
+                .getResponse()
+                .getHeader(REQUEST_ID_HEADER);
+
+        assertEquals(36, generated.length());
+        assertEquals(36, replaced.length());
+        assertNotEquals(generated, replaced);
+    }
+
+    @Test
+    void handleValidation_returnsBadRequest() throws Exception {
+        var mvcResult = mockMvc.perform(get("/api/test/invalid"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andReturn();
+
+        ErrorDto dto = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), ErrorDto.class);
+
+        assertEquals(BAD_REQUEST_ERROR_TYPE, dto.getTitle());
+        assertEquals(String.format(ENTITY_VALIDATION_FAILURE, BOOK, NAME_IS_REQUIRED), dto.getDetail());
+    }
+
+    @Test
+    void handleAlreadyLinked_returnsBadRequest() throws Exception {
+        var mvcResult = mockMvc.perform(get("/api/test/linked"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andReturn();
+
+        ErrorDto dto = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), ErrorDto.class);
+
+        assertEquals(BAD_REQUEST_ERROR_TYPE, dto.getTitle());
+        assertEquals(String.format(ENTITY_ALREADY_HAS_A_LINK, BOOK, ART), dto.getDetail());
+    }
+
     // Minimal controller used only for triggering an uncaught exception handled by advice
     @org.springframework.web.bind.annotation.RestController
     static class ThrowingController {
@@ -53,5 +121,20 @@ class GlobalControllerAdviceTest {
         public String boom() {
             throw new RuntimeException("boom");
         }
+
+        @org.springframework.web.bind.annotation.GetMapping("/api/test/missing")
+        public String missing() {
+            throw new EntityNotFoundException(BOOK, 1L);
+        }
+
+        @org.springframework.web.bind.annotation.GetMapping("/api/test/invalid")
+        public String invalid() {
+            throw new EntityValidationException(BOOK, NAME_IS_REQUIRED);
+        }
+
+        @org.springframework.web.bind.annotation.GetMapping("/api/test/linked")
+        public String linked() {
+            throw new EntityAlreadyLinkedException(BOOK, ART);
+        }
     }
 }
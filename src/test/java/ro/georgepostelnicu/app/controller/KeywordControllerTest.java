@@ -9,24 +9,34 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ro.georgepostelnicu.app.AbstractIntegrationTest;
 import ro.georgepostelnicu.app.dto.ErrorDto;
+import ro.georgepostelnicu.app.dto.TagCountsResponseDto;
+import ro.georgepostelnicu.app.dto.TagUpsertsResponseDto;
 import ro.georgepostelnicu.app.dto.keyword.KeywordDto;
 import ro.georgepostelnicu.app.dto.keyword.KeywordResponseDto;
 import ro.georgepostelnicu.app.dto.keyword.KeywordsDto;
 import ro.georgepostelnicu.app.dto.keyword.KeywordsResponseDto;
 import ro.georgepostelnicu.app.model.Keyword;
+import ro.georgepostelnicu.app.service.BookService;
 import ro.georgepostelnicu.app.service.KeywordService;
 
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ro.georgepostelnicu.app.DataCommon.*;
 import static ro.georgepostelnicu.app.controller.ApiPrefix.BULK;
 import static ro.georgepostelnicu.app.controller.ApiPrefix.KEYWORDS;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.SEARCH;
 import static ro.georgepostelnicu.app.controller.GlobalControllerAdvice.BAD_REQUEST_ERROR_TYPE;
+import static ro.georgepostelnicu.app.dto.UpsertOutcome.CREATED;
+import static ro.georgepostelnicu.app.dto.UpsertOutcome.EXISTING;
 import static ro.georgepostelnicu.app.exception.EntityAlreadyExistException.ENTITY_ALREADY_HAS_A;
 import static ro.georgepostelnicu.app.exception.EntityNotFoundException.CANNOT_FIND_ENTITY_ID;
 import static ro.georgepostelnicu.app.model.EntityName.KEYWORD;
@@ -34,13 +44,16 @@ import static ro.georgepostelnicu.app.model.EntityName.KEYWORD;
 class KeywordControllerTest extends AbstractIntegrationTest {
     private final KeywordController controller;
     private final KeywordService service;
+    private final BookService bookService;
     private final ObjectMapper objectMapper;
     private MockMvc mockMvc;
 
     @Autowired
-    KeywordControllerTest(KeywordController controller, KeywordService service, ObjectMapper objectMapper) {
+    KeywordControllerTest(KeywordController controller, KeywordService service, BookService bookService,
+            ObjectMapper objectMapper) {
         this.controller = controller;
         this.service = service;
+        this.bookService = bookService;
         this.objectMapper = objectMapper;
     }
 
@@ -73,7 +86,7 @@ class KeywordControllerTest extends AbstractIntegrationTest {
     @Test
     void createBulk_shouldThrowException_whenAnyOfTheKeywordsAlreadyExists() throws Exception {
         KeywordsDto dto = new KeywordsDto();
-        dto.setKeywords(Set.of(ART, ARCHITECTURE));
+        dto.setKeywords(new LinkedHashSet<>(List.of(ART, ARCHITECTURE)));
         service.createBulk(dto);
 
         String responseString = this.mockMvc.perform(
@@ -236,4 +249,104 @@ class KeywordControllerTest extends AbstractIntegrationTest {
         assertEquals(BAD_REQUEST_ERROR_TYPE, errorDto.getTitle());
         assertEquals(String.format(CANNOT_FIND_ENTITY_ID, KEYWORD, ID_NOT_FOUND), errorDto.getDetail());
     }
+
+    @Test
+    void search_shouldReturn200_andEntriesStartingWithPrefix() throws Exception {
+        KeywordsDto dto = new KeywordsDto();
+        dto.setKeywords(Set.of(ART, ARCHITECTURE, FINANCE));
+        service.createBulk(dto);
+
+        String responseString = this.mockMvc.perform(
+                        get(KEYWORDS + SEARCH)
+                                .queryParam("prefix", "ar"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        KeywordsResponseDto responseDto = objectMapper.readValue(responseString, KeywordsResponseDto.class);
+
+        assertEquals(2, responseDto.getElements().size());
+        assertEquals(ARCHITECTURE, responseDto.getElements().getFirst().getName());
+    }
+
+    @Test
+    void search_shouldReturn200_andSimilarEntries_whenFuzzy() throws Exception {
+        KeywordsDto dto = new KeywordsDto();
+        dto.setKeywords(Set.of(ART, ARCHITECTURE, FINANCE));
+        service.createBulk(dto);
+
+        String responseString = this.mockMvc.perform(
+                        get(KEYWORDS + SEARCH)
+                                .queryParam("prefix", "architektur")
+                                .queryParam("fuzzy", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        KeywordsResponseDto responseDto = objectMapper.readValue(responseString, KeywordsResponseDto.class);
+
+        assertEquals(1, responseDto.getElements().size());
+        assertEquals(ARCHITECTURE, responseDto.getElements().getFirst().getName());
+    }
+
+    @Test
+    void upsertBulk_shouldReturn200_andOutcomePerName() throws Exception {
+        service.create(new KeywordDto(ART));
+        KeywordsDto dto = new KeywordsDto();
+        dto.setKeywords(new LinkedHashSet<>(List.of("art", FINANCE)));
+
+        String responseString = this.mockMvc.perform(
+                        post(KEYWORDS + BULK)
+                                .queryParam("mode", "upsert")
+                                .content(objectMapper.writeValueAsString(dto))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        TagUpsertsResponseDto responseDto = objectMapper.readValue(responseString, TagUpsertsResponseDto.class);
+
+        assertEquals(2, responseDto.getElements().size());
+        assertEquals(ART, responseDto.elementAt(0).getName());
+        assertEquals(EXISTING, responseDto.elementAt(0).getOutcome());
+        assertEquals(FINANCE, responseDto.elementAt(1).getName());
+        assertEquals(CREATED, responseDto.elementAt(1).getOutcome());
+    }
+
+    @Test
+    void list_shouldReturn200_withBookCountsAndNextCursor() throws Exception {
+        bookService.create(landscapesOfIdentity());
+        service.create(new KeywordDto(ARCHITECTURE));
+
+        TagCountsResponseDto fullPage = list("0", "2", "0");
+        TagCountsResponseDto linkedOnly = list("0", "20", "1");
+
+        assertEquals(2, fullPage.getElements().size());
+        assertEquals(fullPage.elementAt(1).getId(), fullPage.getNext());
+        assertTrue(linkedOnly.getElements().stream().allMatch(dto -> dto.getBookCount() == 1));
+        assertNull(linkedOnly.getNext());
+    }
+
+    @Test
+    void list_shouldReturn400_whenSizeIsOutOfRange() throws Exception {
+        this.mockMvc.perform(get(KEYWORDS).queryParam("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private TagCountsResponseDto list(String after, String size, String minBooks) throws Exception {
+        String responseString = this.mockMvc.perform(
+                        get(KEYWORDS)
+                                .queryParam("after", after)
+                                .queryParam("size", size)
+                                .queryParam("min_books", minBooks))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(responseString, TagCountsResponseDto.class);
+    }
 }
@@ -10,24 +10,33 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ro.georgepostelnicu.app.AbstractIntegrationTest;
 import ro.georgepostelnicu.app.dto.ErrorDto;
+import ro.georgepostelnicu.app.dto.TagCountsResponseDto;
+import ro.georgepostelnicu.app.dto.TagUpsertsResponseDto;
 import ro.georgepostelnicu.app.dto.language.LanguageDto;
 import ro.georgepostelnicu.app.dto.language.LanguageResponseDto;
 import ro.georgepostelnicu.app.dto.language.LanguagesDto;
 import ro.georgepostelnicu.app.dto.language.LanguagesResponseDto;
 import ro.georgepostelnicu.app.model.Language;
+import ro.georgepostelnicu.app.service.BookService;
 import ro.georgepostelnicu.app.service.LanguageService;
 
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static ro.georgepostelnicu.app.DataCommon.*;
 import static ro.georgepostelnicu.app.controller.ApiPrefix.BULK;
 import static ro.georgepostelnicu.app.controller.ApiPrefix.LANGUAGES;
 import static ro.georgepostelnicu.app.controller.GlobalControllerAdvice.BAD_REQUEST_ERROR_TYPE;
+import static ro.georgepostelnicu.app.dto.UpsertOutcome.CREATED;
+import static ro.georgepostelnicu.app.dto.UpsertOutcome.EXISTING;
 import static ro.georgepostelnicu.app.exception.EntityAlreadyExistException.ENTITY_ALREADY_HAS_A;
 import static ro.georgepostelnicu.app.exception.EntityNotFoundException.CANNOT_FIND_ENTITY_ID;
 import static ro.georgepostelnicu.app.model.EntityName.LANGUAGE;
@@ -36,13 +45,16 @@ class LanguageControllerTest extends AbstractIntegrationTest {
 
     private final LanguageController controller;
     private final LanguageService service;
+    private final BookService bookService;
     private final ObjectMapper objectMapper;
     private MockMvc mockMvc;
 
     @Autowired
-    LanguageControllerTest(LanguageController controller, LanguageService service, ObjectMapper objectMapper) {
+    LanguageControllerTest(LanguageController controller, LanguageService service, BookService bookService,
+            ObjectMapper objectMapper) {
         this.controller = controller;
         this.service = service;
+        this.bookService = bookService;
         this.objectMapper = objectMapper;
     }
 
@@ -76,7 +88,7 @@ class LanguageControllerTest extends AbstractIntegrationTest {
     @Test
     void createBulk_shouldThrowException_whenAnyOfTheLanguagesAlreadyExists() throws Exception {
         LanguagesDto languagesDto = new LanguagesDto();
-        languagesDto.setLanguages(Set.of(ENGLISH, FRENCH));
+        languagesDto.setLanguages(new LinkedHashSet<>(List.of(ENGLISH, FRENCH)));
         service.createBulk(languagesDto);
 
         String responseString = this.mockMvc
@@ -246,4 +258,63 @@ class LanguageControllerTest extends AbstractIntegrationTest {
         assertEquals(BAD_REQUEST_ERROR_TYPE, errorDto.getTitle());
         assertEquals(String.format(CANNOT_FIND_ENTITY_ID, LANGUAGE, ID_NOT_FOUND), errorDto.getDetail());
     }
+
+    @Test
+    void upsertBulk_shouldReturn200_andOutcomePerName() throws Exception {
+        service.create(new LanguageDto(ENGLISH));
+        LanguagesDto dto = new LanguagesDto();
+        dto.setLanguages(new LinkedHashSet<>(List.of("english", FRENCH)));
+
+        String responseString = this.mockMvc.perform(
+                        post(LANGUAGES + BULK)
+                                .queryParam("mode", "upsert")
+                                .content(objectMapper.writeValueAsString(dto))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        TagUpsertsResponseDto responseDto = objectMapper.readValue(responseString, TagUpsertsResponseDto.class);
+
+        assertEquals(2, responseDto.getElements().size());
+        assertEquals(ENGLISH, responseDto.elementAt(0).getName());
+        assertEquals(EXISTING, responseDto.elementAt(0).getOutcome());
+        assertEquals(FRENCH, responseDto.elementAt(1).getName());
+        assertEquals(CREATED, responseDto.elementAt(1).getOutcome());
+    }
+
+    @Test
+    void list_shouldReturn200_withBookCountsAndNextCursor() throws Exception {
+        bookService.create(oneHundredStepsThrough20thCenturyEstonianArchitecture());
+        service.create(new LanguageDto(FRENCH));
+
+        TagCountsResponseDto fullPage = list("0", "2", "0");
+        TagCountsResponseDto linkedOnly = list("0", "20", "1");
+
+        assertEquals(2, fullPage.getElements().size());
+        assertEquals(fullPage.elementAt(1).getId(), fullPage.getNext());
+        assertTrue(linkedOnly.getElements().stream().allMatch(dto -> dto.getBookCount() == 1));
+        assertNull(linkedOnly.getNext());
+    }
+
+    @Test
+    void list_shouldReturn400_whenSizeIsOutOfRange() throws Exception {
+        this.mockMvc.perform(get(LANGUAGES).queryParam("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private TagCountsResponseDto list(String after, String size, String minBooks) throws Exception {
+        String responseString = this.mockMvc.perform(
+                        get(LANGUAGES)
+                                .queryParam("after", after)
+                                .queryParam("size", size)
+                                .queryParam("min_books", minBooks))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(responseString, TagCountsResponseDto.class);
+    }
 }
@@ -0,0 +1,70 @@
+package ro.georgepostelnicu.app.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ro.georgepostelnicu.app.AbstractIntegrationTest;
+import ro.georgepostelnicu.app.dto.suggest.SuggestionsResponseDto;
+import ro.georgepostelnicu.app.service.BookService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ro.georgepostelnicu.app.DataCommon.*;
+import static ro.georgepostelnicu.app.controller.ApiPrefix.SUGGEST;
+
+class SuggestControllerTest extends AbstractIntegrationTest {
+    private final SuggestController controller;
+    private final BookService bookService;
+    private final ObjectMapper objectMapper;
+    private MockMvc mockMvc;
+
+    @Autowired
+    SuggestControllerTest(SuggestController controller, BookService bookService, ObjectMapper objectMapper) {
+        this.controller = controller;
+        this.bookService = bookService;
+        this.objectMapper = objectMapper;
+    }
+
+    @BeforeEach
+    public void setup() {
+        this.mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalControllerAdvice()).build();
+    }
+
+    @Test
+    void suggest_shouldReturn200_andMostUsedNamesFirst() throws Exception {
+        bookService.create(landscapesOfIdentity());
+        bookService.create(conflictsAndAdaptations());
+
+        String responseString = this.mockMvc.perform(
+                        get(SUGGEST)
+                                .queryParam("type", "author")
+                                .queryParam("prefix", "Ka")
+                                .queryParam("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        SuggestionsResponseDto responseDto = objectMapper.readValue(responseString, SuggestionsResponseDto.class);
+
+        assertEquals(1, responseDto.getElements().size());
+        assertEquals(KAJA, responseDto.getElements().getFirst().getValue());
+        assertEquals(2, responseDto.getElements().getFirst().getWeight());
+    }
+
+    @Test
+    void suggest_shouldReturn400_whenTypeIsNotSupported() throws Exception {
+        mockMvc.perform(get(SUGGEST)
+                        .queryParam("type", "isbn")
+                        .queryParam("prefix", "978"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+    }
+}
@@ -0,0 +1,45 @@
+package ro.georgepostelnicu.app.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ro.georgepostelnicu.app.model.BookChangeType.CREATED;
+import static ro.georgepostelnicu.app.model.BookChangeType.DELETED;
+
+class NdjsonFileBookChangeSinkTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void deliver_appendsOneJsonLinePerChange(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("book-changes.ndjson");
+        NdjsonFileBookChangeSink sink = new NdjsonFileBookChangeSink(file, objectMapper);
+        BookChange created = new BookChange(1L, 7L, CREATED, Instant.parse("2025-01-01T10:00:00Z"));
+        BookChange deleted = new BookChange(2L, 7L, DELETED, Instant.parse("2025-01-01T10:05:00Z"));
+
+        sink.deliver(List.of(created));
+        sink.deliver(List.of(deleted));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertEquals(created, objectMapper.readValue(lines.get(0), BookChange.class));
+        assertEquals(deleted, objectMapper.readValue(lines.get(1), BookChange.class));
+    }
+
+    @Test
+    void deliver_throwsUncheckedException_whenFileCannotBeWritten(@TempDir Path directory) {
+        NdjsonFileBookChangeSink sink = new NdjsonFileBookChangeSink(directory, objectMapper);
+        List<BookChange> changes = List.of(new BookChange(1L, 7L, CREATED, Instant.now()));
+
+        assertThrows(UncheckedIOException.class, () -> sink.deliver(changes));
+    }
+}
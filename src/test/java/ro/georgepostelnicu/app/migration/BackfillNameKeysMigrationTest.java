@@ -0,0 +1,67 @@
+package ro.georgepostelnicu.app.migration;
+
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BackfillNameKeysMigrationTest {
+
+    @Test
+    void migrate_fillsNameKeys_andMergesNamesFoldingToTheSameKey() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:backfill;MODE=MYSQL")) {
+            execute(connection,
+                    "create table book (id bigint primary key)",
+                    "create table author (id bigint primary key, name varchar(255), name_key varchar(255))",
+                    "create table keyword (id bigint primary key, name varchar(255), name_key varchar(255))",
+                    "create table language (id bigint primary key, name varchar(255), name_key varchar(255))",
+                    "create table book_author (book_id bigint, author_id bigint, primary key (book_id, author_id))",
+                    "create table book_keyword (book_id bigint, keyword_id bigint, primary key (book_id, keyword_id))",
+                    "create table book_language (book_id bigint, language_id bigint, primary key (book_id, language_id))",
+                    "insert into book values (10), (11)",
+                    "insert into author values (1, 'Linda Kalijundi', null), (2, 'Linda  Kalijündi', null), " +
+                            "(3, 'Kadi Polli', null)",
+                    "insert into book_author values (10, 1), (10, 2), (11, 2)",
+                    "insert into keyword values (1, 'Estonian Art', null)");
+            Context context = mock(Context.class);
+            when(context.getConnection()).thenReturn(connection);
+
+            new V008__Backfill_Name_Keys().migrate(context);
+
+            assertEquals(List.of("1:linda kalijundi", "3:kadi polli"),
+                    query(connection, "select id || ':' || name_key from author order by id"));
+            assertEquals(List.of("10:1", "11:1"),
+                    query(connection, "select book_id || ':' || author_id from book_author order by book_id"));
+            assertEquals(List.of("estonian art"), query(connection, "select name_key from keyword"));
+        }
+    }
+
+    private static void execute(Connection connection, String... statements) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private static List<String> query(Connection connection, String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(sql)) {
+            while (rows.next()) {
+                values.add(rows.getString(1));
+            }
+        }
+        return values;
+    }
+}
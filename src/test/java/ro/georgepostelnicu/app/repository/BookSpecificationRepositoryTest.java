@@ -4,16 +4,20 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ro.georgepostelnicu.app.AbstractIntegrationTest;
 import ro.georgepostelnicu.app.model.Book;
 import ro.georgepostelnicu.app.model.BookSearchCriteria;
+import ro.georgepostelnicu.app.model.BookSummary;
 import ro.georgepostelnicu.app.service.BookService;
 
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static ro.georgepostelnicu.app.DataCommon.*;
 
 class BookSpecificationRepositoryTest extends AbstractIntegrationTest {
@@ -83,6 +87,90 @@ class BookSpecificationRepositoryTest extends AbstractIntegrationTest {
         assertFound(barcodeWildcard, estonianBookNames());
     }
 
+    @Test
+    void search_matchesTagsAndIsbnDigits_throughTheSearchEntry() {
+        BookSearchCriteria isbnDigits = new BookSearchCriteria(null, null, null, "9789401462044", null,
+                null, null, null,
+                null, null, null,
+                null, null, null);
+        assertFound(isbnDigits, Set.of(HOUSES_YOU_NEED_TO_VISIT_BEFORE_YOU_DIE));
+
+        BookSearchCriteria isbnWithoutDigits = new BookSearchCriteria(null, null, null, "ISBN", null,
+                null, null, null,
+                null, null, null,
+                null, null, null);
+        assertFound(isbnWithoutDigits, Set.of());
+
+        BookSearchCriteria unknownAuthor = new BookSearchCriteria(null, null, null, null, null,
+                Set.of(KAJA, NOT_FOUND), null, null,
+                null, null, null,
+                null, null, null);
+        assertFound(unknownAuthor, Set.of());
+    }
+
+    @Test
+    void search_matchesTagNamesDifferingOnlyInCase_asOneTag() {
+        BookSearchCriteria sameAuthorTwice = new BookSearchCriteria(null, null, null, null, null,
+                Set.of(KAJA, KAJA.toUpperCase()), null, null,
+                null, null, null,
+                null, null, null);
+        BookSearchCriteria author = new BookSearchCriteria(null, null, null, null, null,
+                Set.of(KAJA), null, null,
+                null, null, null,
+                null, null, null);
+
+        Set<String> expectedNames = repository.search(author, SIZE).getContent().stream()
+                .map(Book::getName)
+                .collect(Collectors.toSet());
+
+        assertTrue(expectedNames.contains(LANDSCAPES_OF_IDENTITY));
+        assertFound(sameAuthorTwice, expectedNames);
+    }
+
+    @Test
+    void searchSummaries_returnsProjectedColumnsAndSortedAuthorNames() {
+        BookSearchCriteria publisher = new BookSearchCriteria(null, null, null, null, null,
+                null, null, null,
+                ART_MUSEUM_OF_ESTONIA, null, null,
+                null, null, null);
+
+        Page<BookSummary> page = repository.searchSummaries(publisher, SIZE);
+
+        assertEquals(2, page.getTotalElements());
+        BookSummary landscapes = page.getContent().getFirst();
+        assertEquals(LANDSCAPES_OF_IDENTITY, landscapes.name());
+        assertEquals(ART_MUSEUM_OF_ESTONIA, landscapes.publisher());
+        assertEquals(List.of(BART, KADI, KAJA, LINDA), landscapes.authors());
+        assertEquals(estonianArtBookNames(), page.getContent().stream().map(BookSummary::name).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void searchSummaries_countsAllMatches_whenPageIsSmallerThanResult() {
+        BookSearchCriteria all = new BookSearchCriteria(null, null, null, null, null,
+                null, null, null,
+                null, null, null,
+                null, null, null);
+
+        Page<BookSummary> page = repository.searchSummaries(all, PageRequest.of(1, 1));
+
+        assertEquals(4, page.getTotalElements());
+        assertEquals(1, page.getContent().size());
+        assertEquals(CONFLICTS_AND_ADAPTATIONS, page.getContent().getFirst().name());
+    }
+
+    @Test
+    void searchSummaries_returnsEmptyPage_whenNothingMatches() {
+        BookSearchCriteria publisher = new BookSearchCriteria(null, null, null, null, null,
+                null, null, null,
+                NOT_FOUND, null, null,
+                null, null, null);
+
+        Page<BookSummary> page = repository.searchSummaries(publisher, SIZE);
+
+        assertEquals(0, page.getTotalElements());
+        assertTrue(page.getContent().isEmpty());
+    }
+
     private void assertFound(BookSearchCriteria criteria, Set<String> expectedNames) {
         Page<Book> page = repository.search(criteria, SIZE);
         assertEquals(expectedNames.size(), page.getTotalElements());
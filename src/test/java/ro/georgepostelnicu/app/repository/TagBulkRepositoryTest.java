@@ -0,0 +1,50 @@
+package ro.georgepostelnicu.app.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.georgepostelnicu.app.AbstractIntegrationTest;
+import ro.georgepostelnicu.app.model.TagRow;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ro.georgepostelnicu.app.model.EntityName.KEYWORD;
+
+class TagBulkRepositoryTest extends AbstractIntegrationTest {
+    private final TagBulkRepository repository;
+    private final TransactionTemplate transaction;
+
+    @Autowired
+    TagBulkRepositoryTest(TagBulkRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void insertIgnoringDuplicates_skipsKeysAlreadyStored() {
+        transaction.executeWithoutResult(status ->
+                repository.insertIgnoringDuplicates(KEYWORD, List.of(new TagRow(null, "Art", "art"))));
+
+        transaction.executeWithoutResult(status -> repository.insertIgnoringDuplicates(KEYWORD,
+                List.of(new TagRow(null, "ART", "art"), new TagRow(null, "Design", "design"))));
+
+        List<TagRow> rows = repository.findByNameKeys(KEYWORD, List.of("art", "design"));
+        assertEquals(2, rows.size());
+        assertTrue(rows.stream().anyMatch(row -> row.name().equals("Art")));
+    }
+
+    @Test
+    void insertIgnoringDuplicates_rejectsOverLongNames() {
+        String name = "a".repeat(256);
+
+        assertThrows(DataIntegrityViolationException.class, () -> transaction.executeWithoutResult(status ->
+                repository.insertIgnoringDuplicates(KEYWORD, List.of(new TagRow(null, name, name)))));
+
+        assertTrue(repository.findByNameKeys(KEYWORD, List.of(name)).isEmpty());
+    }
+}
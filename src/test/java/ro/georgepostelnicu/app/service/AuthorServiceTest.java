@@ -1,5 +1,6 @@
 package ro.georgepostelnicu.app.service;
 
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,6 +13,7 @@ import ro.georgepostelnicu.app.exception.EntityAlreadyLinkedException;
 import ro.georgepostelnicu.app.exception.EntityNotFoundException;
 import ro.georgepostelnicu.app.model.Author;
 import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.TagCount;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -29,11 +31,13 @@ class AuthorServiceTest extends AbstractIntegrationTest {
 
     private final AuthorService service;
     private final BookService bookService;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Autowired
-    AuthorServiceTest(AuthorService service, BookService bookService) {
+    AuthorServiceTest(AuthorService service, BookService bookService, EntityManagerFactory entityManagerFactory) {
         this.service = service;
         this.bookService = bookService;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     @Test
@@ -73,6 +77,17 @@ class AuthorServiceTest extends AbstractIntegrationTest {
         assertEquals(0, author.getBooks().size());
     }
 
+    @Test
+    void createAndUpdate_returnTheGeneratedLowerCaseName() {
+        Author author = service.create(new AuthorDto(LINDA));
+
+        assertEquals(LINDA.toLowerCase(), author.getNameLower());
+
+        Author updated = service.update(author.getId(), new AuthorDto(BART));
+
+        assertEquals(BART.toLowerCase(), updated.getNameLower());
+    }
+
     @Test
     void create_throwsException_whenAuthorExistsCaseInsensitive() {
         AuthorDto dto = new AuthorDto(LINDA);
@@ -84,6 +99,16 @@ class AuthorServiceTest extends AbstractIntegrationTest {
         assertEquals(String.format(ENTITY_ALREADY_HAS_A, AUTHOR, LINDA), ex.getMessage());
     }
 
+    @Test
+    void create_throwsException_whenAuthorExistsWithoutAccents() {
+        service.create(new AuthorDto(LINDA));
+
+        AuthorDto fail = new AuthorDto("Linda Kalijündi");
+        EntityAlreadyExistException ex = assertThrows(EntityAlreadyExistException.class, () -> service.create(fail));
+
+        assertEquals(String.format(ENTITY_ALREADY_HAS_A, AUTHOR, "Linda Kalijündi"), ex.getMessage());
+    }
+
     @Test
     void createIfNotExisting_isSuccessful() {
         AuthorDto dto = new AuthorDto(LINDA);
@@ -105,6 +130,16 @@ class AuthorServiceTest extends AbstractIntegrationTest {
         assertEquals(author.getBooks(), existing.getBooks());
     }
 
+    @Test
+    void createIfNotExisting_returnsExistingAuthor_whenNameFoldsToSameKey() {
+        Author author = service.createIfNotExisting(new AuthorDto(LINDA));
+        Author existing = service.createIfNotExisting(new AuthorDto("linda-KALIJÜNDI"));
+
+        assertEquals(author.getId(), existing.getId());
+        assertEquals(LINDA, existing.getName());
+        assertEquals("linda kalijundi", existing.getNameKey());
+    }
+
     @Test
     @Transactional
     void read_isSuccessful() {
@@ -116,6 +151,17 @@ class AuthorServiceTest extends AbstractIntegrationTest {
         assertEquals(author.getBooks(), existing.getBooks());
     }
 
+    @Test
+    void read_keepsAuthorInSecondLevelCache_whenBooksAreLinkedToIt() {
+        Author author = service.create(new AuthorDto(KAJA));
+        service.read(author.getId());
+
+        bookService.create(landscapesOfIdentity());
+
+        assertTrue(entityManagerFactory.getCache().contains(Author.class, author.getId()));
+        assertEquals(KAJA, service.read(author.getId()).getName());
+    }
+
     @Test
     void read_throwsException_whenIdDoesntExist() {
         EntityNotFoundException ex = assertThrows(EntityNotFoundException.class, () -> service.read(ID_NOT_FOUND));
@@ -178,4 +224,43 @@ class AuthorServiceTest extends AbstractIntegrationTest {
 
         assertEquals(String.format(ENTITY_ALREADY_HAS_A_LINK, AUTHOR, BART), ex.getMessage());
     }
+
+    @Test
+    void searchByPrefix_returnsMatchingAuthorsOrderedByName_ignoringCase() {
+        AuthorsDto dto = new AuthorsDto();
+        dto.setAuthors(Set.of(LINDA, KADI, KAJA, BART));
+        service.createBulk(dto);
+
+        assertEquals(List.of(KADI, KAJA), service.searchByPrefix("ka").stream().map(Author::getName).toList());
+        assertEquals(List.of(KADI), service.searchByPrefix("KAD").stream().map(Author::getName).toList());
+        assertTrue(service.searchByPrefix("zz").isEmpty());
+    }
+
+    @Test
+    void searchSimilar_returnsAuthorsCloseToMisspelledName() {
+        AuthorsDto dto = new AuthorsDto();
+        dto.setAuthors(Set.of(LINDA, KADI, KAJA, BART));
+        service.createBulk(dto);
+
+        assertEquals(List.of(KAJA), service.searchSimilar("Kaja Kahrk").stream().map(Author::getName).toList());
+        assertEquals(List.of(KADI), service.searchSimilar("poli").stream().map(Author::getName).toList());
+        assertTrue(service.searchSimilar("zz").isEmpty());
+    }
+
+    @Test
+    void listBookCounts_pagesById_andFiltersByMinimumBookCount() {
+        bookService.create(landscapesOfIdentity());
+        bookService.create(conflictsAndAdaptations());
+        Author unused = service.create(new AuthorDto("Unused Author"));
+
+        List<TagCount> firstPage = service.listBookCounts(0, 0, 5);
+        List<TagCount> lastPage = service.listBookCounts(firstPage.getLast().id(), 0, 5);
+
+        assertEquals(5, firstPage.size());
+        assertEquals(3, lastPage.size());
+        assertTrue(firstPage.getLast().id() < lastPage.getFirst().id());
+        assertEquals(new TagCount(unused.getId(), unused.getName(), 0L), lastPage.getLast());
+        assertEquals(List.of(KAJA), service.listBookCounts(0, 2, 5).stream().map(TagCount::name).toList());
+        assertTrue(service.listBookCounts(0, 3, 5).isEmpty());
+    }
 }
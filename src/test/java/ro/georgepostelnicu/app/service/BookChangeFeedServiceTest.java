@@ -0,0 +1,114 @@
+package ro.georgepostelnicu.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.georgepostelnicu.app.AbstractIntegrationTest;
+import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.BookFeedEntry;
+import ro.georgepostelnicu.app.model.BookFeedPage;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+import static ro.georgepostelnicu.app.DataCommon.*;
+import static ro.georgepostelnicu.app.model.BookChangeType.CREATED;
+import static ro.georgepostelnicu.app.model.BookChangeType.DELETED;
+import static ro.georgepostelnicu.app.model.BookChangeType.UPDATED;
+
+class BookChangeFeedServiceTest extends AbstractIntegrationTest {
+    private final BookChangeFeedService service;
+    private final BookService bookService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transaction;
+
+    @Autowired
+    BookChangeFeedServiceTest(BookChangeFeedService service, BookService bookService, OutboxService outboxService,
+                              PlatformTransactionManager transactionManager) {
+        this.service = service;
+        this.bookService = bookService;
+        this.outboxService = outboxService;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void changesSince_returnsNothing_andTheSameToken_whenNothingChanged() {
+        BookFeedPage page = service.changesSince(42, 100);
+
+        assertTrue(page.entries().isEmpty());
+        assertEquals(42, page.next());
+    }
+
+    @Test
+    void changesSince_returnsEveryChangedBookOnce_atItsLatestChange() {
+        Book landscapes = bookService.create(landscapesOfIdentity());
+        Book conflicts = bookService.create(conflictsAndAdaptations());
+        bookService.update(landscapes.getId(), landscapesOfIdentity());
+
+        BookFeedPage page = service.changesSince(0, 100);
+
+        assertEquals(List.of(conflicts.getId(), landscapes.getId()),
+                page.entries().stream().map(BookFeedEntry::bookId).toList());
+        assertEquals(List.of(CREATED, UPDATED), page.entries().stream().map(BookFeedEntry::type).toList());
+        assertEquals(LANDSCAPES_OF_IDENTITY, page.entries().getLast().summary().name());
+        assertEquals(page.entries().getLast().sequence(), page.next());
+        assertTrue(service.changesSince(page.next(), 100).entries().isEmpty());
+    }
+
+    @Test
+    void changesSince_returnsTombstones_forDeletedBooks() {
+        Book landscapes = bookService.create(landscapesOfIdentity());
+        bookService.delete(landscapes.getId());
+
+        BookFeedPage first = service.changesSince(0, 1);
+        BookFeedPage second = service.changesSince(first.next(), 1);
+
+        // The creation is read before the deletion, but the book is already gone
+        assertEquals(new BookFeedEntry(first.next(), landscapes.getId(), DELETED, null), first.entries().getFirst());
+        assertEquals(new BookFeedEntry(second.next(), landscapes.getId(), DELETED, null), second.entries().getFirst());
+    }
+
+    @Test
+    void changesSince_keepsAChange_thatStartedRecordingFirstButCommitsLast() throws Exception {
+        Book landscapes = bookService.create(landscapesOfIdentity());
+        Book conflicts = bookService.create(conflictsAndAdaptations());
+        long token = service.changesSince(0, 100).next();
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        CompletableFuture<Void> late = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            outboxService.record(UPDATED, List.of(landscapes.getId()));
+            recorded.countDown();
+            awaitUninterruptibly(commit);
+        }));
+        recorded.await();
+        CompletableFuture<Void> early = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status ->
+                outboxService.record(UPDATED, List.of(conflicts.getId()))));
+
+        // The second writer cannot commit ahead of the first, so a client polling meanwhile gets no token past it
+        assertThrows(TimeoutException.class, () -> early.get(500, MILLISECONDS));
+        BookFeedPage meanwhile = service.changesSince(token, 100);
+        commit.countDown();
+        late.get();
+        early.get();
+
+        assertTrue(meanwhile.entries().isEmpty());
+        BookFeedPage page = service.changesSince(meanwhile.next(), 100);
+        assertEquals(List.of(landscapes.getId(), conflicts.getId()),
+                page.entries().stream().map(BookFeedEntry::bookId).toList());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ro.georgepostelnicu.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ro.georgepostelnicu.app.AbstractIntegrationTest;
+import ro.georgepostelnicu.app.model.TagCount;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ro.georgepostelnicu.app.DataCommon.*;
+
+class BookCountReconcilerTest extends AbstractIntegrationTest {
+    private final BookCountReconciler reconciler;
+    private final BookService bookService;
+    private final LanguageService languageService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    BookCountReconcilerTest(BookCountReconciler reconciler, BookService bookService, LanguageService languageService,
+                            JdbcTemplate jdbcTemplate) {
+        this.reconciler = reconciler;
+        this.bookService = bookService;
+        this.languageService = languageService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Test
+    void reconcile_repairsNothing_whenCountersMatchLinks() {
+        bookService.create(landscapesOfIdentity());
+        bookService.create(conflictsAndAdaptations());
+
+        assertEquals(0, reconciler.reconcile());
+    }
+
+    @Test
+    void reconcile_repairsCounters_thatDriftedFromLinks() {
+        bookService.create(landscapesOfIdentity());
+        bookService.create(conflictsAndAdaptations());
+        jdbcTemplate.update("update author set book_count = 7 where name = ?", KAJA);
+        jdbcTemplate.update("update keyword set book_count = 0 where name = ?", ART);
+        jdbcTemplate.update("update language set book_count = book_count + 1");
+
+        assertEquals(3, reconciler.reconcile());
+        TagCount english = languageService.listBookCounts(0, 0, 1).getFirst();
+        assertEquals(ENGLISH, english.name());
+        assertEquals(2, english.bookCount());
+        assertEquals(0, reconciler.reconcile());
+    }
+}
@@ -0,0 +1,176 @@
+package ro.georgepostelnicu.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.georgepostelnicu.app.AbstractIntegrationTest;
+import ro.georgepostelnicu.app.dto.author.AuthorDto;
+import ro.georgepostelnicu.app.dto.author.AuthorResponseDto;
+import ro.georgepostelnicu.app.dto.book.BookDto;
+import ro.georgepostelnicu.app.dto.book.BookResponseDto;
+import ro.georgepostelnicu.app.dto.book.BookStatusesDto;
+import ro.georgepostelnicu.app.dto.book.BookVersionDto;
+import ro.georgepostelnicu.app.dto.keyword.KeywordResponseDto;
+import ro.georgepostelnicu.app.dto.language.LanguageResponseDto;
+import ro.georgepostelnicu.app.exception.EntityNotFoundException;
+import ro.georgepostelnicu.app.model.Author;
+import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.Keyword;
+import ro.georgepostelnicu.app.model.Language;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ro.georgepostelnicu.app.DataCommon.*;
+import static ro.georgepostelnicu.app.model.StatusType.LENT;
+
+class BookDocumentServiceTest extends AbstractIntegrationTest {
+    private final BookDocumentService service;
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    BookDocumentServiceTest(BookDocumentService service, BookService bookService, AuthorService authorService,
+                            ObjectMapper objectMapper) {
+        this.service = service;
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Test
+    void read_servesTheCachedDocument_untilTheBookChanges() throws Exception {
+        Book book = bookService.create(landscapesOfIdentity());
+
+        byte[] document = service.read(book.getId());
+
+        assertSame(document, service.read(book.getId()));
+        assertEquals(LANDSCAPES_OF_IDENTITY, read(document).getName());
+
+        BookDto dto = landscapesOfIdentity();
+        dto.setDescription("Dolor sit amet");
+        bookService.update(book.getId(), dto);
+
+        assertEquals("Dolor sit amet", read(service.read(book.getId())).getDescription());
+
+        BookStatusesDto statuses = new BookStatusesDto();
+        statuses.setStatus(LENT);
+        statuses.setBooks(List.of(new BookVersionDto(book.getId(), null)));
+        bookService.updateStatus(statuses);
+
+        assertEquals(LENT, read(service.read(book.getId())).getStatus());
+    }
+
+    @Test
+    void updateStatus_evictsOnlyTheDocumentsOfTheUpdatedBooks() throws Exception {
+        Book landscapes = bookService.create(landscapesOfIdentity());
+        Book conflicts = bookService.create(conflictsAndAdaptations());
+        byte[] untouched = service.read(conflicts.getId());
+        service.read(landscapes.getId());
+
+        BookStatusesDto statuses = new BookStatusesDto();
+        statuses.setStatus(LENT);
+        statuses.setBooks(List.of(new BookVersionDto(landscapes.getId(), null)));
+        bookService.updateStatus(statuses);
+
+        assertEquals(LENT, read(service.read(landscapes.getId())).getStatus());
+        assertSame(untouched, service.read(conflicts.getId()));
+    }
+
+    @Test
+    void read_rendersTheChange_whenTheOldDocumentIsCachedBeforeTheUpdateCommits(
+            @Autowired PlatformTransactionManager transactionManager) throws Exception {
+        Book book = bookService.create(landscapesOfIdentity());
+        BookDto dto = landscapesOfIdentity();
+        dto.setDescription("Dolor sit amet");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            bookService.update(book.getId(), dto);
+            // Another request reads the book before the update is visible and caches the old document
+            CompletableFuture.runAsync(() -> service.read(book.getId())).join();
+        });
+
+        assertEquals("Dolor sit amet", read(service.read(book.getId())).getDescription());
+    }
+
+    @Test
+    void read_rendersTheBookAndItsRelations_fromTheFlatRow() throws Exception {
+        Book book = bookService.create(landscapesOfIdentity());
+
+        BookResponseDto document = read(service.read(book.getId()));
+
+        assertEquals(book.getId(), document.getId());
+        assertEquals(book.getIsbn(), document.getIsbn());
+        assertEquals(book.getCover(), document.getCover());
+        assertEquals(book.getStatus(), document.getStatus());
+        assertEquals(book.getPublishYear(), document.getPublishYear());
+        assertEquals(book.getAuthors().stream().collect(Collectors.toMap(Author::getId, Author::getName)),
+                document.getAuthors().stream()
+                        .collect(Collectors.toMap(AuthorResponseDto::getId, AuthorResponseDto::getName)));
+        assertEquals(book.getKeywords().stream().collect(Collectors.toMap(Keyword::getId, Keyword::getName)),
+                document.getKeywords().stream()
+                        .collect(Collectors.toMap(KeywordResponseDto::getId, KeywordResponseDto::getName)));
+        assertEquals(book.getLanguages().stream().collect(Collectors.toMap(Language::getId, Language::getName)),
+                document.getLanguages().stream()
+                        .collect(Collectors.toMap(LanguageResponseDto::getId, LanguageResponseDto::getName)));
+    }
+
+    @Test
+    void read_rendersEveryRelation_whenTheNamesOfABookRunPastAGroupConcatLimit() throws Exception {
+        BookDto dto = landscapesOfIdentity();
+        List<String> keywords = IntStream.rangeClosed(1, 60)
+                .mapToObj(i -> "Estonian Landscape Painting %02d".formatted(i))
+                .toList();
+        dto.setKeywords(Set.copyOf(keywords));
+        Book book = bookService.create(dto);
+
+        BookResponseDto document = read(service.read(book.getId()));
+
+        assertEquals(Set.copyOf(keywords),
+                document.getKeywords().stream().map(KeywordResponseDto::getName).collect(Collectors.toSet()));
+        assertEquals(Set.of(BART, KADI, KAJA, LINDA),
+                document.getAuthors().stream().map(AuthorResponseDto::getName).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void read_rendersTheNewName_whenALinkedAuthorIsRenamed() throws Exception {
+        Book book = bookService.create(landscapesOfIdentity());
+        service.read(book.getId());
+        Long kajaId = book.getAuthors().stream()
+                .filter(author -> KAJA.equals(author.getName()))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+
+        authorService.update(kajaId, new AuthorDto("Kaja Kährik"));
+
+        Set<String> authors = read(service.read(book.getId())).getAuthors().stream()
+                .map(AuthorResponseDto::getName)
+                .collect(Collectors.toSet());
+        assertTrue(authors.contains("Kaja Kährik"));
+    }
+
+    @Test
+    void read_throwsNotFound_afterTheBookIsDeleted() {
+        Book book = bookService.create(landscapesOfIdentity());
+        service.read(book.getId());
+
+        bookService.delete(book.getId());
+
+        assertThrows(EntityNotFoundException.class, () -> service.read(book.getId()));
+    }
+
+    private BookResponseDto read(byte[] document) throws Exception {
+        return objectMapper.readValue(document, BookResponseDto.class);
+    }
+}
@@ -0,0 +1,119 @@
+package ro.georgepostelnicu.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ro.georgepostelnicu.app.AbstractIntegrationTest;
+import ro.georgepostelnicu.app.dto.book.BookDto;
+import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.BookRow;
+import ro.georgepostelnicu.app.repository.BookExportRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static ro.georgepostelnicu.app.DataCommon.*;
+import static ro.georgepostelnicu.app.model.ExportFormat.CSV;
+import static ro.georgepostelnicu.app.model.ExportFormat.NDJSON;
+import static ro.georgepostelnicu.app.service.BookExportService.CSV_HEADER;
+
+class BookExportServiceTest extends AbstractIntegrationTest {
+    private final BookExportService exportService;
+    private final BookService bookService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    BookExportServiceTest(BookExportService exportService, BookService bookService, ObjectMapper objectMapper) {
+        this.exportService = exportService;
+        this.bookService = bookService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Test
+    void export_writesOneJsonObjectPerLine_withAggregatedRelations() throws IOException {
+        Book landscapes = bookService.create(landscapesOfIdentity());
+        Book houses = bookService.create(oneHundredFiftyHouses());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(NDJSON, out);
+
+        String[] lines = out.toString(UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        BookRow first = objectMapper.readValue(lines[0], BookRow.class);
+        BookRow second = objectMapper.readValue(lines[1], BookRow.class);
+        assertEquals(landscapes.getId(), first.id());
+        assertEquals(LANDSCAPES_OF_IDENTITY, first.name());
+        assertEquals(List.of(BART, KADI, KAJA, LINDA), first.authors());
+        assertEquals(List.of(ART, "Estonian Art", "Kumu Art Museum"), first.keywords());
+        assertEquals(List.of(ENGLISH), first.languages());
+        assertEquals(landscapes.getPublishYear(), first.publishYear());
+        assertEquals(houses.getId(), second.id());
+        assertEquals(HOUSES_YOU_NEED_TO_VISIT_BEFORE_YOU_DIE, second.name());
+    }
+
+    @Test
+    void export_keepsEveryName_whenTheNamesOfABookRunPastAGroupConcatLimit() throws IOException {
+        BookDto dto = landscapesOfIdentity();
+        List<String> keywords = IntStream.rangeClosed(1, 60)
+                .mapToObj(i -> "Estonian Landscape Painting %02d".formatted(i))
+                .toList();
+        dto.setKeywords(Set.copyOf(keywords));
+        bookService.create(dto);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(NDJSON, out);
+
+        BookRow row = objectMapper.readValue(out.toString(UTF_8).trim(), BookRow.class);
+        assertEquals(keywords, row.keywords());
+        assertEquals(List.of(BART, KADI, KAJA, LINDA), row.authors());
+    }
+
+    @Test
+    void export_writesHeaderAndOneLinePerBook_whenFormatIsCsv() throws IOException {
+        Book landscapes = bookService.create(landscapesOfIdentity());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(CSV, out);
+
+        String[] lines = out.toString(UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(CSV_HEADER, lines[0]);
+        assertEquals(landscapes.getId() + ",Landscapes of Identity," + landscapes.getFullTitle() +
+                ",Lorem Ipsum,Art Museum of Estonia,ISBN 978-9949-687-32-9,9789949687329," +
+                "SOFTCOVER_WITH_DUST_JACKET,HAVE,2021,111,0," +
+                "Bart Pushaw|Kadi Polli|Kaja Kahrik|Linda Kalijundi,Art|Estonian Art|Kumu Art Museum,English",
+                lines[1]);
+    }
+
+    @Test
+    void export_rethrowsWriteFailure_whenClientGoesAway() {
+        BookExportRepository repository = mock(BookExportRepository.class);
+        BookRow row = new BookRow(1L, LOREM_IPSUM.repeat(1000), null, null, null, null, null, null, null,
+                null, null, 0L, List.of(), List.of(), List.of());
+        doAnswer(invocation -> {
+            invocation.<Consumer<BookRow>>getArgument(0).accept(row);
+            return null;
+        }).when(repository).forEach(any());
+        BookExportService service = new BookExportService(repository, objectMapper);
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        IOException ex = assertThrows(IOException.class, () -> service.export(CSV, closed));
+
+        assertEquals("Broken pipe", ex.getMessage());
+    }
+}
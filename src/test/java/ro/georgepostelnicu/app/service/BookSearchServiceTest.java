@@ -6,14 +6,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import ro.georgepostelnicu.app.AbstractIntegrationTest;
+import ro.georgepostelnicu.app.dto.book.BookDto;
 import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.BookFacets;
 import ro.georgepostelnicu.app.model.BookSearchCriteria;
 import ro.georgepostelnicu.app.model.CoverType;
+import ro.georgepostelnicu.app.model.FacetCount;
 
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static ro.georgepostelnicu.app.DataCommon.*;
 import static ro.georgepostelnicu.app.model.CoverType.*;
 import static ro.georgepostelnicu.app.util.StringUtil.SPACE;
@@ -249,6 +255,49 @@ class BookSearchServiceTest extends AbstractIntegrationTest {
                 null, null, null);
     }
 
+    @Test
+    void facets_shouldCountBooksPerValue_mostFrequentFirst() {
+        BookFacets facets = service.facets(getBSC_byKeywords(null), 2);
+
+        assertEquals(List.of(new FacetCount(KAJA, 2), new FacetCount("Anu Allas", 1)), facets.authors());
+        assertEquals(List.of(new FacetCount("20th Century Architecture", 2), new FacetCount(ARCHITECTURE, 2)),
+                facets.keywords());
+        assertEquals(List.of(new FacetCount(ENGLISH, 4), new FacetCount(ESTONIAN, 1)), facets.languages());
+        assertEquals(List.of(new FacetCount(SOFTCOVER_WITH_DUST_JACKET.name(), 3), new FacetCount(HARDCOVER.name(), 1)),
+                facets.covers());
+        assertEquals(List.of(new FacetCount("2020", 3), new FacetCount("2010", 1)), facets.decades());
+    }
+
+    @Test
+    void facets_shouldOnlyCountBooksMatchingCriteria() {
+        BookFacets facets = service.facets(getBSC_byKeywords(Set.of(ARCHITECTURE)), 10);
+
+        assertEquals(List.of(new FacetCount(HARDCOVER.name(), 1), new FacetCount(SOFTCOVER_WITH_DUST_JACKET.name(), 1)),
+                facets.covers());
+        assertEquals(List.of(new FacetCount("20th Century Architecture", 2), new FacetCount(ARCHITECTURE, 2),
+                        new FacetCount("Estonian Architecture", 1), new FacetCount("World Architecture", 1)),
+                facets.keywords());
+    }
+
+    @Test
+    void facets_shouldBeCachedPerCriteria_untilABookChanges() {
+        BookSearchCriteria criteria = getBSC_byPublisher(LANNOO);
+        BookFacets cached = service.facets(criteria, 10);
+
+        assertSame(cached, service.facets(getBSC_byPublisher(LANNOO), 10));
+
+        BookDto another = landscapesOfIdentity();
+        another.setName("Another Book Like Landscapes");
+        another.setFullTitle("Another Book Like Landscapes");
+        another.setIsbn("ISBN 978-0-306-40615-7");
+        another.setBarcode("9780306406157");
+        bookService.create(another);
+        BookFacets recomputed = service.facets(criteria, 10);
+
+        assertNotSame(cached, recomputed);
+        assertEquals(cached, recomputed);
+    }
+
     private static BookSearchCriteria getBSC_byAuthors(Set<String> authors) {
         return new BookSearchCriteria(null, null, null, null, null,
                 authors, null, null,
@@ -0,0 +1,110 @@
+package ro.georgepostelnicu.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import ro.georgepostelnicu.app.AbstractIntegrationTest;
+import ro.georgepostelnicu.app.dto.book.BookStatusResponseDto;
+import ro.georgepostelnicu.app.dto.book.BookStatusesDto;
+import ro.georgepostelnicu.app.dto.book.BookVersionDto;
+import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.repository.BookRepository;
+import ro.georgepostelnicu.app.repository.OutboxRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mockingDetails;
+import static ro.georgepostelnicu.app.DataCommon.landscapesOfIdentity;
+import static ro.georgepostelnicu.app.dto.book.StatusUpdateOutcome.UPDATED;
+import static ro.georgepostelnicu.app.dto.book.StatusUpdateOutcome.VERSION_CONFLICT;
+import static ro.georgepostelnicu.app.model.StatusType.LENT;
+
+/**
+ * Simulates a concurrent writer by controlling the row count the versioned update reports, or by changing the row
+ * in the same transaction just before the update.
+ */
+class BookServiceStatusConflictTest extends AbstractIntegrationTest {
+    private final BookService service;
+
+    @MockitoSpyBean
+    private BookRepository repository;
+
+    @Autowired
+    BookServiceStatusConflictTest(BookService service) {
+        this.service = service;
+    }
+
+    @Test
+    void updateStatus_reportsConflict_whenBookChangedBetweenReadAndUpdate() {
+        Book book = service.create(landscapesOfIdentity());
+        doReturn(0).when(repository).updateStatus(anyCollection(), anyLong(), any());
+
+        List<BookStatusResponseDto> outcomes = service.updateStatus(statuses(book));
+
+        assertEquals(VERSION_CONFLICT, outcomes.getFirst().getOutcome());
+        assertEquals(book.getVersion(), outcomes.getFirst().getVersion());
+    }
+
+    @Test
+    void updateStatus_reportsConflict_andRecordsNoChange_whenAnotherWriterTookTheNextVersion(
+            @Autowired JdbcTemplate jdbcTemplate, @Autowired OutboxRepository outboxRepository) {
+        Book book = service.create(landscapesOfIdentity());
+        long recorded = outboxRepository.count();
+        Answer<?> delegate = mockingDetails(repository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            // Another writer, such as a name edit, moves the book from v to v + 1 without touching its status
+            jdbcTemplate.update("update book set version = version + 1 where id = ?", book.getId());
+            return delegate.answer(invocation);
+        }).when(repository).updateStatus(anyCollection(), anyLong(), any());
+
+        List<BookStatusResponseDto> outcomes = service.updateStatus(statuses(book));
+
+        assertEquals(VERSION_CONFLICT, outcomes.getFirst().getOutcome());
+        assertEquals(book.getVersion() + 1, outcomes.getFirst().getVersion());
+        assertEquals(recorded, outboxRepository.count());
+    }
+
+    @Test
+    void updateStatus_reportsConflict_whenAnotherWriterSetTheSameStatusFirst(@Autowired JdbcTemplate jdbcTemplate) {
+        Book book = service.create(landscapesOfIdentity());
+        Answer<?> delegate = mockingDetails(repository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            jdbcTemplate.update("update book set status = 'LENT', version = version + 2 where id = ?", book.getId());
+            return delegate.answer(invocation);
+        }).when(repository).updateStatus(anyCollection(), anyLong(), any());
+
+        List<BookStatusResponseDto> outcomes = service.updateStatus(statuses(book));
+
+        assertEquals(VERSION_CONFLICT, outcomes.getFirst().getOutcome());
+        assertEquals(book.getVersion() + 2, outcomes.getFirst().getVersion());
+    }
+
+    @Test
+    void updateStatus_keepsUpdatedOutcome_whenRecheckFindsTheNewVersion() {
+        Book book = service.create(landscapesOfIdentity());
+        // The repository methods are abstract, so the real update runs through the spy's delegating default answer
+        Answer<?> delegate = mockingDetails(repository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> (Integer) delegate.answer(invocation) - 1)
+                .when(repository).updateStatus(anyCollection(), anyLong(), any());
+
+        List<BookStatusResponseDto> outcomes = service.updateStatus(statuses(book));
+
+        assertEquals(UPDATED, outcomes.getFirst().getOutcome());
+        assertEquals(book.getVersion() + 1, outcomes.getFirst().getVersion());
+    }
+
+    private static BookStatusesDto statuses(Book book) {
+        BookStatusesDto dto = new BookStatusesDto();
+        dto.setStatus(LENT);
+        dto.setBooks(List.of(new BookVersionDto(book.getId(), book.getVersion())));
+        return dto;
+    }
+}
@@ -2,18 +2,29 @@ package ro.georgepostelnicu.app.service;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 import ro.georgepostelnicu.app.AbstractIntegrationTest;
 import ro.georgepostelnicu.app.DataCommon;
 import ro.georgepostelnicu.app.dto.book.BookDto;
+import ro.georgepostelnicu.app.dto.book.BookStatusResponseDto;
+import ro.georgepostelnicu.app.dto.book.BookStatusesDto;
+import ro.georgepostelnicu.app.dto.book.BookVersionDto;
+import ro.georgepostelnicu.app.dto.book.StatusUpdateOutcome;
 import ro.georgepostelnicu.app.exception.EntityAlreadyExistException;
 import ro.georgepostelnicu.app.exception.EntityValidationException;
 import ro.georgepostelnicu.app.model.Author;
 import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.BookSearchCriteria;
+import ro.georgepostelnicu.app.model.BookSearchEntry;
 import ro.georgepostelnicu.app.model.Keyword;
 import ro.georgepostelnicu.app.model.Language;
+import ro.georgepostelnicu.app.model.StatusType;
+import ro.georgepostelnicu.app.model.TagCount;
+import ro.georgepostelnicu.app.repository.BookSearchRepository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -24,7 +35,10 @@ import static ro.georgepostelnicu.app.exception.EntityAlreadyExistException.ENTI
 import static ro.georgepostelnicu.app.exception.EntityValidationException.ENTITY_VALIDATION_FAILURE;
 import static ro.georgepostelnicu.app.model.CoverType.SOFTCOVER_WITH_DUST_JACKET;
 import static ro.georgepostelnicu.app.model.EntityName.BOOK;
+import static ro.georgepostelnicu.app.model.EntityName.KEYWORD;
+import static ro.georgepostelnicu.app.model.EntityName.LANGUAGE;
 import static ro.georgepostelnicu.app.model.StatusType.HAVE;
+import static ro.georgepostelnicu.app.model.StatusType.LENT;
 import static ro.georgepostelnicu.app.service.BookService.NAME_IS_NOT_INCLUDED_IN_FULL_TITLE;
 import static ro.georgepostelnicu.app.service.BookService.NAME_IS_REQUIRED;
 import static ro.georgepostelnicu.app.service.IsbnService.ISBN_IS_REQUIRED;
@@ -32,10 +46,19 @@ import static ro.georgepostelnicu.app.service.IsbnService.ISBN_IS_REQUIRED;
 
 class BookServiceTest extends AbstractIntegrationTest {
     private final BookService service;
+    private final AuthorService authorService;
+    private final KeywordService keywordService;
+    private final LanguageService languageService;
+    private final BookSearchRepository bookSearchRepository;
 
     @Autowired
-    BookServiceTest(BookService service) {
+    BookServiceTest(BookService service, AuthorService authorService, KeywordService keywordService,
+                    LanguageService languageService, BookSearchRepository bookSearchRepository) {
         this.service = service;
+        this.authorService = authorService;
+        this.keywordService = keywordService;
+        this.languageService = languageService;
+        this.bookSearchRepository = bookSearchRepository;
     }
 
     @Test
@@ -275,6 +298,136 @@ class BookServiceTest extends AbstractIntegrationTest {
         assertEquals(String.format(ENTITY_VALIDATION_FAILURE, BOOK, ISBN_IS_REQUIRED), ex.getMessage());
     }
 
+    @Test
+    void updateStatus_updatesBooksAndBumpsVersion_whenIdsAndVersionsMatch() {
+        Book book1 = service.create(landscapesOfIdentity());
+        Book book2 = service.create(conflictsAndAdaptations());
+
+        List<BookStatusResponseDto> outcomes = service.updateStatus(statuses(LENT,
+                new BookVersionDto(book1.getId(), book1.getVersion()),
+                new BookVersionDto(book2.getId(), book2.getVersion())));
+
+        assertEquals(2, outcomes.size());
+        for (BookStatusResponseDto outcome : outcomes) {
+            assertEquals(StatusUpdateOutcome.UPDATED, outcome.getOutcome());
+            assertEquals(book1.getVersion() + 1, outcome.getVersion());
+            Book updated = service.read(outcome.getId());
+            assertEquals(LENT, updated.getStatus());
+            assertEquals(outcome.getVersion(), updated.getVersion());
+        }
+    }
+
+    @Test
+    void updateStatus_reportsEveryOutcome_whenBooksAreInDifferentStates() {
+        Book stale = service.create(landscapesOfIdentity());
+        Book unchanged = service.create(conflictsAndAdaptations());
+        service.updateStatus(statuses(LENT, new BookVersionDto(unchanged.getId(), null)));
+
+        List<BookStatusResponseDto> outcomes = service.updateStatus(statuses(LENT,
+                new BookVersionDto(stale.getId(), stale.getVersion() + 5),
+                new BookVersionDto(unchanged.getId(), null),
+                new BookVersionDto(ID_NOT_FOUND, null)));
+
+        assertEquals(List.of(StatusUpdateOutcome.VERSION_CONFLICT, StatusUpdateOutcome.UNCHANGED,
+                StatusUpdateOutcome.NOT_FOUND), outcomes.stream().map(BookStatusResponseDto::getOutcome).toList());
+        assertEquals(stale.getVersion(), outcomes.getFirst().getVersion());
+        assertNull(outcomes.getLast().getVersion());
+        assertEquals(HAVE, service.read(stale.getId()).getStatus());
+    }
+
+    @Test
+    void updateStatus_selectsBooksByCriteria_whenNoIdsAreGiven() {
+        service.create(landscapesOfIdentity());
+        service.create(conflictsAndAdaptations());
+        Book houses = service.create(oneHundredFiftyHouses());
+        BookStatusesDto dto = statuses(LENT);
+        dto.setCriteria(new BookSearchCriteria(null, null, null, null, null,
+                null, null, null,
+                ART_MUSEUM_OF_ESTONIA, null, null,
+                null, null, null));
+
+        List<BookStatusResponseDto> outcomes = service.updateStatus(dto);
+
+        assertEquals(2, outcomes.size());
+        assertTrue(outcomes.stream().allMatch(outcome -> outcome.getOutcome() == StatusUpdateOutcome.UPDATED));
+        assertEquals(HAVE, service.read(houses.getId()).getStatus());
+    }
+
+    @Test
+    void updateStatus_returnsEmptyResult_whenNeitherIdsNorCriteriaAreGiven() {
+        service.create(landscapesOfIdentity());
+
+        assertTrue(service.updateStatus(statuses(LENT)).isEmpty());
+    }
+
+    @Test
+    void createUpdateAndDelete_keepTagBookCountsInStep() {
+        Book landscapes = service.create(landscapesOfIdentity());
+        Book conflicts = service.create(conflictsAndAdaptations());
+
+        assertEquals(2, bookCounts(authorService.listBookCounts(0, 0, 100)).get(KAJA));
+        assertEquals(2, bookCounts(keywordService.listBookCounts(0, 0, 100)).get(ART));
+        assertEquals(2, bookCounts(languageService.listBookCounts(0, 0, 100)).get(ENGLISH));
+
+        BookDto dto = conflictsAndAdaptations();
+        dto.setAuthors(Set.of("Anu Allas", "Sirje Helme", "Liisa Kaljula"));
+        dto.setKeywords(Set.of(ART));
+        dto.setLanguages(Set.of(ESTONIAN));
+        service.update(conflicts.getId(), dto);
+
+        assertEquals(1, bookCounts(authorService.listBookCounts(0, 0, 100)).get(KAJA));
+        assertEquals(1, bookCounts(keywordService.listBookCounts(0, 0, 100)).get("Estonian Art"));
+        assertEquals(2, bookCounts(keywordService.listBookCounts(0, 0, 100)).get(ART));
+        assertEquals(Map.of(ENGLISH, 1L, ESTONIAN, 1L), bookCounts(languageService.listBookCounts(0, 0, 100)));
+
+        service.delete(landscapes.getId());
+
+        assertEquals(0, bookCounts(authorService.listBookCounts(0, 0, 100)).get(KAJA));
+        assertEquals(1, bookCounts(keywordService.listBookCounts(0, 0, 100)).get(ART));
+        assertEquals(Map.of(ENGLISH, 0L, ESTONIAN, 1L), bookCounts(languageService.listBookCounts(0, 0, 100)));
+    }
+
+    @Test
+    void createUpdateAndDelete_keepTheSearchEntryInStep(@Autowired JdbcTemplate jdbcTemplate) {
+        Book conflicts = service.create(conflictsAndAdaptations());
+
+        BookSearchEntry created = bookSearchRepository.findById(conflicts.getId()).orElseThrow();
+        assertEquals("9789949687442", created.getIsbnDigits());
+        assertEquals(conflicts.getAuthors().size() + conflicts.getKeywords().size() + conflicts.getLanguages().size(),
+                searchTags(jdbcTemplate, conflicts.getId()).size());
+
+        BookDto dto = conflictsAndAdaptations();
+        dto.setKeywords(Set.of(ART));
+        dto.setLanguages(Set.of(ESTONIAN));
+        Book updated = service.update(conflicts.getId(), dto);
+
+        List<String> projected = searchTags(jdbcTemplate, conflicts.getId());
+        assertTrue(projected.contains(KEYWORD + ":" + updated.getKeywords().iterator().next().getId()));
+        assertTrue(projected.contains(LANGUAGE + ":" + updated.getLanguages().iterator().next().getId()));
+        assertEquals(updated.getAuthors().size() + 2, projected.size());
+
+        service.delete(conflicts.getId());
+
+        assertTrue(bookSearchRepository.findById(conflicts.getId()).isEmpty());
+        assertTrue(searchTags(jdbcTemplate, conflicts.getId()).isEmpty());
+    }
+
+    private static List<String> searchTags(JdbcTemplate jdbcTemplate, Long bookId) {
+        return jdbcTemplate.queryForList(
+                "select tag_type || ':' || tag_id from book_search_tag where book_id = ?", String.class, bookId);
+    }
+
+    private static Map<String, Long> bookCounts(List<TagCount> tagCounts) {
+        return tagCounts.stream().collect(Collectors.toMap(TagCount::name, TagCount::bookCount));
+    }
+
+    private static BookStatusesDto statuses(StatusType status, BookVersionDto... books) {
+        BookStatusesDto dto = new BookStatusesDto();
+        dto.setStatus(status);
+        dto.setBooks(List.of(books));
+        return dto;
+    }
+
     private static Set<String> getAuthorNames(Set<Author> authors) {
         return authors.stream().map(Author::getName).collect(Collectors.toSet());
     }
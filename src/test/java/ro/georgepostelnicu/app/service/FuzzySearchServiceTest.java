@@ -0,0 +1,123 @@
+package ro.georgepostelnicu.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ro.georgepostelnicu.app.AbstractIntegrationTest;
+import ro.georgepostelnicu.app.dto.book.BookDto;
+import ro.georgepostelnicu.app.dto.keyword.KeywordDto;
+import ro.georgepostelnicu.app.event.TagChangedEvent;
+import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.BookSearchCriteria;
+import ro.georgepostelnicu.app.model.Keyword;
+import ro.georgepostelnicu.app.repository.AuthorRepository;
+import ro.georgepostelnicu.app.repository.BookRepository;
+import ro.georgepostelnicu.app.repository.KeywordRepository;
+import ro.georgepostelnicu.app.repository.LanguageRepository;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static ro.georgepostelnicu.app.DataCommon.*;
+import static ro.georgepostelnicu.app.model.EntityName.*;
+
+class FuzzySearchServiceTest extends AbstractIntegrationTest {
+    private final FuzzySearchService service;
+    private final BookService bookService;
+    private final KeywordService keywordService;
+
+    @Autowired
+    FuzzySearchServiceTest(FuzzySearchService service, BookService bookService, KeywordService keywordService) {
+        this.service = service;
+        this.bookService = bookService;
+        this.keywordService = keywordService;
+    }
+
+    @Test
+    void rebuild_indexesStoredNames() {
+        bookService.create(landscapesOfIdentity());
+        service.rebuild();
+
+        assertEquals(List.of(KADI), service.search(AUTHOR, "Poli", 5));
+        assertEquals(List.of(LANDSCAPES_OF_IDENTITY), service.search(BOOK, "landskapes of identiy", 5));
+        assertEquals(List.of(ENGLISH), service.search(LANGUAGE, "englsh", 5));
+        assertEquals(ART, service.search(KEYWORD, "art", 5).getFirst());
+    }
+
+    @Test
+    void search_followsCreatedUpdatedAndDeletedBooks() {
+        Book book = bookService.create(landscapesOfIdentity());
+        assertEquals(List.of(LANDSCAPES_OF_IDENTITY), service.search(BOOK, "landscape", 5));
+
+        BookDto renamed = landscapesOfIdentity();
+        renamed.setName(CONFLICTS_AND_ADAPTATIONS);
+        renamed.setFullTitle(CONFLICTS_AND_ADAPTATIONS_FULL_TITLE);
+        bookService.update(book.getId(), renamed);
+        assertTrue(service.search(BOOK, "landscape", 5).isEmpty());
+        assertEquals(List.of(CONFLICTS_AND_ADAPTATIONS), service.search(BOOK, "conflict", 5));
+
+        bookService.delete(book.getId());
+        assertTrue(service.search(BOOK, "conflict", 5).isEmpty());
+    }
+
+    @Test
+    void search_followsCreatedRenamedAndDeletedTags() {
+        Keyword keyword = keywordService.create(new KeywordDto(ARCHITECTURE));
+        assertEquals(List.of(ARCHITECTURE), service.search(KEYWORD, "architektur", 5));
+
+        keywordService.update(keyword.getId(), new KeywordDto(FINANCE));
+        assertTrue(service.search(KEYWORD, "architektur", 5).isEmpty());
+        assertEquals(List.of(FINANCE), service.search(KEYWORD, "finanse", 5));
+
+        keywordService.delete(keyword.getId());
+        assertTrue(service.search(KEYWORD, "finanse", 5).isEmpty());
+    }
+
+    @Test
+    void resolve_replacesTermsWithClosestNames_andKeepsTheRest() {
+        bookService.create(landscapesOfIdentity());
+        BookSearchCriteria criteria = new BookSearchCriteria("Landscapes of Identiy", null, LOREM_IPSUM,
+                null, null, Set.of("Kadi Poli", NOT_FOUND), Set.of("Estonian Artt"), null,
+                ART_MUSEUM_OF_ESTONIA, null, 2020, null, null, null);
+
+        BookSearchCriteria resolved = service.resolve(criteria);
+
+        assertEquals(LANDSCAPES_OF_IDENTITY, resolved.name());
+        assertEquals(Set.of(KADI, NOT_FOUND), resolved.authors());
+        assertEquals(Set.of("Estonian Art"), resolved.keywords());
+        assertNull(resolved.languages());
+        assertEquals(LOREM_IPSUM, resolved.description());
+        assertEquals(ART_MUSEUM_OF_ESTONIA, resolved.publisher());
+        assertEquals(2020, resolved.minYear());
+    }
+
+    @Test
+    void resolve_keepsNullName() {
+        BookSearchCriteria criteria = new BookSearchCriteria(null, null, null, null, null,
+                null, null, Set.of("Englsh"), null, null, null, null, null, null);
+
+        BookSearchCriteria resolved = service.resolve(criteria);
+
+        assertNull(resolved.name());
+        assertEquals(Set.of("Englsh"), resolved.languages());
+    }
+
+    @Test
+    void rebuild_replaysTagChanges_committedWhileItLoads() {
+        AuthorRepository authorRepository = mock(AuthorRepository.class);
+        FuzzySearchService rebuilding = new FuzzySearchService(authorRepository, mock(KeywordRepository.class),
+                mock(LanguageRepository.class), mock(BookRepository.class));
+        when(authorRepository.findAllNames()).thenAnswer(invocation -> {
+            rebuilding.onTagChanged(new TagChangedEvent(AUTHOR, null, KAJA));
+            return List.of();
+        });
+
+        rebuilding.rebuild();
+
+        assertEquals(List.of(KAJA), rebuilding.search(AUTHOR, "Kaja", 5));
+    }
+}
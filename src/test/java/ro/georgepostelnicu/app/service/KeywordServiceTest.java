@@ -175,4 +175,25 @@ class KeywordServiceTest extends AbstractIntegrationTest {
 
         assertEquals(String.format(ENTITY_ALREADY_HAS_A_LINK, KEYWORD, ART), ex.getMessage());
     }
+
+    @Test
+    void searchByPrefix_returnsMatchingKeywordsOrderedByName_ignoringCase() {
+        KeywordsDto dto = new KeywordsDto();
+        dto.setKeywords(Set.of(ART, ARCHITECTURE, FINANCE));
+        service.createBulk(dto);
+
+        assertEquals(List.of(ARCHITECTURE, ART), service.searchByPrefix("AR").stream().map(Keyword::getName).toList());
+        assertTrue(service.searchByPrefix("zz").isEmpty());
+    }
+
+    @Test
+    void searchSimilar_returnsKeywordsMostSimilarFirst() {
+        KeywordsDto dto = new KeywordsDto();
+        dto.setKeywords(Set.of(ART, ARCHITECTURE, FINANCE));
+        service.createBulk(dto);
+
+        assertEquals(List.of(ART, ARCHITECTURE), service.searchSimilar("art").stream().map(Keyword::getName).toList());
+        assertEquals(List.of(FINANCE), service.searchSimilar("finanse").stream().map(Keyword::getName).toList());
+        assertTrue(service.searchSimilar("zz").isEmpty());
+    }
 }
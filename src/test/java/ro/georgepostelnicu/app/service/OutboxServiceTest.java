@@ -0,0 +1,129 @@
+package ro.georgepostelnicu.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import ro.georgepostelnicu.app.AbstractIntegrationTest;
+import ro.georgepostelnicu.app.dto.book.BookStatusesDto;
+import ro.georgepostelnicu.app.dto.book.BookVersionDto;
+import ro.georgepostelnicu.app.event.BookChange;
+import ro.georgepostelnicu.app.event.BookChangeSink;
+import ro.georgepostelnicu.app.event.BookChangesEvent;
+import ro.georgepostelnicu.app.exception.SyncTokenExpiredException;
+import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.BookFeedEntry;
+import ro.georgepostelnicu.app.model.BookFeedPage;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static ro.georgepostelnicu.app.DataCommon.conflictsAndAdaptations;
+import static ro.georgepostelnicu.app.DataCommon.landscapesOfIdentity;
+import static ro.georgepostelnicu.app.model.BookChangeType.CREATED;
+import static ro.georgepostelnicu.app.model.BookChangeType.DELETED;
+import static ro.georgepostelnicu.app.model.BookChangeType.UPDATED;
+import static ro.georgepostelnicu.app.model.StatusType.LENT;
+
+@RecordApplicationEvents
+class OutboxServiceTest extends AbstractIntegrationTest {
+    private final OutboxService service;
+    private final BookService bookService;
+
+    @MockitoBean
+    private BookChangeSink sink;
+
+    @Autowired
+    OutboxServiceTest(OutboxService service, BookService bookService) {
+        this.service = service;
+        this.bookService = bookService;
+    }
+
+    @Test
+    void publishPending_publishesEveryBookChangeInOrder_once(@Autowired ApplicationEvents events) {
+        Book book = bookService.create(landscapesOfIdentity());
+        bookService.update(book.getId(), landscapesOfIdentity());
+        BookStatusesDto statuses = new BookStatusesDto();
+        statuses.setStatus(LENT);
+        statuses.setBooks(List.of(new BookVersionDto(book.getId(), null)));
+        bookService.updateStatus(statuses);
+        bookService.delete(book.getId());
+
+        assertEquals(4, service.publishPending());
+        assertEquals(0, service.publishPending());
+
+        List<BookChange> changes = events.stream(BookChangesEvent.class).findFirst().orElseThrow().changes();
+        assertEquals(List.of(CREATED, UPDATED, UPDATED, DELETED), changes.stream().map(BookChange::type).toList());
+        assertEquals(List.of(book.getId()), changes.stream().map(BookChange::bookId).distinct().toList());
+        verify(sink).deliver(changes);
+    }
+
+    @Test
+    void publishPending_publishesTheBatchAgain_whenTheSinkFails() {
+        Book first = bookService.create(landscapesOfIdentity());
+        Book second = bookService.create(conflictsAndAdaptations());
+        doThrow(new IllegalStateException("sink is down")).doNothing().when(sink).deliver(anyList());
+
+        assertThrows(IllegalStateException.class, service::publishPending);
+        assertEquals(2, service.publishPending());
+
+        ArgumentCaptor<List<BookChange>> captor = ArgumentCaptor.captor();
+        verify(sink, times(2)).deliver(captor.capture());
+        assertEquals(captor.getAllValues().get(0), captor.getAllValues().get(1));
+        assertEquals(List.of(first.getId(), second.getId()),
+                captor.getValue().stream().map(BookChange::bookId).toList());
+    }
+
+    @Test
+    void purgePublished_deletesPublishedChangesPastTheRetention_andRejectsOlderFeedTokens(
+            @Autowired JdbcTemplate jdbcTemplate, @Autowired BookChangeFeedService feedService) {
+        Book first = bookService.create(landscapesOfIdentity());
+        bookService.create(conflictsAndAdaptations());
+        service.publishPending();
+        ageChanges(jdbcTemplate);
+        long lastAged = jdbcTemplate.queryForObject("select max(sequence) from outbox", Long.class);
+
+        assertEquals(2, service.purgePublished());
+        assertEquals(0, service.purgePublished());
+
+        bookService.update(first.getId(), landscapesOfIdentity());
+        assertThrows(SyncTokenExpiredException.class, () -> feedService.changesSince(lastAged - 1, 100));
+        BookFeedPage page = feedService.changesSince(lastAged, 100);
+        assertEquals(List.of(first.getId()), page.entries().stream().map(BookFeedEntry::bookId).toList());
+    }
+
+    @Test
+    void purgePublished_stopsBeforeTheFirstChangeNotPublishedYet(@Autowired JdbcTemplate jdbcTemplate) {
+        bookService.create(landscapesOfIdentity());
+        service.publishPending();
+        bookService.create(conflictsAndAdaptations());
+        ageChanges(jdbcTemplate);
+
+        assertEquals(1, service.purgePublished());
+        assertEquals(1, service.publishPending());
+    }
+
+    @Test
+    void purgePublished_deletesNothing_withinTheRetention() {
+        bookService.create(landscapesOfIdentity());
+        service.publishPending();
+
+        assertEquals(0, service.purgePublished());
+    }
+
+    private static void ageChanges(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("update outbox set created_at = ?", Timestamp.from(Instant.now().minus(Duration.ofDays(8))));
+    }
+}
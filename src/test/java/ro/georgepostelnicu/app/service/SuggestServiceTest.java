@@ -0,0 +1,120 @@
+package ro.georgepostelnicu.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ro.georgepostelnicu.app.AbstractIntegrationTest;
+import ro.georgepostelnicu.app.dto.book.BookDto;
+import ro.georgepostelnicu.app.dto.keyword.KeywordDto;
+import ro.georgepostelnicu.app.event.TagChangedEvent;
+import ro.georgepostelnicu.app.model.Book;
+import ro.georgepostelnicu.app.model.EntityName;
+import ro.georgepostelnicu.app.model.Keyword;
+import ro.georgepostelnicu.app.model.Suggestion;
+import ro.georgepostelnicu.app.repository.AuthorRepository;
+import ro.georgepostelnicu.app.repository.BookRepository;
+import ro.georgepostelnicu.app.repository.KeywordRepository;
+import ro.georgepostelnicu.app.repository.LanguageRepository;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static ro.georgepostelnicu.app.DataCommon.*;
+import static ro.georgepostelnicu.app.model.SuggestType.*;
+
+class SuggestServiceTest extends AbstractIntegrationTest {
+    private final SuggestService service;
+    private final BookService bookService;
+    private final KeywordService keywordService;
+
+    @Autowired
+    SuggestServiceTest(SuggestService service, BookService bookService, KeywordService keywordService) {
+        this.service = service;
+        this.bookService = bookService;
+        this.keywordService = keywordService;
+    }
+
+    @Test
+    void rebuild_weighsNamesByTheirBookCount() {
+        bookService.create(landscapesOfIdentity());
+        bookService.create(conflictsAndAdaptations());
+        service.rebuild();
+
+        assertEquals(List.of(new Suggestion(KAJA, 2), new Suggestion(KADI, 1)),
+                service.suggest(AUTHOR, "ka", 10));
+        assertEquals(List.of(new Suggestion(ART_MUSEUM_OF_ESTONIA, 2)), service.suggest(PUBLISHER, "art", 10));
+        assertEquals(List.of(new Suggestion(LANDSCAPES_OF_IDENTITY, 1)), service.suggest(TITLE, "lan", 10));
+        assertEquals(List.of(new Suggestion(ENGLISH, 2)), service.suggest(LANGUAGE, "en", 10));
+    }
+
+    @Test
+    void suggest_followsCreatedAndDeletedBooks() {
+        Book book = bookService.create(landscapesOfIdentity());
+
+        assertEquals(List.of(new Suggestion(LINDA, 1)), service.suggest(AUTHOR, "linda", 10));
+        assertEquals(List.of(new Suggestion(ART, 1)), service.suggest(KEYWORD, "art", 1));
+        assertEquals(List.of(new Suggestion(ART_MUSEUM_OF_ESTONIA, 1)), service.suggest(PUBLISHER, "art", 10));
+
+        bookService.delete(book.getId());
+
+        assertEquals(List.of(new Suggestion(LINDA, 0)), service.suggest(AUTHOR, "linda", 10));
+        assertTrue(service.suggest(PUBLISHER, "art", 10).isEmpty());
+        assertTrue(service.suggest(TITLE, "lan", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_followsUpdatedBooks() {
+        Book book = bookService.create(landscapesOfIdentity());
+        BookDto updated = landscapesOfIdentity();
+        updated.setPublisher(LANNOO);
+        updated.setAuthors(Set.of(LINDA));
+        bookService.update(book.getId(), updated);
+
+        assertEquals(List.of(new Suggestion(KADI, 0)), service.suggest(AUTHOR, "kadi", 10));
+        assertEquals(List.of(new Suggestion(LINDA, 1)), service.suggest(AUTHOR, "linda", 10));
+        assertTrue(service.suggest(PUBLISHER, "art", 10).isEmpty());
+        assertEquals(List.of(new Suggestion(LANNOO, 1)), service.suggest(PUBLISHER, "lan", 10));
+        assertEquals(List.of(new Suggestion(LANDSCAPES_OF_IDENTITY, 1)), service.suggest(TITLE, "lan", 10));
+    }
+
+    @Test
+    void suggest_skipsPublisher_whenBookHasNone() {
+        BookDto dto = landscapesOfIdentity();
+        dto.setPublisher(null);
+        bookService.create(dto);
+
+        assertTrue(service.suggest(PUBLISHER, "a", 10).isEmpty());
+        assertEquals(List.of(new Suggestion(LANDSCAPES_OF_IDENTITY, 1)), service.suggest(TITLE, "l", 10));
+    }
+
+    @Test
+    void suggest_followsCreatedRenamedAndDeletedTags() {
+        Keyword keyword = keywordService.create(new KeywordDto(ART));
+        assertEquals(List.of(new Suggestion(ART, 0)), service.suggest(KEYWORD, "ar", 10));
+
+        keywordService.update(keyword.getId(), new KeywordDto(FINANCE));
+        assertTrue(service.suggest(KEYWORD, "ar", 10).isEmpty());
+        assertEquals(List.of(new Suggestion(FINANCE, 0)), service.suggest(KEYWORD, "fin", 10));
+
+        keywordService.delete(keyword.getId());
+        assertTrue(service.suggest(KEYWORD, "fin", 10).isEmpty());
+    }
+
+    @Test
+    void rebuild_replaysTagChanges_committedWhileItLoads() {
+        AuthorRepository authorRepository = mock(AuthorRepository.class);
+        SuggestService rebuilding = new SuggestService(authorRepository, mock(KeywordRepository.class),
+                mock(LanguageRepository.class), mock(BookRepository.class));
+        when(authorRepository.countBooksByName()).thenAnswer(invocation -> {
+            rebuilding.onTagChanged(new TagChangedEvent(EntityName.AUTHOR, null, KAJA));
+            return List.of();
+        });
+
+        rebuilding.rebuild();
+
+        assertEquals(List.of(new Suggestion(KAJA, 0)), rebuilding.suggest(AUTHOR, "ka", 10));
+    }
+}
@@ -0,0 +1,75 @@
+package ro.georgepostelnicu.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.georgepostelnicu.app.AbstractIntegrationTest;
+import ro.georgepostelnicu.app.dto.TagUpsertResponseDto;
+import ro.georgepostelnicu.app.repository.TagBulkRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.springframework.transaction.TransactionDefinition.PROPAGATION_REQUIRES_NEW;
+import static ro.georgepostelnicu.app.DataCommon.ART;
+import static ro.georgepostelnicu.app.dto.UpsertOutcome.CREATED;
+import static ro.georgepostelnicu.app.dto.UpsertOutcome.EXISTING;
+import static ro.georgepostelnicu.app.dto.UpsertOutcome.FAILED;
+import static ro.georgepostelnicu.app.model.EntityName.KEYWORD;
+
+/**
+ * Simulates a concurrent writer by committing the same name from another transaction just before the batched insert.
+ */
+class TagUpsertServiceConflictTest extends AbstractIntegrationTest {
+    private static final String ARCHITECTURE = "Architecture";
+    private final TagUpsertService service;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    @MockitoSpyBean
+    private TagBulkRepository repository;
+
+    @Autowired
+    TagUpsertServiceConflictTest(TagUpsertService service, JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager) {
+        this.service = service;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Test
+    void upsert_reportsExisting_whenAnotherRequestStoredTheNameFirst() {
+        doAnswer(invocation -> {
+            newTransaction.executeWithoutResult(status -> jdbcTemplate.update(
+                    "insert into keyword (name, name_key) values (?, ?)", ART, "art"));
+            return invocation.callRealMethod();
+        }).when(repository).insertIgnoringDuplicates(anyString(), anyList());
+
+        List<TagUpsertResponseDto> outcomes = service.upsert(KEYWORD, List.of(ARCHITECTURE, ART));
+
+        Long storedId = jdbcTemplate.queryForObject("select id from keyword where name_key = 'art'", Long.class);
+        assertEquals(List.of(CREATED, EXISTING), outcomes.stream().map(TagUpsertResponseDto::getOutcome).toList());
+        assertEquals(ARCHITECTURE, outcomes.get(0).getName());
+        assertEquals(storedId, outcomes.get(1).getId());
+    }
+
+    @Test
+    void upsert_reportsFailed_whenTheNameWasNotStored() {
+        doNothing().when(repository).insertIgnoringDuplicates(anyString(), anyList());
+
+        List<TagUpsertResponseDto> outcomes = service.upsert(KEYWORD, List.of(ART));
+
+        assertEquals(FAILED, outcomes.getFirst().getOutcome());
+        assertEquals(ART, outcomes.getFirst().getName());
+        assertNull(outcomes.getFirst().getId());
+    }
+}
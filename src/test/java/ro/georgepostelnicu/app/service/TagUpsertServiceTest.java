@@ -0,0 +1,111 @@
+package ro.georgepostelnicu.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.georgepostelnicu.app.AbstractIntegrationTest;
+import ro.georgepostelnicu.app.dto.TagUpsertResponseDto;
+import ro.georgepostelnicu.app.dto.author.AuthorDto;
+import ro.georgepostelnicu.app.model.Author;
+import ro.georgepostelnicu.app.model.SuggestType;
+import ro.georgepostelnicu.app.model.Suggestion;
+import ro.georgepostelnicu.app.repository.AuthorRepository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ro.georgepostelnicu.app.DataCommon.*;
+import static ro.georgepostelnicu.app.dto.UpsertOutcome.*;
+import static ro.georgepostelnicu.app.model.EntityName.AUTHOR;
+import static ro.georgepostelnicu.app.model.EntityName.KEYWORD;
+
+class TagUpsertServiceTest extends AbstractIntegrationTest {
+    private final TagUpsertService service;
+    private final AuthorService authorService;
+    private final SuggestService suggestService;
+    private final AuthorRepository authorRepository;
+    private final TransactionTemplate transaction;
+
+    @Autowired
+    TagUpsertServiceTest(TagUpsertService service, AuthorService authorService, SuggestService suggestService,
+                         AuthorRepository authorRepository, PlatformTransactionManager transactionManager) {
+        this.service = service;
+        this.authorService = authorService;
+        this.suggestService = suggestService;
+        this.authorRepository = authorRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void upsert_createsMissingNames_andReportsExistingOnes() {
+        Author linda = authorService.create(new AuthorDto(LINDA));
+
+        List<TagUpsertResponseDto> outcomes = service.upsert(AUTHOR,
+                List.of("linda kalijündi", "kadi polli", "Kadi  POLLI"));
+
+        assertEquals(2, outcomes.size());
+        assertEquals(LINDA, outcomes.get(0).getName());
+        assertEquals(linda.getId(), outcomes.get(0).getId());
+        assertEquals(EXISTING, outcomes.get(0).getOutcome());
+        assertEquals(KADI, outcomes.get(1).getName());
+        assertEquals(CREATED, outcomes.get(1).getOutcome());
+        assertEquals("kadi polli", authorService.read(outcomes.get(1).getId()).getNameKey());
+    }
+
+    @Test
+    void upsert_reportsOutcomesInRequestOrder() {
+        Author linda = authorService.create(new AuthorDto(LINDA));
+
+        List<TagUpsertResponseDto> outcomes = service.upsert(AUTHOR, List.of("kadi polli", "", "linda kalijündi"));
+
+        assertEquals(List.of(CREATED, FAILED, EXISTING),
+                outcomes.stream().map(TagUpsertResponseDto::getOutcome).toList());
+        assertEquals(KADI, outcomes.get(0).getName());
+        assertEquals(linda.getId(), outcomes.get(2).getId());
+    }
+
+    @Test
+    void upsert_evictsCachedNameKeyLookups_thatFoundNoTag() {
+        assertTrue(authorRepository.findByNameKey("kadi polli").isEmpty());
+
+        service.upsert(AUTHOR, List.of(KADI));
+
+        assertEquals(KADI, authorRepository.findByNameKey("kadi polli").orElseThrow().getName());
+        assertEquals(KADI, authorService.createIfNotExisting(new AuthorDto("Kadi Polli")).getName());
+    }
+
+    @Test
+    void upsert_evictsNameKeyLookups_cachedBeforeItCommits() {
+        transaction.executeWithoutResult(status -> {
+            service.upsert(AUTHOR, List.of(KADI));
+            // Another request looks the key up before the insert is visible and caches that there is no such author
+            assertTrue(CompletableFuture.supplyAsync(() -> authorRepository.findByNameKey("kadi polli")).join()
+                    .isEmpty());
+        });
+
+        assertEquals(KADI, authorRepository.findByNameKey("kadi polli").orElseThrow().getName());
+    }
+
+    @Test
+    void upsert_reportsInvalidNamesAsFailed_andStoresTheRest() {
+        String tooLong = "x".repeat(TagUpsertService.MAX_NAME_LENGTH + 1);
+
+        List<TagUpsertResponseDto> outcomes = service.upsert(KEYWORD, Arrays.asList(null, " - ", tooLong, "art"));
+
+        assertEquals(List.of(FAILED, FAILED, FAILED, CREATED),
+                outcomes.stream().map(TagUpsertResponseDto::getOutcome).toList());
+        assertNull(outcomes.get(2).getId());
+        assertEquals(ART, outcomes.get(3).getName());
+        assertEquals(List.of(new Suggestion(ART, 0)), suggestService.suggest(SuggestType.KEYWORD, "ar", 10));
+    }
+
+    @Test
+    void upsert_returnsNothing_whenNoNamesAreGiven() {
+        assertTrue(service.upsert(KEYWORD, List.of()).isEmpty());
+    }
+}
@@ -112,4 +112,17 @@ class StringLikeFieldSpecificationTest {
         verify(cb, never()).equal(any(), any());
         verify(cb, times(1)).lower(any());
     }
+
+    @Test
+    void toPredicate_usesPrefixLikeWithoutLower_whenFieldIsAlreadyLowerCase() {
+        var spec = StringLikeFieldSpecification.<Object>buildLowerCaseSpecification("Land*", r -> fieldExpression);
+        Predicate p = spec.toPredicate((Root) root, cq, cb);
+        assertNotNull(p);
+
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(cb, times(1)).like(eq(fieldExpression), captor.capture());
+        assertEquals("land%", captor.getValue());
+
+        verify(cb, never()).lower(any());
+    }
 }
@@ -0,0 +1,27 @@
+package ro.georgepostelnicu.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ro.georgepostelnicu.app.util.LogThrottle.SUPPRESSED;
+
+class LogThrottleTest {
+
+    @Test
+    void acquire_letsOneEventPerKeyThroughEveryInterval_andCountsTheRest() {
+        AtomicLong clock = new AtomicLong(1_000);
+        LogThrottle throttle = new LogThrottle(Duration.ofNanos(100), clock::get);
+
+        assertEquals(0, throttle.acquire(IllegalStateException.class));
+        assertEquals(SUPPRESSED, throttle.acquire(IllegalStateException.class));
+        assertEquals(0, throttle.acquire(IllegalArgumentException.class));
+        clock.addAndGet(50);
+        assertEquals(SUPPRESSED, throttle.acquire(IllegalStateException.class));
+        clock.addAndGet(50);
+        assertEquals(2, throttle.acquire(IllegalStateException.class));
+        assertEquals(SUPPRESSED, throttle.acquire(IllegalStateException.class));
+    }
+}
@@ -0,0 +1,33 @@
+package ro.georgepostelnicu.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class NameNormalizerTest {
+
+    @Test
+    void key_foldsCaseAndCollapsesWhitespace() {
+        assertEquals("linda kalijundi", NameNormalizer.key("  Linda \t KALIJUNDI "));
+        assertEquals("", NameNormalizer.key(""));
+        assertNull(NameNormalizer.key(null));
+    }
+
+    @Test
+    void key_stripsDiacritics_andExpandsCompatibilityCharacters() {
+        assertEquals("linda kalijundi", NameNormalizer.key("Linda Kalijündi"));
+        assertEquals("liina janes", NameNormalizer.key("Liina Jänes"));
+        assertEquals("fine art", NameNormalizer.key("ﬁne art"));
+        assertEquals("øster", NameNormalizer.key("Øster"));
+    }
+
+    @Test
+    void key_treatsHyphensAsSpaces_andDropsApostrophes() {
+        assertEquals("jean paul obrien", NameNormalizer.key("Jean-Paul O'Brien"));
+        assertEquals("jean paul obrien", NameNormalizer.key("Jean\u2013Paul O\u2019Brien"));
+        assertEquals("jean paul obrien", NameNormalizer.key("Jean_Paul \u2018O`Brien"));
+        assertEquals("jean paul", NameNormalizer.key("Jean\u1680Paul\u00AD"));
+        assertEquals("ab", NameNormalizer.key("a\u0000b"));
+    }
+}
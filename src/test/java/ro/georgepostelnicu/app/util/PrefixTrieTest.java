@@ -0,0 +1,118 @@
+package ro.georgepostelnicu.app.util;
+
+import org.junit.jupiter.api.Test;
+import ro.georgepostelnicu.app.model.Suggestion;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixTrieTest {
+
+    @Test
+    void top_returnsHeaviestFirst_thenAlphabetically_uptoLimit() {
+        PrefixTrie trie = new PrefixTrie(false, 10);
+        trie.add("Art", 1);
+        trie.add("Architecture", 3);
+        trie.add("Arctic", 1);
+        trie.add("Finance", 5);
+
+        assertEquals(List.of(new Suggestion("Architecture", 3), new Suggestion("Arctic", 1)),
+                trie.top("ar", 2));
+        assertEquals(4, trie.top("", 10).size());
+    }
+
+    @Test
+    void top_isCaseInsensitive_andKeepsTheDisplayValue() {
+        PrefixTrie trie = new PrefixTrie(false, 10);
+        trie.add("Kaja Kahrik", 2);
+
+        assertEquals(List.of(new Suggestion("Kaja Kahrik", 2)), trie.top("KAJA k", 5));
+    }
+
+    @Test
+    void top_returnsEmpty_whenNoValueStartsWithPrefix() {
+        PrefixTrie trie = new PrefixTrie(false, 10);
+        trie.add("Art", 1);
+
+        assertTrue(trie.top("artist", 5).isEmpty());
+        assertTrue(trie.top("b", 5).isEmpty());
+    }
+
+    @Test
+    void add_keepsUnusedValues_whenNotPruning() {
+        PrefixTrie trie = new PrefixTrie(false, 10);
+        trie.add("Art", 1);
+        trie.add("Art", -2);
+
+        assertEquals(List.of(new Suggestion("Art", 0)), trie.top("art", 5));
+    }
+
+    @Test
+    void add_prunesValue_whenItsWeightReachesZero() {
+        PrefixTrie trie = new PrefixTrie(true, 10);
+        trie.add("Art", 1);
+        trie.add("Artist", 1);
+        trie.add("Art", -1);
+
+        assertEquals(List.of(new Suggestion("Artist", 1)), trie.top("a", 5));
+
+        trie.add("Artist", -1);
+        assertTrue(trie.top("", 5).isEmpty());
+    }
+
+    @Test
+    void remove_ignoresValuesThatAreNotIndexed() {
+        PrefixTrie trie = new PrefixTrie(false, 10);
+        trie.add("Artist", 1);
+        trie.remove("Art");
+        trie.remove("Finance");
+
+        assertEquals(List.of(new Suggestion("Artist", 1)), trie.top("art", 5));
+    }
+
+    @Test
+    void rename_movesTheWeightToTheNewValue() {
+        PrefixTrie trie = new PrefixTrie(false, 10);
+        trie.add("Art", 2);
+        trie.rename("Art", "Fine Art");
+
+        assertTrue(trie.top("art", 5).isEmpty());
+        assertEquals(List.of(new Suggestion("Fine Art", 2)), trie.top("fine", 5));
+    }
+
+    @Test
+    void top_returnsAtMostTheCapacity_evenForALargerLimit() {
+        PrefixTrie trie = new PrefixTrie(false, 2);
+        trie.add("Art", 1);
+        trie.add("Architecture", 3);
+        trie.add("Arctic", 2);
+
+        assertEquals(List.of(new Suggestion("Architecture", 3), new Suggestion("Arctic", 2)), trie.top("a", 10));
+    }
+
+    @Test
+    void top_followsWeightChanges_belowASharedPrefix() {
+        PrefixTrie trie = new PrefixTrie(false, 1);
+        trie.add("Art", 2);
+        trie.add("Arctic", 1);
+        trie.add("Arctic", 2);
+
+        assertEquals(List.of(new Suggestion("Arctic", 3)), trie.top("ar", 1));
+
+        trie.rename("Arctic", "Finance");
+
+        assertEquals(List.of(new Suggestion("Art", 2)), trie.top("ar", 1));
+        assertEquals(List.of(new Suggestion("Finance", 3)), trie.top("", 1));
+    }
+
+    @Test
+    void addAll_sumsRepeatedValues_andPrunesUnusedOnes() {
+        PrefixTrie trie = new PrefixTrie(true, 10);
+        trie.addAll(List.of(new Suggestion("Art", 1), new Suggestion("Art", 1),
+                new Suggestion("Artist", 0), new Suggestion("Finance", 1)));
+
+        assertEquals(List.of(new Suggestion("Art", 2), new Suggestion("Finance", 1)), trie.top("", 5));
+    }
+}
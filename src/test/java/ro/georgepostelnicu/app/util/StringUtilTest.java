@@ -1,8 +1,16 @@
 package ro.georgepostelnicu.app.util;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.jupiter.api.parallel.Resources;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class StringUtilTest {
 
@@ -12,5 +20,49 @@ class StringUtilTest {
         assertEquals("Hello World", StringUtil.splitCapitalizeAndJoin("hello world"));
         assertEquals("Hello  World", StringUtil.splitCapitalizeAndJoin("hello  world"));
         assertEquals("A B", StringUtil.splitCapitalizeAndJoin("a b"));
+        assertEquals(" Hello World ", StringUtil.splitCapitalizeAndJoin(" hELLO wORLD "));
+        assertEquals("", StringUtil.splitCapitalizeAndJoin(""));
+    }
+
+    @Test
+    void splitCapitalizeAndJoin_returnsSameInstance_whenAlreadyCapitalized() {
+        String capitalized = "Estonian Art";
+
+        assertSame(capitalized, StringUtil.splitCapitalizeAndJoin(capitalized));
+    }
+
+    @Test
+    @ResourceLock(Resources.LOCALE)
+    void splitCapitalizeAndJoin_doesNotDependOnDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+
+            assertEquals("Istanbul Illustrated", StringUtil.splitCapitalizeAndJoin("istanbul ILLUSTRATED"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void escapeCsv_quotesOnlyValuesWithSpecialCharacters() {
+        assertEquals("", StringUtil.escapeCsv(null));
+        assertEquals("Lannoo", StringUtil.escapeCsv("Lannoo"));
+        assertEquals("\"Art, Design\"", StringUtil.escapeCsv("Art, Design"));
+        assertEquals("\"The \"\"Kumu\"\" Museum\"", StringUtil.escapeCsv("The \"Kumu\" Museum"));
+        assertEquals("\"Lorem\nIpsum\"", StringUtil.escapeCsv("Lorem\nIpsum"));
+        assertEquals("\"Lorem\rIpsum\"", StringUtil.escapeCsv("Lorem\rIpsum"));
+    }
+
+    @Test
+    void digits_keepsOnlyDigits() {
+        assertNull(StringUtil.digits(null));
+        assertEquals("9789492811332", StringUtil.digits("978-94-92811-33-2"));
+        assertEquals("", StringUtil.digits("ISBN"));
+    }
+
+    @Test
+    void positions_keepsTheFirstPositionOfARepeatedValue() {
+        assertEquals(Map.of("b", 0, "a", 1), StringUtil.positions(List.of("b", "a", "b")));
     }
 }
@@ -0,0 +1,84 @@
+package ro.georgepostelnicu.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    @Test
+    void trigrams_padsEachWord_andSkipsSeparators() {
+        assertEquals(Set.of("  a", " ar", "art", "rt "), TrigramIndex.trigrams("art"));
+        assertEquals(Set.of("  a", " ar", "art", "rt ", "  x", " x "), TrigramIndex.trigrams(" art, x"));
+    }
+
+    @Test
+    void search_findsMisspelledNames_mostSimilarFirst() {
+        TrigramIndex index = new TrigramIndex();
+        index.add("Kadi Polli");
+        index.add("Kaja Kahrik");
+        index.add("Linda Kalijundi");
+
+        assertEquals(List.of("Kadi Polli"), index.search("Poli", 5));
+        assertEquals(Optional.of("Kaja Kahrik"), index.best("kaja kahrk"));
+    }
+
+    @Test
+    void search_prefersShorterNames_whenEquallySimilar() {
+        TrigramIndex index = new TrigramIndex();
+        index.add("Estonian Art");
+        index.add("Art");
+        index.add("Arts");
+
+        assertEquals(List.of("Art", "Estonian Art"), index.search("art", 2));
+    }
+
+    @Test
+    void search_returnsEmpty_whenNothingIsCloseEnough() {
+        TrigramIndex index = new TrigramIndex();
+        index.add("Architecture");
+
+        assertTrue(index.search("Finance", 5).isEmpty());
+        assertTrue(index.search("", 5).isEmpty());
+    }
+
+    @Test
+    void remove_dropsName_andIgnoresUnknownNames() {
+        TrigramIndex index = new TrigramIndex();
+        index.add("Art");
+        index.add("Artist");
+        index.remove("Art");
+        index.remove("Finance");
+
+        assertEquals(List.of("Artist"), index.search("art", 5));
+    }
+
+    @Test
+    void rename_replacesTheIndexedName() {
+        TrigramIndex index = new TrigramIndex();
+        index.add("Art");
+        index.rename("Art", "Finance");
+
+        assertTrue(index.search("art", 5).isEmpty());
+        assertEquals(List.of("Finance"), index.search("finanse", 5));
+    }
+
+    @Test
+    void remove_keepsAName_thatWasAddedMoreOften() {
+        TrigramIndex index = new TrigramIndex();
+        index.add("Landscapes of Identity");
+        index.add("Landscapes of Identity");
+
+        index.remove("Landscapes of Identity");
+        assertEquals(List.of("Landscapes of Identity"), index.search("landscape", 5));
+
+        index.rename("Landscapes of Identity", "Conflicts and Adaptations");
+        assertTrue(index.search("landscape", 5).isEmpty());
+        assertEquals(List.of("Conflicts and Adaptations"), index.search("conflict", 5));
+    }
+}
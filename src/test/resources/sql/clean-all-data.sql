@@ -9,6 +9,10 @@ delete from book_language;
 delete from author;
 delete from keyword;
 delete from language;
+delete from book_search_tag;
+delete from book_search;
 delete from book;
+delete from outbox;
+update outbox_state set purged_through = 0;
 
 SET foreign_key_checks = 1;